@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.common.core.connection;
+
+/**
+ * A change of a property of a connection.
+ * 
+ * @see IConnectionsRegistryListener#connectionChanged(IConnection, java.util.List)
+ */
+public class ConnectionChange {
+
+	private final String property;
+	private final Object oldValue;
+	private final Object newValue;
+
+	public ConnectionChange(String property, Object oldValue, Object newValue) {
+		this.property = property;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+
+	public String getProperty() {
+		return property;
+	}
+
+	public Object getOldValue() {
+		return oldValue;
+	}
+
+	public Object getNewValue() {
+		return newValue;
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectionChange [property=" + property + ", oldValue=" + oldValue + ", newValue=" + newValue + "]";
+	}
+}
@@ -115,6 +115,23 @@ public class ConnectionsRegistry {
 		fireChange(connection, EventType.CHANGED, property, oldValue, newValue);
 	}
 
+	/**
+	 * Notifies the listeners of several changes to the given connection at
+	 * once.
+	 * 
+	 * @see IConnectionsRegistryListener#connectionChanged(IConnection, List)
+	 */
+	public void fireConnectionChanged(IConnection connection, List<ConnectionChange> changes) {
+		if (connection == null
+				|| changes == null
+				|| changes.isEmpty()) {
+			return;
+		}
+		for (IConnectionsRegistryListener l : getListeners()) {
+			l.connectionChanged(connection, changes);
+		}
+	}
+
 	public boolean remove(IConnection connection) {
 		try {
 			ConnectionURL connectionUrl = ConnectionURL.forConnection(connection);
@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.common.core.connection;
 
+import java.util.List;
+
 /**
  *   A listener that gets notified of changes (additions, removals, modifications) of connections contained within the connections model. 
  *   
@@ -39,4 +41,19 @@ public interface IConnectionsRegistryListener {
 	 * @param the new value of the property
 	 */
 	public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue);
+
+	/**
+	 * Be alerted that a connection has been changed several times. The changes
+	 * are in the order in which they occurred. Listeners that can process
+	 * several changes at once (ex. refresh a viewer only once) should override
+	 * this method, the default implementation notifies each change on its own.
+	 * 
+	 * @param connection
+	 * @param changes the changes to the connection
+	 */
+	public default void connectionChanged(IConnection connection, List<ConnectionChange> changes) {
+		for (ConnectionChange change : changes) {
+			connectionChanged(connection, change.getProperty(), change.getOldValue(), change.getNewValue());
+		}
+	}
 }
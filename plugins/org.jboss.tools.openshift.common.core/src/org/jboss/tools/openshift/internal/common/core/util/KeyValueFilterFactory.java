@@ -11,7 +11,9 @@
 package org.jboss.tools.openshift.internal.common.core.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -69,6 +71,9 @@ public class KeyValueFilterFactory {
 
 	public static class KeyValueFilter {
 
+		/** a label key or value that contains no regex meta characters */
+		private static final Pattern LITERAL_PATTERN = Pattern.compile("[a-zA-Z0-9_./-]+");
+
 		private Pattern keyPattern;
 		private Pattern valuePattern;
 
@@ -104,6 +109,28 @@ public class KeyValueFilterFactory {
 			return valuePattern.matcher(toMatch).find();
 		}
 
+		/**
+		 * Returns the label selector (key -> value) that this filter is equivalent
+		 * to if it consists of a literal key and value (ex. {@code app=foo}).
+		 * Returns {@code null} if the key or value is missing or is a regular
+		 * expression. Note that the selector only matches the label exactly while
+		 * the filter also matches keys and values that contain the key and value.
+		 * 
+		 * @return the label selector or {@code null}
+		 */
+		public Map<String, String> getLabelSelector() {
+			if (!isLiteral(keyPattern)
+					|| !isLiteral(valuePattern)) {
+				return null;
+			}
+			return Collections.singletonMap(keyPattern.pattern(), valuePattern.pattern());
+		}
+
+		private boolean isLiteral(Pattern pattern) {
+			return pattern != null 
+					&& LITERAL_PATTERN.matcher(pattern.pattern()).matches();
+		}
+
 		/**
 		 * Returns the character range within the given string that is matching the key
 		 * filter expression.
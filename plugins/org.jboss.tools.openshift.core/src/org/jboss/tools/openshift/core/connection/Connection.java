@@ -38,6 +38,8 @@ import org.jboss.tools.openshift.internal.common.core.security.OpenShiftSecureSt
 import org.jboss.tools.openshift.internal.common.core.security.SecureStore;
 import org.jboss.tools.openshift.internal.common.core.security.SecureStoreException;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+import org.jboss.tools.openshift.internal.core.ResourceStore;
+import org.jboss.tools.openshift.internal.core.WatchManager;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.ClientBuilder;
@@ -60,6 +62,10 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 	public static final String SECURE_STORAGE_BASEKEY = "org.jboss.tools.openshift.core";
 	public static final String SECURE_STORAGE_PASSWORD_KEY = "password";
 	public static final String SECURE_STORAGE_TOKEN_KEY = "token";
+	public static final String CACHE_RESOURCES_KEY = "org.jboss.tools.openshift.core.connection.cacheResources";
+
+	private static final String HTTP_DELETE = "DELETE";
+	private static final String PARAMETER_LABEL_SELECTOR = "labelSelector";
 
 	private IClient client;
 	private boolean passwordLoaded = false;
@@ -70,6 +76,8 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 	private ICredentialsPrompter credentialsPrompter;
 	private String authScheme;
 	private Map<String, Object> extendedProperties = new HashMap<>();
+	private boolean cacheResources = Boolean.getBoolean(CACHE_RESOURCES_KEY);
+	private final ResourcesCache resourcesCache = new ResourcesCache();
 
 	public Connection(String url, ICredentialsPrompter credentialsPrompter, ISSLCertificateCallback sslCertCallback) {
 		this(new ClientBuilder(url).sslCertificateCallback(sslCertCallback).build(), credentialsPrompter);
@@ -407,6 +415,7 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 		connection.rememberPassword = this.rememberPassword;
 		connection.rememberToken = this.rememberToken;
 		connection.promptCredentialsEnabled = promptCredentialsEnabled;
+		connection.cacheResources = cacheResources;
 		return connection;
 	}
 
@@ -423,6 +432,8 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 		this.tokenLoaded = otherConnection.tokenLoaded;
 		this.rememberPassword = otherConnection.rememberPassword;
 		this.extendedProperties = otherConnection.getExtendedProperties();
+		this.cacheResources = otherConnection.cacheResources;
+		resourcesCache.flush();
 
 		IAuthorizationContext otherContext = otherConnection.client.getAuthorizationContext();
 		IAuthorizationContext context = this.client.getAuthorizationContext();
@@ -457,6 +468,9 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 			return client.create(resource);
 		} catch (UnauthorizedException e) {
 			return retryCreate(e, resource);
+		} finally {
+			// invalidate once changed so that concurrent reads cannot cache the former state
+			resourcesCache.invalidate(resource);
 		}
 	}
 
@@ -471,6 +485,8 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 			return client.update(resource);
 		} catch (UnauthorizedException e) {
 			return retryUpdate(e, resource);
+		} finally {
+			resourcesCache.invalidate(resource);
 		}
 	}
 
@@ -492,6 +508,55 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 
 	@Override
 	public <T extends IResource> List<T> getResources(String kind, String namespace) {
+		return getResources(kind, namespace, false);
+	}
+
+	/**
+	 * Returns the resources of the given kind in the given namespace. If
+	 * resources are cached (see {@link #setCacheResources(boolean)}) they are
+	 * served from the watched resources or from a cache whose entries expire
+	 * after a time to live that depends on the kind. The cache is skipped if
+	 * bypassCache is {@code true}. Cached resources are returned as copies,
+	 * callers may thus modify them without altering the cached ones. Copying
+	 * costs parsing (and for watched resources also serializing) the json of
+	 * each resource, which is far cheaper than listing them from the server.
+	 * 
+	 * @param kind
+	 * @param namespace
+	 * @param bypassCache
+	 *            {@code true} if the resources should be listed from the server
+	 * @return the resources
+	 */
+	public <T extends IResource> List<T> getResources(String kind, String namespace, boolean bypassCache) {
+		if (!cacheResources) {
+			return listResources(kind, namespace);
+		}
+		if (bypassCache) {
+			return resourcesCache.load(kind, namespace, () -> listResources(kind, namespace));
+		}
+		ResourceStore store = WatchManager.getInstance().getStore(this);
+		if (!StringUtils.isEmpty(namespace) && store.isSynced(namespace, kind)) {
+			return copy(store.getResources(namespace, kind));
+		}
+		return resourcesCache.get(kind, namespace, () -> listResources(kind, namespace), this::create);
+	}
+
+	/**
+	 * Returns copies of the given watched resources. The watched resources are
+	 * shared with the watches and other callers and must not be modified.
+	 */
+	private <T extends IResource> List<T> copy(List<T> resources) {
+		return resources.stream()
+				.map(resource -> this.<T>create(resource.toJson(true)))
+				.collect(Collectors.toList());
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends IResource> T create(String json) {
+		return (T) client.getResourceFactory().create(json);
+	}
+
+	private <T extends IResource> List<T> listResources(String kind, String namespace) {
 		try {
 			return client.list(kind, namespace);
 		} catch (UnauthorizedException e) {
@@ -499,6 +564,34 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 		}
 	}
 
+	/**
+	 * Enables or disables caching the resources that are listed via
+	 * {@link #getResources(String, String)}. Disabled by default unless the
+	 * system property {@link #CACHE_RESOURCES_KEY} is set to {@code true}.
+	 * 
+	 * @param cacheResources
+	 */
+	public void setCacheResources(boolean cacheResources) {
+		this.cacheResources = cacheResources;
+		if (!cacheResources) {
+			resourcesCache.flush();
+		}
+	}
+
+	public boolean isCacheResources() {
+		return cacheResources;
+	}
+
+	/**
+	 * Invalidates the cached resources of the kind and namespace of the given
+	 * resource. Called when a watch notifies a change to the given resource.
+	 * 
+	 * @param resource
+	 */
+	public void invalidateResources(IResource resource) {
+		resourcesCache.invalidate(resource);
+	}
+
 	@Override
 	public <T extends IResource> T getResource(String kind, String namespace, String name) {
 		try {
@@ -567,7 +660,51 @@ public class Connection extends ObservablePojo implements IRefreshable, IOpenShi
 	 * @throws OpenShiftException
 	 */
 	public void deleteResource(IResource resource) {
-		client.delete(resource);
+		try {
+			client.delete(resource);
+		} finally {
+			resourcesCache.invalidate(resource);
+		}
+	}
+
+	/**
+	 * Returns the resources of the given kind in the given namespace whose
+	 * labels match the given selector. The resources are listed from the
+	 * server.
+	 * 
+	 * @param kind
+	 * @param namespace
+	 * @param selector
+	 * @throws OpenShiftException
+	 */
+	public <T extends IResource> List<T> getResources(String kind, String namespace, Map<String, String> selector) {
+		return client.list(kind, namespace, selector);
+	}
+
+	/**
+	 * Deletes the resources of the given kind in the given namespace whose
+	 * labels match the given selector with a single (deletecollection)
+	 * request.
+	 * 
+	 * @param kind
+	 * @param namespace
+	 * @param selector
+	 *            the labels to match, must not be empty
+	 * @throws OpenShiftException
+	 */
+	public void deleteResources(String kind, String namespace, Map<String, String> selector) {
+		Assert.isLegal(selector != null && !selector.isEmpty(), "A selector is required to delete a collection");
+		String labelSelector = selector.entrySet().stream()
+				.map(entry -> entry.getKey() + "=" + entry.getValue())
+				.sorted()
+				.collect(Collectors.joining(","));
+		Map<String, String> parameters = new HashMap<>();
+		parameters.put(PARAMETER_LABEL_SELECTOR, labelSelector);
+		try {
+			client.execute(HTTP_DELETE, kind, namespace, null, null, null, parameters);
+		} finally {
+			resourcesCache.invalidate(kind, namespace);
+		}
 	}
 
 	@Override
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.core.connection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.model.IResource;
+
+/**
+ * A cache for the resource lists of a connection. Lists expire after a time to
+ * live that depends on the kind of the resources and may be invalidated
+ * explicitly (ex. when a watch notifies a change).
+ *
+ * The time to live for a kind may be set via the system property
+ * {@code org.jboss.tools.openshift.core.connection.cache.ttl.<kind>} (in ms)
+ * and is never higher than the maximum staleness
+ * {@code org.jboss.tools.openshift.core.connection.cache.maxStaleness}.
+ *
+ * The cached lists hold the json of the resources that were loaded. Each hit
+ * thus creates new resources that the callers may modify without altering the
+ * cache. A hit costs parsing the json of each resource (which is still far
+ * cheaper than listing the resources from the server), while loading the
+ * resources only costs serializing them once. Made public for testing
+ * purposes.
+ */
+public class ResourcesCache {
+
+	public static final String TTL_KEY_PREFIX = "org.jboss.tools.openshift.core.connection.cache.ttl.";
+	public static final String MAX_STALENESS_KEY = "org.jboss.tools.openshift.core.connection.cache.maxStaleness";
+
+	public static final long MAX_STALENESS = Long.getLong(MAX_STALENESS_KEY, 60_000);
+	/** kinds that change often (ex. during deployments) */
+	private static final long SHORT_TTL = 5_000;
+	private static final long DEFAULT_TTL = 30_000;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	/** counts the invalidations, lists that were loaded across one are not cached */
+	private final AtomicLong invalidations = new AtomicLong();
+
+	private static class Entry {
+		private final List<String> resources;
+		private final long expires;
+
+		private Entry(List<String> resources, long expires) {
+			this.resources = resources;
+			this.expires = expires;
+		}
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() > expires;
+		}
+	}
+
+	/**
+	 * Returns the cached resources of the given kind and namespace, created
+	 * from their json with the given factory. Loads and caches them with the
+	 * given loader if they are not cached or expired.
+	 */
+	public <T extends IResource> List<T> get(String kind, String namespace, Supplier<List<T>> loader,
+			Function<String, T> factory) {
+		Entry entry = entries.get(getKey(kind, namespace));
+		if (entry == null || entry.isExpired()) {
+			return load(kind, namespace, loader);
+		}
+		return entry.resources.stream()
+				.map(factory)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Loads the resources of the given kind and namespace with the given loader
+	 * and caches them. They are not cached if an invalidation happened while
+	 * they were loaded, they may then be stale already. The loaded resources
+	 * are not shared with the cache.
+	 */
+	public <T extends IResource> List<T> load(String kind, String namespace, Supplier<List<T>> loader) {
+		long invalidation = invalidations.get();
+		List<T> resources = loader.get();
+		long ttl = getTimeToLive(kind);
+		if (ttl <= 0 || resources == null) {
+			return resources;
+		}
+		List<String> json = resources.stream()
+				.map(resource -> resource.toJson(true))
+				.collect(Collectors.toList());
+		Entry entry = new Entry(json, System.currentTimeMillis() + ttl);
+		// check and put atomically, invalidations count before they remove
+		entries.compute(getKey(kind, namespace),
+				(key, current) -> invalidations.get() == invalidation ? entry : current);
+		return resources;
+	}
+
+	/**
+	 * Invalidates the cached lists of the given kind in the given namespace and
+	 * in all namespaces.
+	 */
+	public void invalidate(String kind, String namespace) {
+		invalidations.incrementAndGet();
+		entries.remove(getKey(kind, namespace));
+		entries.remove(getKey(kind, ""));
+	}
+
+	public void invalidate(IResource resource) {
+		if (resource == null) {
+			return;
+		}
+		invalidate(resource.getKind(), resource.getNamespaceName());
+	}
+
+	public void flush() {
+		invalidations.incrementAndGet();
+		entries.clear();
+	}
+
+	public static long getTimeToLive(String kind) {
+		long ttl = Long.getLong(TTL_KEY_PREFIX + kind, getDefaultTimeToLive(kind));
+		return Math.min(ttl, MAX_STALENESS);
+	}
+
+	private static long getDefaultTimeToLive(String kind) {
+		switch (StringUtils.defaultString(kind)) {
+		case ResourceKind.POD:
+		case ResourceKind.BUILD:
+		case ResourceKind.EVENT:
+		case ResourceKind.REPLICATION_CONTROLLER:
+			return SHORT_TTL;
+		default:
+			return DEFAULT_TTL;
+		}
+	}
+
+	private String getKey(String kind, String namespace) {
+		return StringUtils.defaultString(namespace) + "/" + kind;
+	}
+}
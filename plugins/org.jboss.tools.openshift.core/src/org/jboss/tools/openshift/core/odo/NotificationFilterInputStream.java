@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.core.odo;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that ends where odo starts its notification block, that is
+ * at the first line that starts with {@code ---}. The output of odo can thus be
+ * parsed while it is read without copying it.
+ */
+public class NotificationFilterInputStream extends FilterInputStream {
+  private static final byte[] MARKER = { '-', '-', '-' };
+
+  private final byte[] buffer = new byte[8192];
+  private int pos;
+  private int limit;
+  private boolean lineStart = true;
+  private boolean end;
+
+  public NotificationFilterInputStream(InputStream in) {
+    super(in);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (isAtEnd()) {
+      return -1;
+    }
+    int c = buffer[pos++] & 0xff;
+    lineStart = c == '\n';
+    return c;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    } else if (len == 0) {
+      return 0;
+    }
+    int count = 0;
+    while (count < len) {
+      if (count > 0
+          && (pos == limit || (lineStart && limit - pos < MARKER.length))) {
+        // don't block once some bytes were read
+        break;
+      }
+      if (isAtEnd()) {
+        break;
+      }
+      byte c = buffer[pos++];
+      b[off + count++] = c;
+      lineStart = c == '\n';
+    }
+    return count == 0 ? -1 : count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = 0;
+    while (skipped < n && read() != -1) {
+      skipped++;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return end ? 0 : limit - pos;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public synchronized void mark(int readlimit) {
+    // not supported
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    throw new IOException("mark/reset not supported");
+  }
+
+  private boolean isAtEnd() throws IOException {
+    if (end) {
+      return true;
+    }
+    if (lineStart
+        && fill(MARKER.length)
+        && isMarker()) {
+      end = true;
+    } else if (pos == limit
+        && !fill(1)) {
+      end = true;
+    }
+    return end;
+  }
+
+  private boolean isMarker() {
+    for (int i = 0; i < MARKER.length; i++) {
+      if (buffer[pos + i] != MARKER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads until the buffer holds the given number of bytes.
+   *
+   * @return false if the stream ended before
+   */
+  private boolean fill(int count) throws IOException {
+    if (limit - pos >= count) {
+      return true;
+    }
+    System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+    limit -= pos;
+    pos = 0;
+    while (limit < count) {
+      int read = in.read(buffer, limit, buffer.length - limit);
+      if (read == -1) {
+        return false;
+      }
+      limit += read;
+    }
+    return true;
+  }
+}
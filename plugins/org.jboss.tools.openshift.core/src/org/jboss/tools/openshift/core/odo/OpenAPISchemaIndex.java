@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.core.odo;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the schemas of the resources that may be created through the
+ * {@code /apis/} paths of a cluster OpenAPI (v2) document. The document is
+ * streamed, only the body schemas of the paths are kept in memory while the
+ * definitions that they reference are written to a data file and read from
+ * there when a schema is looked up.
+ *
+ * The index and data files are kept in a folder under a key (ex. the cluster
+ * url and version) so that they may be loaded again later.
+ */
+public class OpenAPISchemaIndex {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final String PATHS_FIELD = "paths";
+  private static final String DEFINITIONS_FIELD = "definitions";
+  private static final String POST_FIELD = "post";
+  private static final String PARAMETERS_FIELD = "parameters";
+  private static final String NAME_FIELD = "name";
+  private static final String BODY_VALUE = "body";
+  private static final String SCHEMA_FIELD = "schema";
+  private static final String DOLLAR_REF_FIELD = "$ref";
+  private static final String APIS_PREFIX = "/apis/";
+  private static final String DEFINITIONS_PREFIX = "#/definitions/";
+
+  private static final String INDEX_SUFFIX = ".index.json";
+  private static final String DATA_SUFFIX = ".definitions";
+  private static final String TMP_PREFIX = "openapi";
+
+  /** path -> body schema */
+  private final Map<String, JsonNode> paths;
+  /** definition name -> offset and length in the data file */
+  private final Map<String, long[]> definitions;
+  private final File dataFile;
+
+  private OpenAPISchemaIndex(Map<String, JsonNode> paths, Map<String, long[]> definitions, File dataFile) {
+    this.paths = paths;
+    this.definitions = definitions;
+    this.dataFile = dataFile;
+  }
+
+  /**
+   * Loads the index that was built for the given key.
+   *
+   * @return the index or null if there's none
+   */
+  public static OpenAPISchemaIndex load(File folder, String key) throws IOException {
+    File indexFile = new File(folder, key + INDEX_SUFFIX);
+    File dataFile = new File(folder, key + DATA_SUFFIX);
+    if (!indexFile.isFile()
+        || !dataFile.isFile()) {
+      return null;
+    }
+    JsonNode index = MAPPER.readTree(indexFile);
+    Map<String, JsonNode> paths = new HashMap<>();
+    index.path(PATHS_FIELD).fields().forEachRemaining(entry -> paths.put(entry.getKey(), entry.getValue()));
+    Map<String, long[]> definitions = new HashMap<>();
+    index.path(DEFINITIONS_FIELD).fields().forEachRemaining(entry -> definitions.put(entry.getKey(),
+        new long[] { entry.getValue().get(0).asLong(), entry.getValue().get(1).asLong() }));
+    return new OpenAPISchemaIndex(paths, definitions, dataFile);
+  }
+
+  /**
+   * Builds the index from the given OpenAPI document and saves it under the
+   * given key. Replaces any index that was built before for this key.
+   */
+  public static OpenAPISchemaIndex build(InputStream openapi, File folder, String key) throws IOException {
+    Files.createDirectories(folder.toPath());
+    File spillFile = File.createTempFile(TMP_PREFIX, DATA_SUFFIX, folder);
+    try {
+      Map<String, JsonNode> paths = new HashMap<>();
+      Map<String, long[]> spilled = new HashMap<>();
+      Map<String, Set<String>> references = new HashMap<>();
+      try (JsonParser parser = MAPPER.getFactory().createParser(openapi);
+          OutputStream spill = Files.newOutputStream(spillFile.toPath())) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+          throw new IOException("Invalid data, no OpenAPI document");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.getCurrentName();
+          parser.nextToken();
+          if (PATHS_FIELD.equals(field)) {
+            readPaths(parser, paths);
+          } else if (DEFINITIONS_FIELD.equals(field)) {
+            readDefinitions(parser, spill, spilled, references);
+          } else {
+            parser.skipChildren();
+          }
+        }
+      }
+      return save(folder, key, paths, getReferenced(paths, references), spilled, spillFile);
+    } finally {
+      Files.deleteIfExists(spillFile.toPath());
+    }
+  }
+
+  /**
+   * Deletes the indexes in the given folder whose key starts with the given
+   * prefix (ex. the indexes of former versions of a cluster), except the one
+   * with the given key.
+   */
+  public static void deleteOthers(File folder, String keyPrefix, String key) throws IOException {
+    File[] files = folder.listFiles((dir, name) -> name.startsWith(keyPrefix)
+        && (name.endsWith(INDEX_SUFFIX) || name.endsWith(DATA_SUFFIX))
+        && !name.equals(key + INDEX_SUFFIX)
+        && !name.equals(key + DATA_SUFFIX));
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+
+  private static void readPaths(JsonParser parser, Map<String, JsonNode> paths) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String path = parser.getCurrentName();
+      parser.nextToken();
+      if (path.startsWith(APIS_PREFIX)) {
+        JsonNode schema = getBodySchema(parser.readValueAsTree());
+        if (schema != null) {
+          paths.put(path, schema);
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private static JsonNode getBodySchema(JsonNode path) {
+    for (JsonNode parameter : path.path(POST_FIELD).path(PARAMETERS_FIELD)) {
+      if (BODY_VALUE.equals(parameter.path(NAME_FIELD).asText())
+          && parameter.has(SCHEMA_FIELD)) {
+        return parameter.get(SCHEMA_FIELD);
+      }
+    }
+    return null;
+  }
+
+  private static void readDefinitions(JsonParser parser, OutputStream spill, Map<String, long[]> spilled,
+      Map<String, Set<String>> references) throws IOException {
+    long offset = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      parser.nextToken();
+      JsonNode definition = parser.readValueAsTree();
+      byte[] bytes = MAPPER.writeValueAsBytes(definition);
+      spill.write(bytes);
+      spilled.put(name, new long[] { offset, bytes.length });
+      offset += bytes.length;
+      Set<String> referenced = new HashSet<>();
+      collectReferences(definition, referenced);
+      references.put(name, referenced);
+    }
+  }
+
+  private static void collectReferences(JsonNode node, Set<String> referenced) {
+    if (node.has(DOLLAR_REF_FIELD)) {
+      String ref = node.get(DOLLAR_REF_FIELD).asText();
+      if (ref.startsWith(DEFINITIONS_PREFIX)) {
+        referenced.add(ref.substring(DEFINITIONS_PREFIX.length()));
+      }
+    }
+    for (JsonNode child : node) {
+      collectReferences(child, referenced);
+    }
+  }
+
+  /**
+   * Returns the definitions that the given paths reference directly or through
+   * other definitions.
+   */
+  private static Set<String> getReferenced(Map<String, JsonNode> paths, Map<String, Set<String>> references) {
+    Set<String> referenced = new HashSet<>();
+    paths.values().forEach(schema -> collectReferences(schema, referenced));
+    Deque<String> pending = new ArrayDeque<>(referenced);
+    while (!pending.isEmpty()) {
+      for (String name : references.getOrDefault(pending.pop(), Collections.emptySet())) {
+        if (referenced.add(name)) {
+          pending.push(name);
+        }
+      }
+    }
+    return referenced;
+  }
+
+  private static OpenAPISchemaIndex save(File folder, String key, Map<String, JsonNode> paths, Set<String> referenced,
+      Map<String, long[]> spilled, File spillFile) throws IOException {
+    File dataFile = new File(folder, key + DATA_SUFFIX);
+    File tmpDataFile = File.createTempFile(TMP_PREFIX, DATA_SUFFIX, folder);
+    Map<String, long[]> definitions = new HashMap<>();
+    try (RandomAccessFile in = new RandomAccessFile(spillFile, "r");
+        OutputStream out = Files.newOutputStream(tmpDataFile.toPath())) {
+      long offset = 0;
+      for (String name : referenced) {
+        long[] location = spilled.get(name);
+        if (location != null) {
+          out.write(read(in, location));
+          definitions.put(name, new long[] { offset, location[1] });
+          offset += location[1];
+        }
+      }
+    }
+    ObjectNode index = MAPPER.createObjectNode();
+    ObjectNode pathsNode = index.putObject(PATHS_FIELD);
+    paths.forEach(pathsNode::set);
+    ObjectNode definitionsNode = index.putObject(DEFINITIONS_FIELD);
+    definitions.forEach((name, location) -> definitionsNode.putArray(name).add(location[0]).add(location[1]));
+    File tmpIndexFile = File.createTempFile(TMP_PREFIX, INDEX_SUFFIX, folder);
+    MAPPER.writeValue(tmpIndexFile, index);
+    Files.move(tmpDataFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    Files.move(tmpIndexFile.toPath(), new File(folder, key + INDEX_SUFFIX).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    return new OpenAPISchemaIndex(paths, definitions, dataFile);
+  }
+
+  private static byte[] read(RandomAccessFile file, long[] location) throws IOException {
+    byte[] bytes = new byte[(int) location[1]];
+    file.seek(location[0]);
+    file.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * Returns {@code true} if this index knows the given path.
+   */
+  public boolean hasPath(String path) {
+    return paths.containsKey(path);
+  }
+
+  /**
+   * Returns the schema of the body that is posted to the given path, with its
+   * references to definitions resolved.
+   *
+   * @return the schema or null if the path is unknown
+   * @throws IOException if a reference can't be resolved
+   */
+  public ObjectNode findSchema(String path) throws IOException {
+    JsonNode schema = paths.get(path);
+    if (schema == null) {
+      return null;
+    }
+    try (RandomAccessFile file = new RandomAccessFile(dataFile, "r")) {
+      Map<String, JsonNode> resolved = new HashMap<>();
+      if (schema.has(DOLLAR_REF_FIELD)) {
+        return (ObjectNode) resolveRefs(file, resolved, resolve(file, resolved, schema.get(DOLLAR_REF_FIELD).asText()));
+      } else {
+        return (ObjectNode) resolveRefs(file, resolved, schema.deepCopy());
+      }
+    }
+  }
+
+  private JsonNode resolveRefs(RandomAccessFile file, Map<String, JsonNode> resolved, JsonNode node) throws IOException {
+    for (Iterator<String> it = node.fieldNames(); it.hasNext();) {
+      String name = it.next();
+      JsonNode child = node.get(name);
+      if (child.has(DOLLAR_REF_FIELD)) {
+        ((ObjectNode) node).set(name, resolve(file, resolved, child.get(DOLLAR_REF_FIELD).asText()));
+      } else {
+        resolveRefs(file, resolved, child);
+      }
+    }
+    return node;
+  }
+
+  private JsonNode resolve(RandomAccessFile file, Map<String, JsonNode> resolved, String ref) throws IOException {
+    String name = ref.startsWith(DEFINITIONS_PREFIX) ? ref.substring(DEFINITIONS_PREFIX.length()) : ref;
+    JsonNode definition = resolved.get(name);
+    if (definition == null) {
+      long[] location = definitions.get(name);
+      if (location == null) {
+        throw new IOException("Can't resolved reference '" + ref + "' element " + name + " not found");
+      }
+      definition = MAPPER.readTree(read(file, location));
+      resolved.put(name, definition);
+    }
+    return definition;
+  }
+}
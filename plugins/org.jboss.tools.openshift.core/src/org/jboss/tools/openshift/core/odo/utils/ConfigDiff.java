@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.core.odo.utils;
+
+import io.fabric8.kubernetes.api.model.Config;
+import io.fabric8.kubernetes.api.model.Context;
+import io.fabric8.kubernetes.api.model.NamedContext;
+import io.fabric8.kubernetes.client.internal.KubeConfigUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * The contexts that differ between two kubeconfigs.
+ */
+public class ConfigDiff {
+    private final Set<String> added = new HashSet<>();
+    private final Set<String> removed = new HashSet<>();
+    private final Set<String> changed = new HashSet<>();
+    private boolean currentContextNameChanged;
+    private boolean currentContextChanged;
+    private boolean currentTokenChanged;
+
+    private ConfigDiff() {
+    }
+
+    public static ConfigDiff of(Config oldConfig, Config newConfig) {
+        ConfigDiff diff = new ConfigDiff();
+        Map<String, NamedContext> oldContexts = getContexts(oldConfig);
+        Map<String, NamedContext> newContexts = getContexts(newConfig);
+        newContexts.forEach((name, context) -> {
+            NamedContext oldContext = oldContexts.get(name);
+            if (oldContext == null) {
+                diff.added.add(name);
+            } else if (!isSameContext(oldContext, oldConfig, context, newConfig)) {
+                diff.changed.add(name);
+            }
+        });
+        oldContexts.keySet().stream()
+                .filter(name -> !newContexts.containsKey(name))
+                .forEach(diff.removed::add);
+
+        NamedContext oldCurrent = oldConfig == null ? null : KubeConfigUtils.getCurrentContext(oldConfig);
+        NamedContext newCurrent = newConfig == null ? null : KubeConfigUtils.getCurrentContext(newConfig);
+        diff.currentContextNameChanged = !Objects.equals(
+                oldConfig == null ? null : oldConfig.getCurrentContext(),
+                newConfig == null ? null : newConfig.getCurrentContext());
+        diff.currentContextChanged = (oldCurrent != null || newCurrent != null)
+                && hasServerChanged(oldCurrent, newCurrent);
+        diff.currentTokenChanged = hasNewToken(oldCurrent, oldConfig, newCurrent, newConfig);
+        return diff;
+    }
+
+    private static Map<String, NamedContext> getContexts(Config config) {
+        if (config == null
+                || config.getContexts() == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, NamedContext> contexts = new HashMap<>();
+        config.getContexts().forEach(context -> contexts.put(context.getName(), context));
+        return contexts;
+    }
+
+    private static boolean isSameContext(NamedContext oldContext, Config oldConfig, NamedContext newContext, Config newConfig) {
+        return !hasServerChanged(oldContext, newContext)
+                && StringUtils.equals(getToken(oldConfig, oldContext.getContext()), getToken(newConfig, newContext.getContext()));
+    }
+
+    private static boolean hasServerChanged(NamedContext oldContext, NamedContext newContext) {
+        return newContext == null
+                || oldContext == null
+                || newContext.getContext() == null
+                || oldContext.getContext() == null
+                || !StringUtils.equals(oldContext.getContext().getCluster(), newContext.getContext().getCluster())
+                || !StringUtils.equals(oldContext.getContext().getUser(), newContext.getContext().getUser())
+                || !StringUtils.equals(oldContext.getContext().getNamespace(), newContext.getContext().getNamespace());
+    }
+
+    private static boolean hasNewToken(NamedContext oldContext, Config oldConfig, NamedContext newContext, Config newConfig) {
+        if (newContext == null) {
+            return false;
+        }
+        if (oldContext == null) {
+            return true;
+        }
+        String newToken = getToken(newConfig, newContext.getContext());
+        if (newToken == null) {
+            // logout
+            return false;
+        }
+        return !StringUtils.equals(newToken, getToken(oldConfig, oldContext.getContext()));
+    }
+
+    private static String getToken(Config config, Context context) {
+        if (context == null) {
+            return null;
+        }
+        return KubeConfigUtils.getUserToken(config, context);
+    }
+
+    /**
+     * Returns the names of the contexts that were added.
+     */
+    public Set<String> getAdded() {
+        return Collections.unmodifiableSet(added);
+    }
+
+    /**
+     * Returns the names of the contexts that were removed.
+     */
+    public Set<String> getRemoved() {
+        return Collections.unmodifiableSet(removed);
+    }
+
+    /**
+     * Returns the names of the contexts whose cluster, user, namespace or token changed.
+     */
+    public Set<String> getChanged() {
+        return Collections.unmodifiableSet(changed);
+    }
+
+    /**
+     * Returns {@code true} if the current context now points to another cluster,
+     * user or namespace.
+     */
+    public boolean isCurrentContextChanged() {
+        return currentContextChanged;
+    }
+
+    /**
+     * Returns {@code true} if the user of the current context has a new token.
+     * A removed token (logout) is not reported.
+     */
+    public boolean isCurrentTokenChanged() {
+        return currentTokenChanged;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty()
+                && removed.isEmpty()
+                && changed.isEmpty()
+                && !currentContextNameChanged
+                && !currentContextChanged
+                && !currentTokenChanged;
+    }
+}
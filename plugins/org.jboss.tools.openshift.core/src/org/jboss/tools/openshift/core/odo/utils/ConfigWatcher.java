@@ -14,18 +14,46 @@ import io.fabric8.kubernetes.api.model.Config;
 
 import java.io.IOException;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Watches the kubeconfig file and notifies a listener of the contexts that
+ * changed. Bursts of file events (ex. when {@code oc login} writes the file
+ * several times) are coalesced and rewrites that don't change the content are
+ * ignored. The quiet period (in ms) that ends a burst may be set via the
+ * system property {@code org.jboss.tools.openshift.odo.configWatcher.debounce}.
+ */
 public class ConfigWatcher implements Runnable {
+    public static final String DEBOUNCE_KEY = "org.jboss.tools.openshift.odo.configWatcher.debounce";
+
+    private static final long DEBOUNCE = Long.getLong(DEBOUNCE_KEY, 500);
+
     private final Path config;
     protected Listener listener;
+    private String lastHash;
+    private Config lastConfig;
 
     public interface Listener {
         void onUpdate(ConfigWatcher source, Config config);
+
+        /**
+         * Notifies that the kubeconfig changed.
+         *
+         * @param diff the contexts that changed since the last notification
+         */
+        default void onUpdate(ConfigWatcher source, Config config, ConfigDiff diff) {
+            onUpdate(source, config);
+        }
     }
 
     public ConfigWatcher(Path config, Listener listener) {
@@ -35,12 +63,25 @@ public class ConfigWatcher implements Runnable {
 
     @Override
     public void run() {
-        runOnConfigChange(() -> {
-            Config config = loadConfig();
-            if (config != null) {
-                listener.onUpdate(this, config);
+        this.lastHash = getConfigHash();
+        this.lastConfig = loadConfig();
+        runOnConfigChange(this::onConfigChange);
+    }
+
+    private void onConfigChange() {
+        String hash = getConfigHash();
+        if (Objects.equals(hash, lastHash)) {
+            return;
+        }
+        this.lastHash = hash;
+        Config config = loadConfig();
+        if (config != null) {
+            ConfigDiff diff = ConfigDiff.of(lastConfig, config);
+            this.lastConfig = config;
+            if (!diff.isEmpty()) {
+                listener.onUpdate(this, config, diff);
             }
-        });
+        }
     }
 
     protected Config loadConfig() {
@@ -51,21 +92,44 @@ public class ConfigWatcher implements Runnable {
         }
     }
 
+    /**
+     * Returns a hash of the content of the config file or null if it can't be read.
+     */
+    protected String getConfigHash() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(config));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
     private void runOnConfigChange(Runnable runnable) {
         try (WatchService service = newWatchService()) {
             registerWatchService(service);
             WatchKey key;
             while ((key = service.take()) != null) {
-                key.pollEvents().stream()
-                        .filter(this::isConfigPath)
-                        .forEach((Void) -> runnable.run());
-                key.reset();
+                boolean changed = pollConfigEvents(key);
+                // wait for the end of the burst
+                while ((key = service.poll(DEBOUNCE, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= pollConfigEvents(key);
+                }
+                if (changed) {
+                    runnable.run();
+                }
             }
         } catch (IOException | InterruptedException e) {
             e.printStackTrace();
         }
     }
 
+    private boolean pollConfigEvents(WatchKey key) {
+        boolean changed = key.pollEvents().stream()
+                .anyMatch(this::isConfigPath);
+        key.reset();
+        return changed;
+    }
+
     protected WatchService newWatchService() throws IOException {
         return FileSystems.getDefault().newWatchService();
     }
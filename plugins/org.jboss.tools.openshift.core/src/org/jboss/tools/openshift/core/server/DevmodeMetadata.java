@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.jboss.tools.openshift.core.server;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.jboss.tools.openshift.common.core.utils.StringUtils;
 
 /**
@@ -26,19 +23,16 @@ public class DevmodeMetadata {
 	private static final String DEFAULT_PORT_KEY = "DEBUG_PORT";
 	private static final String DEFAULT_PORT_VALUE = "8787";
 
-	// "image->"dockerImageMetadata"->"Config"->"Labels"->
-	private static final Pattern REGEX_LABEL_DEVMODE = Pattern
-			.compile("\\\"com\\.redhat\\.dev-mode\\\" ?\\: ?\\\"([^(:|\\\")]+)(:|\\\")([^\\\"]*)");
-	private static final Pattern REGEX_LABEL_DEVMODE_PORT = Pattern
-			.compile("\\\"com\\.redhat\\.dev-mode\\.port\\\" ?\\: ?\\\"([^(:|\\\")]+)(:|\\\")([^\\\"]*)");
+	private static final String KEY_VALUE_DELIMITER = ":";
 
 	private String enablementKey;
 	private String enablementValue;
 	private String portKey;
 	private String portValue;
 
-	public DevmodeMetadata(String metadata) {
-		parse(metadata);
+	public DevmodeMetadata(DockerImageConfig config) {
+		parseEnablement(config.getLabel(DockerImageConfig.LABEL_DEVMODE));
+		parsePort(config.getLabel(DockerImageConfig.LABEL_DEVMODE_PORT));
 	}
 
 	public String getEnablementKey() {
@@ -57,33 +51,46 @@ public class DevmodeMetadata {
 		return portValue;
 	}
 
-	private void parse(String metadata) {
-		if (!StringUtils.isEmpty(metadata)) {
-			parseEnablement(metadata);
-			parsePort(metadata);
-		}
-	}
-
-	private void parseEnablement(String metadata) {
-		Matcher matcher = REGEX_LABEL_DEVMODE.matcher(metadata);
-		if (matcher.find()) {
-			this.enablementKey = matcher.group(1);
-			this.enablementValue = matcher.group(3);
-		} else {
+	private void parseEnablement(String label) {
+		if (StringUtils.isEmpty(label)) {
 			this.enablementKey = DEFAULT_ENABLEMENT_KEY;
 			this.enablementValue = DEFAULT_ENABLEMENT_VALUE;
+		} else {
+			this.enablementKey = getKey(label);
+			this.enablementValue = getValue(label);
 		}
 	}
 
-	private void parsePort(String metadata) {
-		Matcher matcher = REGEX_LABEL_DEVMODE_PORT.matcher(metadata);
-		if (matcher.find()) {
-			this.portKey = matcher.group(1);
-			this.portValue = matcher.group(3);
-		} else {
+	private void parsePort(String label) {
+		if (StringUtils.isEmpty(label)) {
 			this.portKey = DEFAULT_PORT_KEY;
 			this.portValue = DEFAULT_PORT_VALUE;
+		} else {
+			this.portKey = getKey(label);
+			this.portValue = getValue(label);
+		}
+	}
+
+	/**
+	 * Returns the key in a label value of the form {@code KEY:VALUE}.
+	 */
+	private String getKey(String label) {
+		int index = label.indexOf(KEY_VALUE_DELIMITER);
+		if (index == -1) {
+			return label;
+		}
+		return label.substring(0, index);
+	}
+
+	/**
+	 * Returns the value in a label value of the form {@code KEY:VALUE}.
+	 */
+	private String getValue(String label) {
+		int index = label.indexOf(KEY_VALUE_DELIMITER);
+		if (index == -1) {
+			return "";
 		}
+		return label.substring(index + KEY_VALUE_DELIMITER.length());
 	}
 
 }
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc.. All rights reserved. This program and the
+ * accompanying materials are made available under the terms of the Eclipse
+ * Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat Incorporated - initial API and implementation
+ *******************************************************************************/
+package org.jboss.tools.openshift.core.server;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The labels and the working dir of a docker image that the server adapter
+ * uses. They are extracted from the json of an image stream tag by streaming
+ * it and only reading {@code image->dockerImageMetadata->Config} and the
+ * digest of the image ({@code image->metadata->name}).
+ *
+ * @see DevmodeMetadata
+ * @see PodDeploymentPathMetadata
+ */
+public class DockerImageConfig {
+
+	public static final String LABEL_DEVMODE = "com.redhat.dev-mode";
+	public static final String LABEL_DEVMODE_PORT = "com.redhat.dev-mode.port";
+	public static final String LABEL_REDHAT_DEPLOYMENTS_DIR = "com.redhat.deployments-dir";
+	public static final String LABEL_JBOSS_DEPLOYMENTS_DIR = "org.jboss.deployments-dir";
+
+	/** the labels that are extracted, all others are skipped */
+	static final Set<String> LABELS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			LABEL_DEVMODE, LABEL_DEVMODE_PORT, LABEL_REDHAT_DEPLOYMENTS_DIR, LABEL_JBOSS_DEPLOYMENTS_DIR)));
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private static final String PROPERTY_IMAGE = "image";
+	private static final String PROPERTY_METADATA = "metadata";
+	private static final String PROPERTY_NAME = "name";
+	private static final String PROPERTY_DOCKER_IMAGE_METADATA = "dockerImageMetadata";
+	private static final String PROPERTY_CONFIG = "Config";
+	private static final String PROPERTY_LABELS = "Labels";
+	private static final String PROPERTY_WORKING_DIR = "WorkingDir";
+
+	private final String digest;
+	private final Map<String, String> labels;
+	private final String workingDir;
+
+	public DockerImageConfig(String digest, Map<String, String> labels, String workingDir) {
+		this.digest = digest;
+		this.labels = labels;
+		this.workingDir = workingDir;
+	}
+
+	/**
+	 * Returns the digest of the image (ex. {@code sha256:4bc2b9...}) or
+	 * {@code null} if it is unknown.
+	 */
+	public String getDigest() {
+		return digest;
+	}
+
+	/**
+	 * Returns the value of the given label or {@code null} if the image doesn't
+	 * have it or it's not one of the extracted labels.
+	 */
+	public String getLabel(String name) {
+		return labels.get(name);
+	}
+
+	public Map<String, String> getLabels() {
+		return Collections.unmodifiableMap(labels);
+	}
+
+	public String getWorkingDir() {
+		return workingDir;
+	}
+
+	/**
+	 * Extracts the image config from the given image stream tag json.
+	 *
+	 * @param imageStreamTag
+	 *            the json of an image stream tag
+	 * @return the image config, its values are {@code null} if the json doesn't
+	 *         have them
+	 * @throws IOException
+	 *             if the json is malformed
+	 */
+	public static DockerImageConfig parse(String imageStreamTag) throws IOException {
+		ConfigBuilder builder = new ConfigBuilder();
+		try (JsonParser parser = JSON_FACTORY.createParser(imageStreamTag)) {
+			parser.nextToken();
+			forEachField(parser, field -> {
+				if (PROPERTY_IMAGE.equals(field)) {
+					parseImage(parser, builder);
+				} else {
+					parser.skipChildren();
+				}
+			});
+		}
+		return builder.build();
+	}
+
+	private static void parseImage(JsonParser parser, ConfigBuilder builder) throws IOException {
+		forEachField(parser, field -> {
+			if (PROPERTY_METADATA.equals(field)) {
+				forEachField(parser, metadataField -> {
+					if (PROPERTY_NAME.equals(metadataField)) {
+						builder.digest = getString(parser);
+					} else {
+						parser.skipChildren();
+					}
+				});
+			} else if (PROPERTY_DOCKER_IMAGE_METADATA.equals(field)) {
+				forEachField(parser, metadataField -> {
+					if (PROPERTY_CONFIG.equals(metadataField)) {
+						parseConfig(parser, builder);
+					} else {
+						parser.skipChildren();
+					}
+				});
+			} else {
+				parser.skipChildren();
+			}
+		});
+	}
+
+	private static void parseConfig(JsonParser parser, ConfigBuilder builder) throws IOException {
+		forEachField(parser, field -> {
+			if (PROPERTY_LABELS.equals(field)) {
+				forEachField(parser, label -> {
+					if (LABELS.contains(label)) {
+						builder.labels.put(label, getString(parser));
+					} else {
+						parser.skipChildren();
+					}
+				});
+			} else if (PROPERTY_WORKING_DIR.equals(field)) {
+				builder.workingDir = getString(parser);
+			} else {
+				parser.skipChildren();
+			}
+		});
+	}
+
+	/**
+	 * Calls the given handler for each field of the object that the parser is
+	 * at. The parser is at the value of the field when the handler is called,
+	 * the handler has to consume it. Values that are no objects (or missing)
+	 * are skipped.
+	 */
+	private static void forEachField(JsonParser parser, FieldHandler handler) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			handler.handle(field);
+		}
+	}
+
+	private static String getString(JsonParser parser) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.VALUE_STRING) {
+			parser.skipChildren();
+			return null;
+		}
+		return parser.getText();
+	}
+
+	@FunctionalInterface
+	private interface FieldHandler {
+		void handle(String field) throws IOException;
+	}
+
+	private static class ConfigBuilder {
+
+		private String digest;
+		private final Map<String, String> labels = new HashMap<>();
+		private String workingDir;
+
+		private DockerImageConfig build() {
+			return new DockerImageConfig(digest, labels, workingDir);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat Inc.. All rights reserved. This program and the
+ * accompanying materials are made available under the terms of the Eclipse
+ * Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat Incorporated - initial API and implementation
+ *******************************************************************************/
+package org.jboss.tools.openshift.core.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.tools.openshift.common.core.utils.StringUtils;
+import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+
+/**
+ * A cache of the docker image configs keyed by the digest of the image. An
+ * image never changes for a given digest, the configs thus never get stale.
+ * They are kept in memory and persisted as properties files in the state
+ * location of the plugin so that they survive restarts. The least recently
+ * used files are deleted once there are more than {@link #MAX_ENTRIES}.
+ */
+public class DockerImageConfigCache {
+
+	public static final DockerImageConfigCache INSTANCE = new DockerImageConfigCache(getStateFolder());
+
+	static final int MAX_ENTRIES = 256;
+
+	private static final String FOLDER = "imageConfigs";
+	private static final String SUFFIX = ".properties";
+	private static final String TMP_PREFIX = "imageConfig";
+	private static final String TMP_SUFFIX = ".tmp";
+	private static final String KEY_DIGEST = "digest";
+	private static final String KEY_WORKING_DIR = "workingDir";
+	private static final String KEY_LABEL_PREFIX = "label.";
+
+	/** digest -> config */
+	private final Map<String, DockerImageConfig> configs = new ConcurrentHashMap<>();
+	private final File folder;
+
+	/* for testing purposes */
+	protected DockerImageConfigCache(File folder) {
+		this.folder = folder;
+	}
+
+	/**
+	 * Returns the config of the image with the given digest or {@code null} if
+	 * it's not cached.
+	 */
+	public DockerImageConfig get(String digest) {
+		if (StringUtils.isEmpty(digest)) {
+			return null;
+		}
+		DockerImageConfig config = configs.get(digest);
+		if (config == null) {
+			config = load(digest);
+			if (config != null) {
+				configs.put(digest, config);
+			}
+		}
+		return config;
+	}
+
+	/**
+	 * Caches the given config under its digest. Configs without a digest are not
+	 * cached.
+	 */
+	public void put(DockerImageConfig config) {
+		if (config == null
+				|| StringUtils.isEmpty(config.getDigest())) {
+			return;
+		}
+		if (configs.put(config.getDigest(), config) == null) {
+			save(config);
+		}
+	}
+
+	private DockerImageConfig load(String digest) {
+		File file = getFile(digest);
+		if (file == null
+				|| !file.isFile()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			properties.load(in);
+		} catch (IOException | IllegalArgumentException e) {
+			OpenShiftCoreActivator.logWarning("Could not read the cached config of docker image " + digest, e);
+			file.delete();
+			return null;
+		}
+		if (!digest.equals(properties.getProperty(KEY_DIGEST))) {
+			return null;
+		}
+		// mark as recently used
+		file.setLastModified(System.currentTimeMillis());
+		Map<String, String> labels = new HashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			if (key.startsWith(KEY_LABEL_PREFIX)) {
+				labels.put(key.substring(KEY_LABEL_PREFIX.length()), properties.getProperty(key));
+			}
+		}
+		return new DockerImageConfig(digest, labels, properties.getProperty(KEY_WORKING_DIR));
+	}
+
+	private void save(DockerImageConfig config) {
+		File file = getFile(config.getDigest());
+		if (file == null) {
+			return;
+		}
+		Properties properties = new Properties();
+		properties.setProperty(KEY_DIGEST, config.getDigest());
+		if (config.getWorkingDir() != null) {
+			properties.setProperty(KEY_WORKING_DIR, config.getWorkingDir());
+		}
+		config.getLabels().forEach((name, value) -> {
+			if (value != null) {
+				properties.setProperty(KEY_LABEL_PREFIX + name, value);
+			}
+		});
+		File tmpFile = null;
+		try {
+			Files.createDirectories(folder.toPath());
+			tmpFile = File.createTempFile(TMP_PREFIX, TMP_SUFFIX, folder);
+			try (OutputStream out = Files.newOutputStream(tmpFile.toPath())) {
+				properties.store(out, null);
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			deleteLeastRecentlyUsed();
+		} catch (IOException e) {
+			OpenShiftCoreActivator.logWarning("Could not cache the config of docker image " + config.getDigest(), e);
+		} finally {
+			if (tmpFile != null) {
+				tmpFile.delete();
+			}
+		}
+	}
+
+	private void deleteLeastRecentlyUsed() {
+		File[] files = folder.listFiles((dir, name) -> name.endsWith(SUFFIX));
+		if (files == null
+				|| files.length <= MAX_ENTRIES) {
+			return;
+		}
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < files.length - MAX_ENTRIES; i++) {
+			files[i].delete();
+		}
+	}
+
+	private File getFile(String digest) {
+		if (folder == null) {
+			return null;
+		}
+		return new File(folder, digest.replaceAll("[^a-zA-Z0-9]", "_") + SUFFIX);
+	}
+
+	private static File getStateFolder() {
+		OpenShiftCoreActivator plugin = OpenShiftCoreActivator.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		return plugin.getStateLocation().append(FOLDER).toFile();
+	}
+}
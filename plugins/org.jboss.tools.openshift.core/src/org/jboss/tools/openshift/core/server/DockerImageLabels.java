@@ -8,6 +8,7 @@
  *******************************************************************************/
 package org.jboss.tools.openshift.core.server;
 
+import java.io.IOException;
 import java.util.Objects;
 
 import org.eclipse.core.runtime.CoreException;
@@ -30,10 +31,12 @@ import com.openshift.restclient.model.IResource;
 public class DockerImageLabels {
 
 	private static final String SHARED_DATA_KEY = "DOCKER_IMAGE_LABELS";
+	private static final String DIGEST_DELIMITER = "@";
 
 	private IResource resource;
 	private Connection connection;
-	private String metadata;
+	private DockerImageConfigCache cache;
+	private DockerImageConfig config;
 	private DevmodeMetadata devmodeMetadata;
 	private PodDeploymentPathMetadata podPathMetadata;
 
@@ -62,8 +65,14 @@ public class DockerImageLabels {
 	}
 
 	protected DockerImageLabels(IResource resource, Connection connection) {
+		this(resource, connection, DockerImageConfigCache.INSTANCE);
+	}
+
+	/* for testing purposes */
+	protected DockerImageLabels(IResource resource, Connection connection, DockerImageConfigCache cache) {
 		this.resource = resource;
 		this.connection = connection;
+		this.cache = cache;
 	}
 
 	public String getDevmodeKey(IProgressMonitor monitor) throws CoreException {
@@ -100,19 +109,19 @@ public class DockerImageLabels {
 	}
 
 	private boolean isLoaded() {
-		return metadata != null;
+		return config != null;
 	}
 
 	protected boolean loadIfRequired(IProgressMonitor monitor) throws CoreException {
 		if (isLoaded()) {
 			return true;
 		}
-		this.metadata = load(resource, monitor);
-		if (StringUtils.isEmpty(metadata)) {
+		this.config = load(resource, monitor);
+		if (config == null) {
 			return false;
 		}
-		this.devmodeMetadata = new DevmodeMetadata(metadata);
-		this.podPathMetadata = new PodDeploymentPathMetadata(metadata);
+		this.devmodeMetadata = new DevmodeMetadata(config);
+		this.podPathMetadata = new PodDeploymentPathMetadata(config);
 		return true;
 	}
 
@@ -123,7 +132,9 @@ public class DockerImageLabels {
 	/**
 	 * Loads the docker image meta data for a given resource. The given resource is
 	 * used to infer a deployment config which then is used to determined the docker
-	 * image being used. The meta data of this docker image is then loaded.
+	 * image being used. The meta data of this docker image is then loaded. It is
+	 * looked up in the cache if the deployment config refers to the image by its
+	 * digest and only loaded from the image stream tag if it's not cached yet.
 	 * @param monitor 
 	 * 
 	 * @param reosurce
@@ -131,7 +142,7 @@ public class DockerImageLabels {
 	 * @return
 	 * @throws CoreException 
 	 */
-	protected String load(IResource resource, IProgressMonitor monitor) throws CoreException {
+	protected DockerImageConfig load(IResource resource, IProgressMonitor monitor) throws CoreException {
 		IDeploymentConfig dc = ResourceUtils.getDeploymentConfigFor(resource, connection);
 		if (dc == null) {
 			throw new CoreException(StatusFactory.errorStatus(OpenShiftCoreActivator.PLUGIN_ID,
@@ -140,13 +151,47 @@ public class DockerImageLabels {
 							resource.getName(), resource.getNamespaceName()))) ;  
 		}
 
+		DockerImageConfig cached = cache.get(getImageDigest(dc));
+		if (cached != null) {
+			return cached;
+		}
+
 		DockerImageURI uri = ResourceUtils.getDockerImageUri(dc);
 		if (uri == null) {
 			throw new CoreException(StatusFactory.errorStatus(OpenShiftCoreActivator.PLUGIN_ID,
 					NLS.bind("Could not determine the docker image specified in deployment config {0} in project {1}.",
 							dc.getName(), dc.getNamespaceName())));
 		}
-		return getImageStreamTag(uri, resource.getNamespaceName(), monitor);
+		String imageStreamTag = getImageStreamTag(uri, resource.getNamespaceName(), monitor);
+		if (StringUtils.isEmpty(imageStreamTag)) {
+			return null;
+		}
+		try {
+			DockerImageConfig loaded = DockerImageConfig.parse(imageStreamTag);
+			cache.put(loaded);
+			return loaded;
+		} catch (IOException e) {
+			throw new CoreException(StatusFactory.errorStatus(OpenShiftCoreActivator.PLUGIN_ID,
+					NLS.bind("Could not read the metadata of docker image {0}.", uri.getAbsoluteUri()), e));
+		}
+	}
+
+	/**
+	 * Returns the digest of the image that the given deployment config runs
+	 * (ex. {@code sha256:4bc2b9...}) or {@code null} if the container doesn't
+	 * refer to its image by digest. The container is the one whose image
+	 * {@link ResourceUtils#getDockerImageUri(IDeploymentConfig)} resolves so that
+	 * sidecar containers are not mistaken for it.
+	 * 
+	 * @see ResourceUtils#getDeployedImage(IDeploymentConfig)
+	 */
+	private String getImageDigest(IDeploymentConfig dc) {
+		String image = ResourceUtils.getDeployedImage(dc);
+		if (image == null
+				|| !image.contains(DIGEST_DELIMITER)) {
+			return null;
+		}
+		return image.substring(image.lastIndexOf(DIGEST_DELIMITER) + DIGEST_DELIMITER.length());
 	}
 
 	protected String getImageStreamTag(DockerImageURI uri, String namespace, IProgressMonitor monitor) {
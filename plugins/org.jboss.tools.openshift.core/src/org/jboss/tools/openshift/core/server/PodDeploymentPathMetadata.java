@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.jboss.tools.openshift.core.server;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.jboss.tools.openshift.common.core.utils.StringUtils;
 
 /**
@@ -22,26 +19,24 @@ public class PodDeploymentPathMetadata {
 
 	// default fallback
 	private static final String DEFAULT_DEPLOYMENT_DIR = "/opt/app-root/src";
-	// "image->"dockerImageMetadata"->"Config"->"Labels"->"com.redhat.deployments-dir"
-	private static final Pattern PATTERN_REDHAT_DEPLOYMENTS_DIR = Pattern
-			.compile("\"com\\.redhat\\.deployments-dir\"[^\"]*\"([^\"]*)\",");
-	// "image->"dockerImageMetadata"->"Config"->"Labels"->"com.redhat.deployments-dir"
-	private static final Pattern PATTERN_JBOSS_DEPLOYMENTS_DIR = Pattern
-			.compile("\"org\\.jboss\\.deployments-dir\"[^\"]*\"([^\"]*)\",");
-	// "image->"dockerImageMetadata"->"Config"->"WorkginDir"
-	private static final Pattern PATTERN_WOKRING_DIR = Pattern.compile("\"WorkingDir\"[^\"]*\"([^\"]*)\",");
 
-	private String metadata;
+	private DockerImageConfig config;
 
-	public PodDeploymentPathMetadata(String metadata) {
-		this.metadata = metadata;
+	public PodDeploymentPathMetadata(DockerImageConfig config) {
+		this.config = config;
 	}
 
+	/**
+	 * Returns the deployments dir that's set in the labels of the image or its
+	 * working dir if it has no such label.
+	 */
 	public String get() {
-		if (StringUtils.isEmpty(metadata)) {
-			return null;
+		String podPath = null;
+		if ((podPath = config.getLabel(DockerImageConfig.LABEL_REDHAT_DEPLOYMENTS_DIR)) == null
+				&& (podPath = config.getLabel(DockerImageConfig.LABEL_JBOSS_DEPLOYMENTS_DIR)) == null) {
+			podPath = config.getWorkingDir();
 		}
-		return getPodPath(metadata);
+		return podPath;
 	}
 
 	protected String useDefaultPathIfEmpty(String podPath) {
@@ -51,23 +46,4 @@ public class PodDeploymentPathMetadata {
 		return podPath;
 	}
 
-	private String getPodPath(String imageMetaData) {
-		String podPath = null;
-		if ((podPath = matchFirstGroup(imageMetaData, PATTERN_REDHAT_DEPLOYMENTS_DIR)) == null
-				&& (podPath = matchFirstGroup(imageMetaData, PATTERN_JBOSS_DEPLOYMENTS_DIR)) == null) {
-			podPath = matchFirstGroup(imageMetaData, PATTERN_WOKRING_DIR);
-		}
-
-		return podPath;
-	}
-
-	private String matchFirstGroup(String imageStreamTag, Pattern pattern) {
-		Matcher matcher = pattern.matcher(imageStreamTag);
-		if (matcher.find() && matcher.groupCount() == 1) {
-			return matcher.group(1);
-		} else {
-			return null;
-		}
-	}
-
 }
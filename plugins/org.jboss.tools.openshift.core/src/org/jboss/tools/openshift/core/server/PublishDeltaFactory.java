@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.core.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.wst.server.core.IServer;
+import org.eclipse.wst.server.core.IServerLifecycleListener;
+import org.eclipse.wst.server.core.ServerCore;
+import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+
+/**
+ * Keeps track of what changed since a server was last synced to its pods so
+ * that a publish may only sync the files that changed.
+ *
+ * @see org.jboss.tools.openshift.internal.core.server.resources.ResourceChangePublisher
+ * @see org.jboss.tools.openshift.core.server.behavior.OpenShiftPublishController
+ */
+public class PublishDeltaFactory {
+
+	public static final PublishDeltaFactory INSTANCE = new PublishDeltaFactory();
+
+	private Map<String, PublishDelta> deltas = new ConcurrentHashMap<>();
+
+	private PublishDeltaFactory() {
+	}
+
+	public PublishDelta get(IServer server) {
+		return deltas.computeIfAbsent(server.getId(), id -> {
+			onServerDeleted(server);
+			return new PublishDelta();
+		});
+	}
+
+	private void onServerDeleted(final IServer cachedServer) {
+		ServerCore.addServerLifecycleListener(new IServerLifecycleListener() {
+
+			@Override
+			public void serverAdded(IServer server) {
+				// NOP
+			}
+
+			@Override
+			public void serverChanged(IServer server) {
+				// NOP
+			}
+
+			@Override
+			public void serverRemoved(IServer server) {
+				if (!cachedServer.equals(server)) {
+					return;
+				}
+				deltas.remove(server.getId());
+				ServerCore.removeServerLifecycleListener(this);
+			}
+
+		});
+	}
+
+	public static class PublishDelta {
+
+		/** the locations of the workspace resources that changed */
+		private final Set<IPath> changes = new HashSet<>();
+		/** local deployment file (relative path) -> length and timestamp, when it was last synced */
+		private Map<String, String> syncedFiles;
+		/** the pods that the local deployment was last synced to */
+		private Collection<String> syncedPods;
+
+		/**
+		 * Adds the given changed workspace resources.
+		 */
+		public synchronized void addChanges(Collection<IResource> resources) {
+			resources.stream()
+				.map(IResource::getLocation)
+				.filter(Objects::nonNull)
+				.forEach(changes::add);
+		}
+
+		/**
+		 * Returns and forgets the locations of the workspace resources that
+		 * changed since this method was last called.
+		 */
+		public synchronized Collection<IPath> takeChanges() {
+			List<IPath> taken = new ArrayList<>(changes);
+			changes.clear();
+			return taken;
+		}
+
+		/**
+		 * Returns {@code true} if the local deployment was synced to the given
+		 * pods (and only to those) before.
+		 */
+		public synchronized boolean isSyncedTo(Collection<String> pods) {
+			return syncedFiles != null
+					&& syncedPods != null
+					&& pods != null
+					&& new HashSet<>(syncedPods).equals(new HashSet<>(pods));
+		}
+
+		/**
+		 * Returns the files in the given local deployment folder that were added
+		 * or changed since it was last synced.
+		 *
+		 * @return the relative paths of the changed files or {@code null} if files
+		 *         were removed or the folder was never synced
+		 */
+		public synchronized Collection<String> getChangedFiles(File localFolder) {
+			if (syncedFiles == null) {
+				return null;
+			}
+			Map<String, String> files = getFiles(localFolder);
+			if (files == null
+					|| !files.keySet().containsAll(syncedFiles.keySet())) {
+				return null;
+			}
+			return files.entrySet().stream()
+					.filter(file -> !file.getValue().equals(syncedFiles.get(file.getKey())))
+					.map(Map.Entry::getKey)
+					.collect(Collectors.toList());
+		}
+
+		/**
+		 * Remembers that the given local folder was synced to the given pods.
+		 */
+		public synchronized void synced(File localFolder, Collection<String> pods) {
+			this.syncedFiles = getFiles(localFolder);
+			this.syncedPods = pods == null ? null : new ArrayList<>(pods);
+		}
+
+		/**
+		 * Forgets the last sync so that the next publish syncs all files.
+		 */
+		public synchronized void reset() {
+			this.syncedFiles = null;
+			this.syncedPods = null;
+		}
+
+		private static Map<String, String> getFiles(File folder) {
+			if (folder == null
+					|| !folder.isDirectory()) {
+				return null;
+			}
+			Path root = folder.toPath();
+			Map<String, String> files = new HashMap<>();
+			try (Stream<Path> paths = Files.walk(root)) {
+				paths.map(Path::toFile)
+					.filter(File::isFile)
+					.forEach(file -> files.put(
+							root.relativize(file.toPath()).toString().replace(File.separatorChar, '/'),
+							file.length() + ":" + file.lastModified()));
+				return files;
+			} catch (IOException | UncheckedIOException e) {
+				OpenShiftCoreActivator.logError("Could not list the files in " + folder.getAbsolutePath(), e);
+				return null;
+			}
+		}
+	}
+}
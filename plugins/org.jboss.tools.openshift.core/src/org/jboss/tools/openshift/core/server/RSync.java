@@ -16,8 +16,20 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
@@ -30,6 +42,7 @@ import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
 import org.jboss.tools.openshift.internal.core.ocbinary.OCBinaryOperation;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
+import com.openshift.restclient.OpenShiftContext;
 import com.openshift.restclient.OpenShiftException;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.capability.CapabilityVisitor;
@@ -44,12 +57,28 @@ import com.openshift.restclient.model.IResource;
 
 public class RSync {
 
+	public static final String PARALLELISM_KEY = "org.jboss.tools.openshift.core.rsync.parallelism";
+
+	/**
+	 * The maximum number of pods that a local folder is synced to concurrently.
+	 * Pods are synced one after another if {@code 1}.
+	 */
+	private static final int PARALLELISM = Integer.getInteger(PARALLELISM_KEY, 4);
+
 	private static final String POD_STATUS_RUNNING = "Running";
 
+	private static final ExecutorService LOG_WRITERS = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "OpenShift rsync output writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private final IResource resource;
 	private final String podPath;
 	private final IServer server;
 	private Connection connection;
+	/** the pods that this rsync syncs to, listed once */
+	private List<IPod> pods;
 
 	public RSync(final IResource resource, final String podPath, final IServer server) {
 		this.resource = resource;
@@ -64,15 +93,10 @@ public class RSync {
 		new OCBinaryOperation() {
 			@Override
 			protected void runOCBinary() {
-				List<IPod> pods = ResourceUtils.getPodsFor(resource,
-						connection.getResources(ResourceKind.POD, resource.getNamespaceName()));
-				for (IPod pod : pods) {
-					try {
-						syncPodToDirectory(pod, localFolder, podPath, consoleWriter);
-					} catch (OpenShiftException e) {
-						status.add(new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID, e.getMessage()));
-					}
-				}
+				List<IPod> pods = getPods();
+				// all pods sync into the same folder, syncing them concurrently would race
+				syncPods(pods, 1, status,
+						(pod, prefix) -> syncPodToDirectory(pod, localFolder, podPath, consoleWriter, prefix));
 			}
 		}.run(connection);
 		return status;
@@ -85,43 +109,198 @@ public class RSync {
 
 			@Override
 			protected void runOCBinary() {
-				List<IPod> pods = ResourceUtils.getPodsFor(resource,
-						connection.getResources(ResourceKind.POD, resource.getNamespaceName()));
-				for (IPod pod : pods) {
-					try {
-						syncDirectoryToPod(pod, localFolder, podPath, consoleWriter);
-					} catch (OpenShiftException e) {
-						status.add(new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID, e.getMessage()));
-					}
-				}
+				List<IPod> pods = getPods();
+				syncPods(pods, PARALLELISM, status,
+						(pod, prefix) -> syncDirectoryToPod(pod, localFolder, podPath, consoleWriter, prefix));
 			}
 		}.run(connection);
 		return status;
 	}
 
-	private void syncPodToDirectory(IPod pod, File localFolder, String podPath, final IServerConsoleWriter consoleWriter) {
+	/**
+	 * Syncs the given files of the given local folder to all pods. Other files in
+	 * the pods are left untouched.
+	 * 
+	 * @param localFolder
+	 *            the folder that contains the files
+	 * @param files
+	 *            the paths of the files, relative to the local folder
+	 */
+	public MultiStatus syncFilesToPods(File localFolder, Collection<String> files,
+			final IServerConsoleWriter consoleWriter) {
+		final MultiStatus status = new MultiStatus(OpenShiftCoreActivator.PLUGIN_ID, IStatus.OK,
+				NLS.bind("Could not sync changed files in folder {0} to all pods.", localFolder.getAbsolutePath()),
+				null);
+		Path staging = null;
+		try {
+			staging = stageFiles(localFolder, files);
+			File stagingFolder = staging.toFile();
+			new OCBinaryOperation() {
+
+				@Override
+				protected void runOCBinary() {
+					List<IPod> pods = getPods();
+					syncPods(pods, PARALLELISM, status,
+							(pod, prefix) -> sync(new LocalPeer(sanitizePath(stagingFolder.getAbsolutePath())),
+									new PodPeer(podPath, pod),
+									pod,
+									consoleWriter,
+									prefix,
+									IRSyncable.NO_PERMS,
+									IBinaryCapability.SKIP_TLS_VERIFY));
+				}
+			}.run(connection);
+		} catch (IOException e) {
+			status.add(new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID,
+					NLS.bind("Could not copy the changed files in folder {0}", localFolder.getAbsolutePath()), e));
+		} finally {
+			deleteStaging(staging);
+		}
+		return status;
+	}
+
+	/**
+	 * Returns keys for the pods that this rsync syncs to. A key changes if its
+	 * pod is replaced but not if it is updated (ex. its status).
+	 */
+	public List<String> getPodKeys() {
+		return getPods().stream()
+				.map(pod -> pod.getName() + "@" + pod.getUID())
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the pods that this rsync syncs to. They are listed once so that
+	 * all syncs of this rsync go to the same pods.
+	 */
+	private synchronized List<IPod> getPods() {
+		if (pods == null) {
+			this.pods = ResourceUtils.getPodsFor(resource,
+					connection.getResources(ResourceKind.POD, resource.getNamespaceName()));
+		}
+		return pods;
+	}
+
+	/**
+	 * Copies the given files into a temporary folder, keeping their relative
+	 * paths.
+	 */
+	private Path stageFiles(File localFolder, Collection<String> files) throws IOException {
+		Path staging = Files.createTempDirectory("openshift-rsync");
+		for (String file : files) {
+			Path target = staging.resolve(file);
+			Files.createDirectories(target.getParent());
+			Files.copy(new File(localFolder, file).toPath(), target, StandardCopyOption.COPY_ATTRIBUTES);
+		}
+		return staging;
+	}
+
+	private void deleteStaging(Path staging) {
+		if (staging == null) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(staging)) {
+			paths.sorted(Comparator.reverseOrder())
+				.map(Path::toFile)
+				.forEach(File::delete);
+		} catch (IOException e) {
+			OpenShiftCoreActivator.logError("Could not delete temporary folder " + staging, e);
+		}
+	}
+
+	/**
+	 * Syncs the given pods with at most the given number of concurrent syncs and
+	 * adds an error status for each pod that failed to the given multi status.
+	 * The console output of each pod is prefixed with the name of the pod if
+	 * there are several pods.
+	 */
+	private void syncPods(List<IPod> pods, int parallelism, MultiStatus status, BiConsumer<IPod, String> podSync) {
+		boolean prefixed = pods.size() > 1;
+		int threads = Math.min(parallelism, pods.size());
+		if (threads <= 1) {
+			for (IPod pod : pods) {
+				IStatus podStatus = syncPod(pod, prefixed, podSync);
+				if (!podStatus.isOK()) {
+					status.add(podStatus);
+				}
+			}
+			return;
+		}
+		// the binary location is only known to the context of the calling thread
+		String location = OpenShiftContext.get().get(IBinaryCapability.OPENSHIFT_BINARY_LOCATION);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<IStatus>> results = new ArrayList<>(pods.size());
+			for (IPod pod : pods) {
+				results.add(executor.submit(() -> {
+					OpenShiftContext.get().put(IBinaryCapability.OPENSHIFT_BINARY_LOCATION, location);
+					return syncPod(pod, prefixed, podSync);
+				}));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				IStatus podStatus = getStatus(results.get(i), pods.get(i));
+				if (!podStatus.isOK()) {
+					status.add(podStatus);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private IStatus syncPod(IPod pod, boolean prefixed, BiConsumer<IPod, String> podSync) {
+		try {
+			podSync.accept(pod, prefixed ? "[" + pod.getName() + "] " : "");
+			return Status.OK_STATUS;
+		} catch (OpenShiftException e) {
+			return createErrorStatus(pod, e.getMessage(), null);
+		}
+	}
+
+	private IStatus getStatus(Future<IStatus> result, IPod pod) {
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return createErrorStatus(pod, "Interrupted while syncing", e);
+		} catch (ExecutionException e) {
+			return createErrorStatus(pod, e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	private IStatus createErrorStatus(IPod pod, String message, Throwable e) {
+		return new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID,
+				NLS.bind("Could not sync pod {0}: {1}", pod.getName(), message), e);
+	}
+
+	private void syncPodToDirectory(IPod pod, File localFolder, String podPath, final IServerConsoleWriter consoleWriter,
+			String prefix) {
 		localFolder.mkdirs();
 		sync(new PodPeer(podPath, pod),
 				new LocalPeer(sanitizePath(localFolder.getAbsolutePath())),
 				pod,
 				consoleWriter,
+				prefix,
 				IRSyncable.exclude(".git", ".npm"),
 				IRSyncable.NO_PERMS,
 				IBinaryCapability.SKIP_TLS_VERIFY);
 	}
 
-	private void syncDirectoryToPod(final IPod pod, final File localFolder, String podPath, final IServerConsoleWriter consoleWriter) {
+	private void syncDirectoryToPod(final IPod pod, final File localFolder, String podPath,
+			final IServerConsoleWriter consoleWriter, String prefix) {
 		sync(new LocalPeer(sanitizePath(localFolder.getAbsolutePath())),
 				new PodPeer(podPath, pod),
 				pod,
 				consoleWriter,
+				prefix,
 				IRSyncable.exclude(".git", ".npm"),
 				IRSyncable.NO_PERMS,
 				IRSyncable.DELETE,
 				IBinaryCapability.SKIP_TLS_VERIFY);
 	}
 
-	private void sync(final Peer source, final Peer destination, final IPod pod, final IServerConsoleWriter consoleWriter, OpenShiftBinaryOption... options) {
+	private void sync(final Peer source, final Peer destination, final IPod pod,
+			final IServerConsoleWriter consoleWriter, String prefix, OpenShiftBinaryOption... options) {
 		if (!POD_STATUS_RUNNING.equals(pod.getStatus())) {
 			return;
 		}
@@ -129,7 +308,7 @@ public class RSync {
 			@Override
 			public IRSyncable visit(IRSyncable rsyncable) {
 				final InputStream syncStream = rsyncable.sync(source, destination, options);
-				asyncWriteLogs(syncStream, consoleWriter);
+				asyncWriteLogs(syncStream, consoleWriter, prefix);
 				try {
 					rsyncable.await();
 				} catch (InterruptedException e) {
@@ -150,14 +329,17 @@ public class RSync {
 	 *            the {@link InputStream} to read from
 	 * @param outputStream
 	 *            the {@link OutputStream} to write into
+	 * @param prefix
+	 *            the prefix for each line of the logs
 	 */
-	private void asyncWriteLogs(final InputStream syncStream, final IServerConsoleWriter consoleWriter) {
-		Executors.newSingleThreadExecutor().execute(() -> {
+	private void asyncWriteLogs(final InputStream syncStream, final IServerConsoleWriter consoleWriter,
+			final String prefix) {
+		LOG_WRITERS.execute(() -> {
 			try {
 				try (final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(syncStream));) {
 					String line;
 					while ((line = bufferedReader.readLine()) != null) {
-						consoleWriter.writeToShell(RSync.this.server.getId(), new String[] { line });
+						consoleWriter.writeToShell(RSync.this.server.getId(), new String[] { prefix + line });
 					}
 				}
 			} catch (IOException e) {
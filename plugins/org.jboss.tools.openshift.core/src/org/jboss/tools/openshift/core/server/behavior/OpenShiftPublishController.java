@@ -11,14 +11,20 @@
 package org.jboss.tools.openshift.core.server.behavior;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
+import java.util.Collection;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
@@ -36,6 +42,8 @@ import org.jboss.tools.openshift.common.core.utils.StringUtils;
 import org.jboss.tools.openshift.core.server.OpenShiftServerUtils;
 import org.jboss.tools.openshift.core.server.OutputNamesCacheFactory;
 import org.jboss.tools.openshift.core.server.OutputNamesCacheFactory.OutputNamesCache;
+import org.jboss.tools.openshift.core.server.PublishDeltaFactory;
+import org.jboss.tools.openshift.core.server.PublishDeltaFactory.PublishDelta;
 import org.jboss.tools.openshift.core.server.RSync;
 import org.jboss.tools.openshift.core.server.behavior.eap.OpenshiftEapProfileDetector;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
@@ -44,28 +52,69 @@ import com.openshift.restclient.model.IResource;
 
 public class OpenShiftPublishController extends StandardFileSystemPublishController implements IPublishController {
 
+	public static final String INCREMENTAL_PUBLISH_KEY = "org.jboss.tools.openshift.core.publish.incremental";
+
+	/**
+	 * If {@code true} (default) a publish that follows changes in the workspace
+	 * only syncs the files that changed to the pods and does not sync the pods to
+	 * the local folder before. All files are synced if files were removed or the
+	 * pods changed since the last publish. A full sync first syncs the pods to
+	 * the local folder so that it does not delete the files that were created in
+	 * the pods.
+	 */
+	private static final boolean INCREMENTAL_PUBLISH = Boolean
+			.parseBoolean(System.getProperty(INCREMENTAL_PUBLISH_KEY, Boolean.TRUE.toString()));
+
+	private boolean incremental;
+	private Collection<String> pods;
+	/** the rsync of the current publish, it lists the pods once */
+	private RSync rsync;
+
 	@Override
 	public void publishStart(final IProgressMonitor monitor) throws CoreException {
 		IServer server = getServer();
 
 		final File localDirectory = getDeploymentsRootFolder();
 		final IProject deployProject = OpenShiftServerUtils.checkedGetDeployProject(server);
+		PublishDelta delta = PublishDeltaFactory.INSTANCE.get(server);
+		Collection<IPath> changes = delta.takeChanges();
+		this.rsync = createRsync(server, monitor);
+		this.pods = rsync.getPodKeys();
+		this.incremental = isIncrementalPublish()
+				&& !changes.isEmpty()
+				&& !hasRemovals(changes)
+				&& delta.isSyncedTo(pods);
 		// If the magic project is *also* a module on the server, do nothing
 		if (!modulesIncludesMagicProject(server, deployProject)) {
-			publishRootModule(monitor, deployProject, localDirectory);
+			publishRootModule(monitor, deployProject, localDirectory, incremental ? changes : null);
 		}
 
-		syncPodsToDirectory(monitor);
+		if (!incremental) {
+			syncPodsToDirectory(monitor);
+		}
 		deleteOldDeployments(getServer(), monitor);
 	}
 
-	private void publishRootModule(final IProgressMonitor monitor, final IProject deployProject, final File localDirectory)
-			throws CoreException {
+	/**
+	 * Returns {@code true} if one of the given changed locations no longer
+	 * exists. Removals require a full sync.
+	 */
+	private boolean hasRemovals(Collection<IPath> changes) {
+		return changes.stream()
+				.anyMatch(change -> !change.toFile().exists());
+	}
+
+	private void publishRootModule(final IProgressMonitor monitor, final IProject deployProject, final File localDirectory,
+			Collection<IPath> changes) throws CoreException {
 		// The project not also a module, so let's see if there exists a module at all
 		IModule projectModule = OpenShiftServerUtils.findProjectModule(deployProject);
 		if (projectModule == null) {
 			// This project is not a module, so we'll do a simple copy
-			publishMagicProjectSimpleCopy(getServer(), localDirectory);
+			if (changes == null) {
+				publishMagicProjectSimpleCopy(getServer(), localDirectory);
+			} else {
+				publishMagicProjectChanges(getServer(), localDirectory, changes);
+			}
 		} else {
 			// This is a project-module which must be assembled and published (ie dynamic
 			// web, ear project, etc)
@@ -83,16 +132,54 @@ public class OpenShiftPublishController extends StandardFileSystemPublishControl
 					.errorStatus(NLS.bind("Server {0} could not determine the source to publish.", server.getName())));
 		}
 		File source = new File(sourcePath);
-		FileUtils.copyDir(source, localDeploymentDirectory, true, true, true, file -> {
-				String filename = file.getName();
-				return !filename.endsWith(".git") 
-						&& !filename.endsWith(".gitignore") 
-						&& !filename.endsWith(".svn")
-						&& !filename.endsWith(".settings") 
-						&& !filename.endsWith(".project")
-						&& !filename.endsWith(".classpath");
+		FileUtils.copyDir(source, localDeploymentDirectory, true, true, true, this::isPublished);
+	}
+
+	private boolean isPublished(File file) {
+		String filename = file.getName();
+		return !filename.endsWith(".git") 
+				&& !filename.endsWith(".gitignore") 
+				&& !filename.endsWith(".svn")
+				&& !filename.endsWith(".settings") 
+				&& !filename.endsWith(".project")
+				&& !filename.endsWith(".classpath");
+	}
+
+	/**
+	 * Copies the given changed files and folders of the magic project to the
+	 * local deployment directory and removes the ones that no longer exist.
+	 */
+	private void publishMagicProjectChanges(IServer server, File localDeploymentDirectory,
+			Collection<IPath> changes) throws CoreException {
+		String sourcePath = OpenShiftServerUtils.getSourcePath(server);
+		if (StringUtils.isEmpty(sourcePath)) {
+			throw new CoreException(OpenShiftCoreActivator.statusFactory()
+					.errorStatus(NLS.bind("Server {0} could not determine the source to publish.", server.getName())));
+		}
+		IPath source = new Path(sourcePath);
+		for (IPath change : changes) {
+			IPath relative = change.makeRelativeTo(source);
+			if (!source.isPrefixOf(change)
+					|| !Arrays.stream(relative.segments()).map(File::new).allMatch(this::isPublished)) {
+				continue;
 			}
-		);
+			File from = change.toFile();
+			File to = new File(localDeploymentDirectory, relative.toOSString());
+			try {
+				if (!from.exists()) {
+					FileUtils.remove(to);
+				} else if (from.isDirectory()) {
+					to.mkdirs();
+				} else {
+					Files.createDirectories(to.getParentFile().toPath());
+					Files.copy(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING,
+							StandardCopyOption.COPY_ATTRIBUTES);
+				}
+			} catch (IOException e) {
+				throw new CoreException(OpenShiftCoreActivator.statusFactory()
+						.errorStatus(NLS.bind("Could not publish {0} to {1}.", from, to), e));
+			}
+		}
 	}
 
 	private boolean modulesIncludesMagicProject(IServer server, IProject deployProject) {
@@ -112,7 +199,15 @@ public class OpenShiftPublishController extends StandardFileSystemPublishControl
 	public void publishFinish(IProgressMonitor monitor) throws CoreException {
 		super.publishFinish(monitor);
 
-		syncDirectoryToPods(monitor);
+		try {
+			if (incremental) {
+				syncChangesToPods(monitor);
+			} else {
+				syncDirectoryToPods(monitor);
+			}
+		} finally {
+			this.rsync = null;
+		}
 
 		final IResource resource = OpenShiftServerUtils.getResource(getServer(), monitor);
 		loadPodPathIfEmpty(resource, monitor);
@@ -123,11 +218,45 @@ public class OpenShiftPublishController extends StandardFileSystemPublishControl
 	}
 
 	protected void syncDirectoryToPods(final File localFolder, IProgressMonitor monitor) throws CoreException {
-		RSync rsync = createRsync(getServer(), monitor);
-		MultiStatus status = rsync.syncDirectoryToPods(localFolder, ServerConsoleModel.getDefault().getConsoleWriter());
+		PublishDelta delta = PublishDeltaFactory.INSTANCE.get(getServer());
+		MultiStatus status = getRsync(monitor).syncDirectoryToPods(localFolder, ServerConsoleModel.getDefault().getConsoleWriter());
 		if (!status.isOK()) {
+			delta.reset();
 			throw new CoreException(status);
 		}
+		delta.synced(localFolder, pods);
+	}
+
+	/**
+	 * Syncs the files that changed in the local deployment folder since the
+	 * last sync to the pods. Syncs the pods to the local folder and then all
+	 * files to the pods if files were removed.
+	 */
+	protected void syncChangesToPods(IProgressMonitor monitor) throws CoreException {
+		File localFolder = getDeploymentsRootFolder();
+		PublishDelta delta = PublishDeltaFactory.INSTANCE.get(getServer());
+		Collection<String> files = delta.getChangedFiles(localFolder);
+		if (files == null) {
+			// only a full sync removes files in the pods, don't remove the ones that were created in the pods
+			syncPodsToDirectory(localFolder, monitor);
+			syncDirectoryToPods(localFolder, monitor);
+			return;
+		}
+		if (!files.isEmpty()) {
+			MultiStatus status = getRsync(monitor).syncFilesToPods(localFolder, files,
+					ServerConsoleModel.getDefault().getConsoleWriter());
+			if (!status.isOK()) {
+				delta.reset();
+				throw new CoreException(status);
+			}
+		}
+		delta.synced(localFolder, pods);
+	}
+
+	protected boolean isIncrementalPublish() {
+		// eap deployments rely on the markers that are synced from the pods
+		return INCREMENTAL_PUBLISH
+				&& !isEapProfile();
 	}
 
 	protected void syncPodsToDirectory(IProgressMonitor monitor) throws CoreException {
@@ -135,8 +264,7 @@ public class OpenShiftPublishController extends StandardFileSystemPublishControl
 	}
 
 	protected void syncPodsToDirectory(final File localFolder, IProgressMonitor monitor) throws CoreException {
-		RSync rsync = createRsync(getServer(), monitor);
-		MultiStatus status = rsync.syncPodsToDirectory(localFolder, ServerConsoleModel.getDefault().getConsoleWriter());
+		MultiStatus status = getRsync(monitor).syncPodsToDirectory(localFolder, ServerConsoleModel.getDefault().getConsoleWriter());
 		if (!status.isOK()) {
 			throw new CoreException(status);
 		}
@@ -185,6 +313,16 @@ public class OpenShiftPublishController extends StandardFileSystemPublishControl
 		return OpenShiftServerUtils.createRSync(server, monitor);
 	}
 
+	/**
+	 * Returns the rsync of the current publish or a new one if there's none.
+	 */
+	private RSync getRsync(final IProgressMonitor monitor) throws CoreException {
+		if (rsync == null) {
+			return createRsync(getServer(), monitor);
+		}
+		return rsync;
+	}
+
 	protected boolean isSyncDownFailureCritical() {
 		return !isEapProfile();
 	}
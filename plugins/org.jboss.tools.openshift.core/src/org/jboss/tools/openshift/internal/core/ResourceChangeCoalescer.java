@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jboss.tools.openshift.common.core.connection.ConnectionChange;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
+import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+
+import com.openshift.restclient.model.IResource;
+
+/**
+ * Collects the resource changes of a connection during a time window and
+ * notifies them as one batch. Several changes to the same resource are merged
+ * into a single change from the first old version to the latest version, a
+ * resource that is added and deleted within the window is not notified at all.
+ * 
+ * @see ConnectionsRegistrySingleton#fireConnectionChanged(org.jboss.tools.openshift.common.core.connection.IConnection,
+ *      List)
+ */
+class ResourceChangeCoalescer {
+
+	private final IOpenShiftConnection connection;
+	private final long window;
+	/** resource key -> [old version, new version], in the order of the first change */
+	private final Map<String, IResource[]> pending = new LinkedHashMap<>();
+	/** serializes the notifications so that batches are delivered in order */
+	private final Object notifying = new Object();
+	private final Job job;
+
+	ResourceChangeCoalescer(IOpenShiftConnection connection, long window) {
+		this.connection = connection;
+		this.window = window;
+		this.job = new Job("Notifying resource changes for " + connection.getHost()) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				flush();
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+	}
+
+	/**
+	 * Adds the given change and schedules the notification if it is the first
+	 * change of the window.
+	 */
+	void add(IResource oldItem, IResource newItem) {
+		IResource resource = newItem != null ? newItem : oldItem;
+		if (resource == null) {
+			return;
+		}
+		boolean schedule;
+		synchronized (pending) {
+			schedule = pending.isEmpty();
+			String key = getKey(resource);
+			IResource[] change = pending.get(key);
+			if (change == null) {
+				pending.put(key, new IResource[] { oldItem, newItem });
+			} else if (change[0] == null && newItem == null) {
+				// added and removed within the window
+				pending.remove(key);
+			} else {
+				change[1] = newItem;
+			}
+		}
+		if (schedule) {
+			job.schedule(window);
+		}
+	}
+
+	/**
+	 * Notifies all pending changes at once. Concurrent flushes (by the job and
+	 * by {@link WatchManager#flushChanges(IOpenShiftConnection)}) are
+	 * serialized so that the batches are notified in the order of their
+	 * changes.
+	 */
+	void flush() {
+		synchronized (notifying) {
+			List<ConnectionChange> changes;
+			synchronized (pending) {
+				if (pending.isEmpty()) {
+					return;
+				}
+				changes = new ArrayList<>(pending.size());
+				for (IResource[] change : pending.values()) {
+					changes.add(new ConnectionChange(ConnectionProperties.PROPERTY_RESOURCE, change[0], change[1]));
+				}
+				pending.clear();
+			}
+			ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(connection, changes);
+		}
+	}
+
+	/**
+	 * Drops the pending changes.
+	 */
+	void cancel() {
+		job.cancel();
+		synchronized (pending) {
+			pending.clear();
+		}
+	}
+
+	private static String getKey(IResource resource) {
+		return resource.getKind() + "/" + resource.getNamespaceName() + "/" + resource.getName();
+	}
+}
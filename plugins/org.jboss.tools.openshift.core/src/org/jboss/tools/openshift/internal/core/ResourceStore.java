@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.openshift.restclient.model.IResource;
+
+/**
+ * A concurrent store of the resources that are watched for a connection. The
+ * resources are indexed by namespace, kind and name so that adding, updating
+ * and removing a resource does not depend on the number of stored resources.
+ * <p>
+ * The store is populated by the {@link WatchManager}, clients may only query
+ * it.
+ *
+ * @see WatchManager#getStore(org.jboss.tools.openshift.core.connection.IOpenShiftConnection)
+ */
+public class ResourceStore {
+
+	/** namespace -> kind -> name -> resource */
+	private final Map<String, Map<String, Map<String, IResource>>> resources = new ConcurrentHashMap<>();
+
+	/** namespace/kind that were listed and are kept in sync by a running watch */
+	private final Set<String> synced = ConcurrentHashMap.newKeySet();
+
+	ResourceStore() {
+	}
+
+	/**
+	 * Returns the resource of the given namespace, kind and name.
+	 *
+	 * @return the resource or {@code null} if it is not stored
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends IResource> T get(String namespace, String kind, String name) {
+		Map<String, IResource> byName = getByName(namespace, kind);
+		if (byName == null) {
+			return null;
+		}
+		return (T) byName.get(normalize(name));
+	}
+
+	/**
+	 * Returns an unmodifiable snapshot of the resources of the given kind in the
+	 * given namespace.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends IResource> List<T> getResources(String namespace, String kind) {
+		Map<String, IResource> byName = getByName(namespace, kind);
+		if (byName == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(new ArrayList<>((Collection<T>) byName.values()));
+	}
+
+	/**
+	 * Returns an unmodifiable snapshot of the resources of the given kind in
+	 * all namespaces.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends IResource> List<T> getResources(String kind) {
+		List<T> all = new ArrayList<>();
+		for (Map<String, Map<String, IResource>> byKind : resources.values()) {
+			Map<String, IResource> byName = byKind.get(normalize(kind));
+			if (byName != null) {
+				all.addAll((Collection<T>) byName.values());
+			}
+		}
+		return Collections.unmodifiableList(all);
+	}
+
+	/**
+	 * Returns {@code true} if the resources of the given kind in the given
+	 * namespace were listed and are kept up to date by a watch. Resources that
+	 * are not synced may be incomplete or outdated.
+	 */
+	public boolean isSynced(String namespace, String kind) {
+		return synced.contains(getSyncKey(namespace, kind));
+	}
+
+	/**
+	 * Stores the given resource.
+	 *
+	 * @return the resource that was stored before or {@code null}
+	 */
+	IResource put(IResource resource) {
+		return resources.computeIfAbsent(normalize(resource.getNamespaceName()), n -> new ConcurrentHashMap<>())
+				.computeIfAbsent(normalize(resource.getKind()), k -> new ConcurrentHashMap<>())
+				.put(normalize(resource.getName()), resource);
+	}
+
+	/**
+	 * Removes the given resource.
+	 *
+	 * @return the resource that was stored or {@code null}
+	 */
+	IResource remove(IResource resource) {
+		Map<String, IResource> byName = getByName(resource.getNamespaceName(), resource.getKind());
+		if (byName == null) {
+			return null;
+		}
+		return byName.remove(normalize(resource.getName()));
+	}
+
+	/**
+	 * Replaces the resources of the given kind in the given namespace by the
+	 * given ones. The new resources are swapped in at once so that readers
+	 * either get the former or the new ones.
+	 *
+	 * @return the resources that were stored before
+	 */
+	List<IResource> replace(String namespace, String kind, Collection<IResource> replacements) {
+		Map<String, IResource> byName = new ConcurrentHashMap<>();
+		replacements.forEach(resource -> byName.put(normalize(resource.getName()), resource));
+		Map<String, IResource> previous = resources.computeIfAbsent(normalize(namespace), n -> new ConcurrentHashMap<>())
+				.put(normalize(kind), byName);
+		if (previous == null) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(previous.values());
+	}
+
+	/**
+	 * Removes all resources of the given namespace.
+	 */
+	void clear(String namespace) {
+		resources.remove(normalize(namespace));
+		synced.removeIf(key -> key.startsWith(normalize(namespace) + "/"));
+	}
+
+	/**
+	 * Marks the resources of the given kind in the given namespace as kept in
+	 * sync (or not) by a watch. A {@code null} namespace marks the kind as not
+	 * synced in all namespaces.
+	 */
+	void setSynced(String namespace, String kind, boolean isSynced) {
+		if (namespace == null) {
+			if (!isSynced) {
+				String suffix = "/" + normalize(kind);
+				synced.removeIf(key -> key.endsWith(suffix));
+			}
+		} else if (isSynced) {
+			synced.add(getSyncKey(namespace, kind));
+		} else {
+			synced.remove(getSyncKey(namespace, kind));
+		}
+	}
+
+	private Map<String, IResource> getByName(String namespace, String kind) {
+		Map<String, Map<String, IResource>> byKind = resources.get(normalize(namespace));
+		if (byKind == null) {
+			return null;
+		}
+		return byKind.get(normalize(kind));
+	}
+
+	private String getSyncKey(String namespace, String kind) {
+		return normalize(namespace) + "/" + normalize(kind);
+	}
+
+	private static String normalize(String key) {
+		return StringUtils.defaultString(key);
+	}
+}
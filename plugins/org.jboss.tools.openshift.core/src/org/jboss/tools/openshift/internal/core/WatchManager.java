@@ -12,9 +12,13 @@ package org.jboss.tools.openshift.internal.core;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -33,7 +37,9 @@ import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.IOpenShiftWatchListener;
 import com.openshift.restclient.IWatcher;
+import com.openshift.restclient.OpenShiftException;
 import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.authorization.ResourceForbiddenException;
 import com.openshift.restclient.model.IProject;
 import com.openshift.restclient.model.IResource;
 
@@ -57,6 +63,47 @@ public class WatchManager {
 	private static final long BACKOFF_MILLIS = 5000;
 	private static final long BACKOFF_RESET = FIBONACCI[FIBONACCI.length - 1] * BACKOFF_MILLIS * 2;
 
+	public static final String RESUME_WATCHES_KEY = "org.jboss.tools.openshift.core.watch.resume";
+
+	/**
+	 * If {@code true} (default) a watch that failed is re-established without
+	 * refreshing the project. The resources that are listed when it reconnects
+	 * are reconciled against the stored ones and only the ones that were added,
+	 * removed or changed their resource version are notified. The project is
+	 * only refreshed if the server replies with 410 Gone.
+	 */
+	public static final boolean RESUME_WATCHES = Boolean
+			.parseBoolean(System.getProperty(RESUME_WATCHES_KEY, Boolean.TRUE.toString()));
+
+	public static final String MULTIPLEX_WATCHES_KEY = "org.jboss.tools.openshift.core.watch.multiplex";
+
+	/**
+	 * If {@code true} a single watch across all namespaces is opened per
+	 * connection and kind and its events are dispatched to the projects that are
+	 * watched. Kinds that the user may not watch cluster-wide fall back to a
+	 * watch per project.
+	 */
+	public static final boolean MULTIPLEX_WATCHES = Boolean.getBoolean(MULTIPLEX_WATCHES_KEY);
+
+	public static final String COALESCE_WINDOW_KEY = "org.jboss.tools.openshift.core.watch.coalesceWindow";
+
+	/**
+	 * The time (in ms) during which the resource changes that a connection
+	 * receives are collected and merged before they get notified as one batch.
+	 * Changes are notified one by one as they are received if {@code 0}.
+	 */
+	public static final long COALESCE_WINDOW = Long.getLong(COALESCE_WINDOW_KEY, 150);
+
+	/** the family of the jobs that start watches and list resources */
+	public static final String JOB_FAMILY = "org.jboss.tools.openshift.core.watch";
+
+	private static final String ALL_NAMESPACES = "";
+	private static final int STATUS_FORBIDDEN = 403;
+	private static final int STATUS_GONE = 410;
+
+	private final AtomicLong relists = new AtomicLong();
+	private final AtomicLong resumes = new AtomicLong();
+
 	/**
 	 * A map storing relation between Openshift projects and related watcher.
 	 * The String is computed from the Openshift project and it not the Openshift
@@ -65,6 +112,37 @@ public class WatchManager {
 	 */
 	private Map<WatchKey, AtomicReference<IWatcher>> watches = new ConcurrentHashMap<>();
 
+	/**
+	 * The listeners of the shared watches (connection and kind) that are
+	 * running.
+	 */
+	private Map<WatchKey, WatchListener> sharedListeners = new ConcurrentHashMap<>();
+
+	/**
+	 * The projects (by name) that are watched through the shared watches of a
+	 * connection.
+	 */
+	private Map<IOpenShiftConnection, Map<String, IProject>> subscriptions = new ConcurrentHashMap<>();
+
+	/**
+	 * The shared watches (connection and kind) that were denied by the server
+	 * and are replaced by watches per project.
+	 */
+	private Set<WatchKey> deniedSharedWatches = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The resources that are watched for each connection.
+	 */
+	private Map<IOpenShiftConnection, ResourceStore> stores = new ConcurrentHashMap<>();
+
+	/**
+	 * The resource changes that are pending for notification for each
+	 * connection.
+	 */
+	private Map<IOpenShiftConnection, ResourceChangeCoalescer> coalescers = new ConcurrentHashMap<>();
+
+	private volatile boolean multiplexWatches = MULTIPLEX_WATCHES;
+
 	private static class Holder {
 		static WatchManager instance = new WatchManager();
 	}
@@ -79,23 +157,205 @@ public class WatchManager {
 
 	public void stopWatch(IProject project, IOpenShiftConnection connection) {
 		for (String kind : KINDS) {
-			AtomicReference<IWatcher> watcherRef = watches.remove(new WatchKey(connection, project, kind));
-			if ((watcherRef != null) && (watcherRef.get() != null)) {
-				watcherRef.get().stop();
+			stopWatch(new WatchKey(connection, project, kind));
+		}
+		if (multiplexWatches && unsubscribe(project, connection)) {
+			for (String kind : KINDS) {
+				stopWatch(new WatchKey(connection, null, kind));
 			}
 		}
+		ResourceStore store = stores.get(connection);
+		if (store != null) {
+			store.clear(project.getName());
+		}
+	}
+
+	/**
+	 * Returns the store with the watched resources of the given connection.
+	 * Only the kinds and namespaces for which
+	 * {@link ResourceStore#isSynced(String, String)} is {@code true} are
+	 * complete and up to date.
+	 * 
+	 * @param connection
+	 * @return the store for the given connection
+	 */
+	public ResourceStore getStore(IOpenShiftConnection connection) {
+		return stores.computeIfAbsent(connection, c -> new ResourceStore());
+	}
+
+	/**
+	 * Notifies the resource changes of the given connection that are pending
+	 * right away instead of at the end of the coalescing window.
+	 */
+	public void flushChanges(IOpenShiftConnection connection) {
+		ResourceChangeCoalescer coalescer = coalescers.get(connection);
+		if (coalescer != null) {
+			coalescer.flush();
+		}
+	}
+
+	private void stopWatch(WatchKey key) {
+		sharedListeners.remove(key);
+		AtomicReference<IWatcher> watcherRef = watches.remove(key);
+		if ((watcherRef != null) && (watcherRef.get() != null)) {
+			watcherRef.get().stop();
+		}
 	}
 
 	public void startWatch(final IProject project, final IOpenShiftConnection connection) {
-		AtomicReference<IWatcher> watcherRef = new AtomicReference<>();
+		if (multiplexWatches) {
+			subscribe(project, connection);
+		}
 		for (String kind : KINDS) {
-			if (watches.putIfAbsent(new WatchKey(connection, project, kind), watcherRef) == null) {
-				WatchListener listener = new WatchListener(project, connection, kind, 0, 0);
-				startWatch(0, 0, listener);
+			if (isSharedWatch(connection, kind)) {
+				startSharedWatch(project, connection, kind);
+			} else {
+				startWatch(project, connection, kind);
+			}
+		}
+	}
+
+	private void startWatch(IProject project, IOpenShiftConnection connection, String kind) {
+		if (watches.putIfAbsent(new WatchKey(connection, project, kind), new AtomicReference<>()) == null) {
+			WatchListener listener = new WatchListener(project, connection, kind, 0, 0);
+			startWatch(0, 0, listener);
+		}
+	}
+
+	/**
+	 * Starts the watch that is shared by all projects of the given connection
+	 * for the given kind if it is not running yet. The resources of the given
+	 * project are stored once the watch connected. If it is running already,
+	 * they are listed separately since the watch only lists the resources of
+	 * the projects that were subscribed when it connected.
+	 */
+	private void startSharedWatch(IProject project, IOpenShiftConnection connection, String kind) {
+		WatchKey key = new WatchKey(connection, null, kind);
+		if (watches.putIfAbsent(key, new AtomicReference<>()) == null) {
+			WatchListener listener = new WatchListener(project, connection, kind, true);
+			sharedListeners.put(key, listener);
+			startWatch(0, 0, listener);
+		} else {
+			WatchListener listener = sharedListeners.get(key);
+			if (listener != null) {
+				listener.list(project);
 			}
 		}
 	}
 
+	private boolean isSharedWatch(IOpenShiftConnection connection, String kind) {
+		return multiplexWatches 
+				&& !ResourceKind.PROJECT.equals(kind)
+				&& !deniedSharedWatches.contains(new WatchKey(connection, null, kind));
+	}
+
+	/**
+	 * Replaces the shared watch for the given connection and kind by watches
+	 * for each of the subscribed projects.
+	 */
+	private void fallbackToProjectWatches(IOpenShiftConnection connection, String kind) {
+		WatchKey sharedKey = new WatchKey(connection, null, kind);
+		deniedSharedWatches.add(sharedKey);
+		sharedListeners.remove(sharedKey);
+		watches.remove(sharedKey);
+		Map<String, IProject> projects = subscriptions.get(connection);
+		if (projects == null) {
+			return;
+		}
+		Trace.info("Cannot watch kind {0} across all namespaces, watching {1} project(s) separately.", kind,
+				projects.size());
+		new ArrayList<>(projects.values()).forEach(project -> startWatch(project, connection, kind));
+	}
+
+	private void subscribe(IProject project, IOpenShiftConnection connection) {
+		subscriptions.computeIfAbsent(connection, c -> new ConcurrentHashMap<>()).put(project.getName(), project);
+	}
+
+	/**
+	 * Removes the given project from the projects that are watched through the
+	 * shared watches of the given connection.
+	 * 
+	 * @return {@code true} if no project remains for the connection.
+	 */
+	private boolean unsubscribe(IProject project, IOpenShiftConnection connection) {
+		Map<String, IProject> projects = subscriptions.get(connection);
+		if (projects == null) {
+			return true;
+		}
+		projects.remove(project.getName());
+		if (projects.isEmpty()) {
+			subscriptions.remove(connection, projects);
+			return true;
+		}
+		return false;
+	}
+
+	private boolean isSubscribed(IOpenShiftConnection connection, String namespace) {
+		Map<String, IProject> projects = subscriptions.get(connection);
+		return projects != null && namespace != null && projects.containsKey(namespace);
+	}
+
+	private Set<String> getSubscribedNamespaces(IOpenShiftConnection connection) {
+		Map<String, IProject> projects = subscriptions.get(connection);
+		if (projects == null) {
+			return Collections.emptySet();
+		}
+		return new HashSet<>(projects.keySet());
+	}
+
+	/**
+	 * Returns the number of watches that were restarted with a full relist of
+	 * their resources.
+	 * 
+	 * @return the number of relists
+	 */
+	public long getRelistCount() {
+		return relists.get();
+	}
+
+	/**
+	 * Returns the number of watches that were reconnected without a full
+	 * relist, reconciling their resources instead.
+	 * 
+	 * @return the number of resumes
+	 */
+	public long getResumeCount() {
+		return resumes.get();
+	}
+
+	/**
+	 * Returns {@code true} if the given error (or one of its causes) signals that
+	 * the resource version the watch was started from is too old (410 Gone).
+	 */
+	private static boolean isGone(Throwable err) {
+		return hasStatus(err, STATUS_GONE);
+	}
+
+	private static boolean isForbidden(Throwable err) {
+		for (Throwable t = err; t != null; t = t.getCause()) {
+			if (t instanceof ResourceForbiddenException) {
+				return true;
+			}
+		}
+		return hasStatus(err, STATUS_FORBIDDEN);
+	}
+
+	/**
+	 * Returns {@code true} if the given error (or one of its causes) is an
+	 * {@link OpenShiftException} with the given status code.
+	 */
+	private static boolean hasStatus(Throwable err, int code) {
+		for (Throwable t = err; t != null; t = t.getCause()) {
+			if (t instanceof OpenShiftException) {
+				OpenShiftException e = (OpenShiftException) t;
+				if (e.getStatus() != null && e.getStatus().getCode() == code) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	private void startWatch(int backoff, long lastConnect, WatchListener listener) {
 		if (listener == null)
 			return;
@@ -166,15 +426,27 @@ public class WatchManager {
 
 	public class WatchListener implements IOpenShiftWatchListener {
 
-		private static final int NOT_FOUND = -1;
-
 		private final IOpenShiftConnection conn;
 		private final IProject project;
 		private final String kind;
+		/**
+		 * {@code true} if this listener watches all namespaces and dispatches to
+		 * the subscribed projects
+		 */
+		private final boolean shared;
 		private int backoff = 0;
 		private long lastConnect = 0;
 		private AtomicReference<State> state = new AtomicReference<>(State.DISCONNECTED);
-		private List<IResource> resources = Collections.synchronizedList(new ArrayList<>());
+		private final ResourceStore store;
+		/**
+		 * {@code true} if the next {@link #connected(List)} resumes a watch that
+		 * failed and has to be reconciled against the stored resources
+		 */
+		private volatile boolean resuming = false;
+		/**
+		 * {@code true} if the watch listed its resources and did not fail since
+		 */
+		private volatile boolean listed = false;
 
 		/**
 		 * Used only for testing purposes
@@ -185,12 +457,23 @@ public class WatchManager {
 
 		protected WatchListener(IProject project, IOpenShiftConnection conn, String kind, int backoff,
 				long lastConnect) {
-			Trace.debug("WatchManager Adding WatchListener for {0} and kind {1}", project.getName(), kind);
+			this(project, conn, kind, false, backoff, lastConnect);
+		}
+
+		private WatchListener(IProject project, IOpenShiftConnection conn, String kind, boolean shared) {
+			this(project, conn, kind, shared, 0, 0);
+		}
+
+		private WatchListener(IProject project, IOpenShiftConnection conn, String kind, boolean shared, int backoff,
+				long lastConnect) {
+			Trace.debug("WatchManager Adding WatchListener for {0} and kind {1}", getScope(project, shared), kind);
 			this.project = project;
 			this.conn = conn;
 			this.backoff = backoff;
 			this.lastConnect = lastConnect;
 			this.kind = kind;
+			this.shared = shared;
+			this.store = getStore(conn);
 
 			if (System.currentTimeMillis() - lastConnect > BACKOFF_RESET) {
 				backoff = 0;
@@ -199,43 +482,192 @@ public class WatchManager {
 
 		}
 
+		/**
+		 * Returns the namespace that this listener stores resources for or
+		 * {@code null} if it watches all namespaces.
+		 */
+		private String getNamespace() {
+			return shared ? null : project.getName();
+		}
+
+		/**
+		 * Returns the namespaces that this listener stores resources for.
+		 */
+		private Set<String> getNamespaces() {
+			return shared ? getSubscribedNamespaces(conn) : Collections.singleton(project.getName());
+		}
+
+		private WatchKey getWatchKey() {
+			return new WatchKey(conn, shared ? null : project, kind);
+		}
+
+		private String getScope(IProject project, boolean shared) {
+			return shared ? "all namespaces" : project.getName();
+		}
+
+		private String getScope() {
+			return getScope(project, shared);
+		}
+
+		/**
+		 * Returns {@code true} if the given resource is of interest to this
+		 * listener. Shared listeners only dispatch the resources of the subscribed
+		 * projects.
+		 */
+		private boolean accept(IResource resource) {
+			return !shared || isSubscribed(conn, resource.getNamespaceName());
+		}
+
 		@Override
 		public void connected(List<IResource> resources) {
 			Trace.debug("WatchManager Endpoint connected to {0} with {1} resources", conn.toString(), resources.size());
-			this.resources.addAll(resources);
+			Set<String> namespaces = getNamespaces();
+			Map<String, List<IResource>> byNamespace;
+			if (shared) {
+				byNamespace = resources.stream()
+						.filter(resource -> namespaces.contains(resource.getNamespaceName()))
+						.collect(Collectors.groupingBy(IResource::getNamespaceName));
+			} else {
+				byNamespace = Collections.singletonMap(project.getName(), resources);
+			}
+			boolean reconcile = resuming;
+			resuming = false;
+			for (String namespace : namespaces) {
+				List<IResource> inNamespace = byNamespace.getOrDefault(namespace, Collections.emptyList());
+				if (reconcile) {
+					reconcile(namespace, inNamespace);
+				} else {
+					store.replace(namespace, kind, inNamespace);
+				}
+				store.setSynced(namespace, kind, true);
+			}
+			this.listed = true;
+		}
+
+		/**
+		 * Lists the resources of the given project that subscribed to this shared
+		 * watch after it connected. They are only synced once they were stored.
+		 */
+		private void list(IProject project) {
+			IClient client = getClientFor(project);
+			if (client == null) {
+				return;
+			}
+			new Job("OpenShift WatchManager Job") {
+
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					String namespace = project.getName();
+					try {
+						List<IResource> resources = client.list(kind, namespace);
+						if (listed
+								&& isSubscribed(conn, namespace)) {
+							store.replace(namespace, kind, resources);
+							store.setSynced(namespace, kind, true);
+						}
+					} catch (Exception e) {
+						Trace.warn("WatchManager Could not list kind {0} in project {1}", e, kind, namespace);
+					}
+					return Status.OK_STATUS;
+				}
+
+				@Override
+				public boolean belongsTo(Object family) {
+					return JOB_FAMILY.equals(family);
+				}
+
+			}.schedule();
+		}
+
+		/**
+		 * Reconciles the resources that were listed when the watch was resumed
+		 * with the ones that were known before it failed. Only the resources that
+		 * were added, removed or changed their resource version while the watch
+		 * was down are notified.
+		 */
+		private void reconcile(String namespace, List<IResource> listed) {
+			Map<String, IResource> known = new HashMap<>();
+			store.replace(namespace, kind, listed).forEach(r -> known.put(getKey(r), r));
+			int changes = 0;
+			for (IResource resource : listed) {
+				IResource oldItem = known.remove(getKey(resource));
+				if (oldItem == null) {
+					fireChanged(null, resource);
+					changes++;
+				} else if (!isSameVersion(oldItem, resource)) {
+					fireChanged(oldItem, resource);
+					changes++;
+				}
+			}
+			for (IResource removed : known.values()) {
+				fireChanged(removed, null);
+				changes++;
+			}
+			Trace.debug("WatchManager Resumed watch for project {0} and kind {1} with {2} change(s)",
+					namespace, kind, changes);
+		}
+
+		private String getKey(IResource resource) {
+			return resource.getNamespaceName() + "/" + resource.getKind() + "/" + resource.getName();
+		}
+
+		private boolean isSameVersion(IResource oldItem, IResource newItem) {
+			String oldVersion = oldItem.getResourceVersion();
+			return oldVersion != null && oldVersion.equals(newItem.getResourceVersion());
 		}
 
 		@Override
 		public void disconnected() {
 			Trace.debug("WatchManager Endpoint disconnected to {0}.", conn.toString());
 			state.set(State.DISCONNECTED);
+			this.listed = false;
+			store.setSynced(getNamespace(), kind, false);
 		}
 
 		@Override
 		public void error(Throwable err) {
 			Trace.warn("WatchManager Reconnecting. There was an error watching connection {0}: ", err, conn.toString());
-			restart();
+			this.listed = false;
+			store.setSynced(getNamespace(), kind, false);
+			restart(!RESUME_WATCHES || isGone(err));
 		}
 
-		private void restart() {
+		private void restart(boolean relist) {
 			if (State.DISCONNECTED.equals(state.get())) {
 				Trace.debug("Endpoint disconnected and skipping restart for project {0} and kind {1}",
-						project.getName(), kind);
+						getScope(), kind);
 				return;
 			} else if (State.STARTING.equals(state.get())) {
 				Trace.debug("Returning early from restart.  Already starting for project {0} and kind {1}",
-						project.getName(), kind);
+						getScope(), kind);
 			}
 			try {
-				// TODO enhance fix to only check project once
-				conn.refresh(project);
+				if (relist) {
+					if (!shared) {
+						// TODO enhance fix to only check project once
+						conn.refresh(project);
+					}
+					resuming = false;
+					long count = relists.incrementAndGet();
+					Trace.debug("WatchManager Relisting project {0} and kind {1} (relists: {2})",
+							getScope(), kind, count);
+				} else {
+					resuming = true;
+					long count = resumes.incrementAndGet();
+					Trace.debug("WatchManager Reconnecting project {0} and kind {1} and reconciling its resources (resumes: {2})",
+							getScope(), kind, count);
+				}
 				Trace.debug("WatchManager Rescheduling watch job for project {0} and kind {1}", 
-						project.getName(), kind);
+						getScope(), kind);
 				startWatch(backoff, lastConnect, this);
 			} catch (Exception e) {
 				Trace.debug("WatchManager Unable to rescheduling watch job for project {0} and kind {1}", 
-						e, project.getName(), kind);
-				stopWatch(project, conn);
+						e, getScope(), kind);
+				if (shared) {
+					stopWatch(getWatchKey());
+				} else {
+					stopWatch(project, conn);
+				}
 			}
 		}
 
@@ -247,34 +679,42 @@ public class WatchManager {
 				this.client = client;
 			}
 
+			@Override
+			public boolean belongsTo(Object family) {
+				return JOB_FAMILY.equals(family);
+			}
+
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
 				try {
 					connect(client);
 				} catch (Exception e) {
-					Trace.debug("Exception starting watch on project {0} and {1} kind", e, project.getName(), kind);
+					Trace.debug("Exception starting watch on project {0} and {1} kind", e, getScope(), kind);
+					if (shared && isForbidden(e)) {
+						state.set(State.DISCONNECTED);
+						fallbackToProjectWatches(conn, kind);
+						return Status.OK_STATUS;
+					}
 					backoff++;
 					if (backoff >= FIBONACCI.length) {
 						Trace.info("Exceeded backoff attempts trying to reconnect watch for {0} and kind {1}",
-								project.getName(), kind);
-						WatchKey key = new WatchKey(conn, project, kind);
-						watches.remove(key);
+								getScope(), kind);
+						watches.remove(getWatchKey());
 						state.set(State.DISCONNECTED);
 						return Status.OK_STATUS;
 					}
 					final long delay = FIBONACCI[backoff] * BACKOFF_MILLIS;
 					Trace.debug("Delaying watch restart by {0}ms for project {1} and kind {2} ", delay,
-							project.getName(), kind);
+							getScope(), kind);
 					new RestartWatchJob(client).schedule(delay);
 				}
 				return Status.OK_STATUS;
 			}
 
 			private void connect(IClient client) {
-				WatchKey key = new WatchKey(conn, project, kind);
-				if (watches.containsKey(key)) {
-					AtomicReference<IWatcher> watcherRef = watches.get(key);
-					watcherRef.set(client.watch(project.getName(), WatchListener.this, kind));
+				AtomicReference<IWatcher> watcherRef = watches.get(getWatchKey());
+				if (watcherRef != null) {
+					watcherRef.set(client.watch(shared ? ALL_NAMESPACES : project.getName(), WatchListener.this, kind));
 					state.set(State.CONNECTED);
 					lastConnect = System.currentTimeMillis();
 				}
@@ -288,7 +728,7 @@ public class WatchManager {
 			}
 			this.backoff = backoff;
 			this.lastConnect = lastConnect;
-			Trace.info("Starting watch on project {0} for kind(s) {1}.", project.getName(), kind);
+			Trace.info("Starting watch on project {0} for kind(s) {1}.", getScope(), kind);
 			IClient client = getClientFor(project);
 			if (client != null) {
 				new RestartWatchJob(client).schedule();
@@ -307,26 +747,36 @@ public class WatchManager {
 		@Override
 		public void received(IResource resource, ChangeType change) {
 			Trace.debug("Watch received change in {0} state\n{1}", state, resource.toJson(false));
-			if (State.CONNECTED != state.get()) {
+			if (State.CONNECTED != state.get()
+					|| !accept(resource)) {
 				return;
 			}
 			IResource newItem = null;
 			IResource oldItem = null;
-			int index = resources.indexOf(resource);
 			if (ChangeType.ADDED.equals(change)) {
-				resources.add(resource);
+				store.put(resource);
 				newItem = resource;
 			} else if (ChangeType.DELETED.equals(change)) {
-				oldItem = index > NOT_FOUND ? resources.remove(index) : resource;
+				IResource removed = store.remove(resource);
+				oldItem = removed != null ? removed : resource;
 			} else if (ChangeType.MODIFIED.equals(change)) {
-				if (index > NOT_FOUND) {
-					oldItem = resources.remove(index);
-				}
-				resources.add(resource);
+				oldItem = store.put(resource);
 				newItem = resource;
 			}
-			ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(conn,
-					ConnectionProperties.PROPERTY_RESOURCE, oldItem, newItem);
+			fireChanged(oldItem, newItem);
+		}
+
+		private void fireChanged(IResource oldItem, IResource newItem) {
+			if (conn instanceof Connection) {
+				((Connection) conn).invalidateResources(newItem != null ? newItem : oldItem);
+			}
+			if (COALESCE_WINDOW > 0) {
+				coalescers.computeIfAbsent(conn, c -> new ResourceChangeCoalescer(c, COALESCE_WINDOW))
+					.add(oldItem, newItem);
+			} else {
+				ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(conn,
+						ConnectionProperties.PROPERTY_RESOURCE, oldItem, newItem);
+			}
 		}
 
 	}
@@ -343,8 +793,15 @@ public class WatchManager {
 				watches.keySet().stream()
 				.filter(k -> k.connection.equals(conn))
 				.collect(Collectors.toList())
-				.forEach(k -> stopWatch(k.project, k.connection));
+				.forEach(k -> stopWatch(k));
+			}
+			subscriptions.remove(conn);
+			stores.remove(conn);
+			ResourceChangeCoalescer coalescer = coalescers.remove(conn);
+			if (coalescer != null) {
+				coalescer.cancel();
 			}
+			deniedSharedWatches.removeIf(k -> k.connection.equals(conn));
 		}
 
 	}
@@ -355,4 +812,11 @@ public class WatchManager {
 	public Map<WatchKey, AtomicReference<IWatcher>>_getWatches() {
 	    return this.watches;
 	}
+
+	/**
+	 * Use it for test purposes only
+	 */
+	public void _setMultiplexWatches(boolean multiplexWatches) {
+		this.multiplexWatches = multiplexWatches;
+	}
 }
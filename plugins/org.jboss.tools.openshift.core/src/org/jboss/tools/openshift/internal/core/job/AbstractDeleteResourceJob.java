@@ -39,12 +39,22 @@ public abstract class AbstractDeleteResourceJob extends AbstractDelegatingMonito
 			return Status.CANCEL_STATUS;
 		}
 
+		monitor.subTask(NLS.bind("Delete Resource {0}...", resource.getName()));
+		IStatus status = deleteSilently(resource, connection);
+		if (status.isOK() && connection != null) {
+			ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(connection,
+					ConnectionProperties.PROPERTY_RESOURCE, resource, null);
+		}
+		return status;
+	}
+
+	/**
+	 * Deletes the given resource without notifying the connections registry.
+	 */
+	protected IStatus deleteSilently(final IResource resource, final Connection connection) {
 		try {
-			monitor.subTask(NLS.bind("Delete Resource {0}...", resource.getName()));
 			if (connection != null) {
 				connection.deleteResource(resource);
-				ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(connection,
-						ConnectionProperties.PROPERTY_RESOURCE, resource, null);
 			}
 			return Status.OK_STATUS;
 		} catch (OpenShiftException e) {
@@ -10,8 +10,21 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.core.job;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -19,25 +32,78 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+import org.jboss.tools.openshift.common.core.connection.ConnectionChange;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.core.connection.Connection;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
 import org.jboss.tools.openshift.core.connection.ConnectionsRegistryUtil;
 import org.jboss.tools.openshift.internal.common.core.OpenShiftCommonCoreActivator;
+import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
 
 import com.openshift.restclient.NotFoundException;
+import com.openshift.restclient.OpenShiftException;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IResource;
 
 /**
- * Deletes the given list of resources.
+ * Deletes the given list of resources. The resources are deleted in tiers
+ * (deployment configs, replication controllers, pods and then the rest, see
+ * {@link ResourcesRemovalOrdering}), the resources of a tier are deleted in
+ * parallel. Resources of the same kind and namespace that are exactly the
+ * resources that match the label selector that the user selected them with
+ * are deleted with a single request. The deletions are notified to the connections registry in a single
+ * batch per connection.
  * 
  * @author Andre Dietisheim
  */
 public class DeleteResourcesJob extends AbstractDeleteResourceJob {
 
+	/**
+	 * The number of resources that are deleted in parallel
+	 */
+	public static final String DELETE_THREADS_KEY = "org.jboss.tools.openshift.core.delete.threads";
+
+	private static final ThreadPoolExecutor DELETE_EXECUTOR;
+
+	static {
+		int threads = Math.max(1, Integer.getInteger(DELETE_THREADS_KEY, 8));
+		DELETE_EXECUTOR = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "OpenShift resources deletion");
+					thread.setDaemon(true);
+					return thread;
+				});
+		DELETE_EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/** the minimum number of resources that are deleted as a collection */
+	private static final int MIN_COLLECTION_SIZE = 2;
+
 	private List<IResource> resources;
+	private Map<String, String> labelSelector;
 
 	public DeleteResourcesJob(final List<IResource> resources) {
+		this(resources, null);
+	}
+
+	/**
+	 * Creates a job that deletes the given resources. The given label selector
+	 * is the one that the user selected the resources with, resources of the
+	 * same kind that are exactly the ones that match it are deleted with a
+	 * single request. The selected resources must be all the resources that
+	 * match the selector.
+	 * 
+	 * @param resources
+	 *            the resources to delete
+	 * @param labelSelector
+	 *            the label selector that the user selected the resources with
+	 *            or {@code null}
+	 */
+	public DeleteResourcesJob(final List<IResource> resources, final Map<String, String> labelSelector) {
 		super("Delete Resource Job");
 		this.resources = resources;
+		this.labelSelector = labelSelector;
 	}
 
 	@Override
@@ -46,11 +112,20 @@ public class DeleteResourcesJob extends AbstractDeleteResourceJob {
 			return Status.CANCEL_STATUS;
 		}
 
-		List<IStatus> status = resources.stream()
-				.sorted(new ResourcesRemovalOrdering())
-				.map(resource -> {
-						return delete(resource, ConnectionsRegistryUtil.getConnectionFor(resource), monitor);
-					})
+		Map<IResource, IStatus> statuses = new LinkedHashMap<>();
+		try {
+			for (List<IResource> tier : getTiers(resources)) {
+				if (monitor.isCanceled()) {
+					break;
+				}
+				monitor.subTask(NLS.bind("Deleting {0} resources...", tier.size()));
+				statuses.putAll(deleteTier(tier, monitor));
+			}
+		} finally {
+			fireDeleted(statuses);
+		}
+
+		List<IStatus> status = statuses.values().stream()
 				.filter(s -> s.getSeverity() == IStatus.ERROR)
 				// dont report not found exceptions
 				.filter(s -> !(s.getException() instanceof NotFoundException))
@@ -63,6 +138,132 @@ public class DeleteResourcesJob extends AbstractDeleteResourceJob {
 				"Could not remove certain resources", null);
 	}
 
+	/**
+	 * Returns the given resources grouped by their removal order.
+	 */
+	private Collection<List<IResource>> getTiers(List<IResource> resources) {
+		ResourcesRemovalOrdering ordering = new ResourcesRemovalOrdering();
+		return resources.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.groupingBy(ordering::getWeight, TreeMap::new, Collectors.toList()))
+				.values();
+	}
+
+	/**
+	 * Deletes the given resources in parallel. Resources of the same kind in the
+	 * same namespace are deleted as a collection if possible. The status of each
+	 * resource is collected separately so that an unexpected error in a deletion
+	 * does not lose the statuses of the others.
+	 */
+	private Map<IResource, IStatus> deleteTier(List<IResource> tier, IProgressMonitor monitor) {
+		Map<List<Object>, List<IResource>> groups = new LinkedHashMap<>();
+		for (IResource resource : tier) {
+			Connection connection = ConnectionsRegistryUtil.getConnectionFor(resource);
+			groups.computeIfAbsent(Arrays.asList(connection, resource.getNamespaceName(), resource.getKind()),
+					key -> new ArrayList<>()).add(resource);
+		}
+		Map<IResource, CompletableFuture<IStatus>> deletions = new LinkedHashMap<>();
+		groups.forEach((key, resources) -> {
+			Connection connection = (Connection) key.get(0);
+			CompletableFuture<Boolean> collection = CompletableFuture
+					.supplyAsync(() -> deleteCollection(resources, connection, monitor), DELETE_EXECUTOR)
+					// delete one by one if the collection could not be deleted
+					.exceptionally(e -> false);
+			resources.forEach(resource -> deletions.put(resource, collection
+					.thenCompose(deleted -> {
+						if (deleted) {
+							return CompletableFuture.completedFuture(Status.OK_STATUS);
+						}
+						return CompletableFuture.supplyAsync(() -> delete(resource, connection, monitor),
+								DELETE_EXECUTOR);
+					})
+					.exceptionally(e -> createErrorStatus(resource, e))));
+		});
+		Map<IResource, IStatus> statuses = new LinkedHashMap<>();
+		deletions.forEach((resource, deletion) -> statuses.put(resource, deletion.join()));
+		return statuses;
+	}
+
+	private IStatus createErrorStatus(IResource resource, Throwable e) {
+		if (e instanceof CompletionException
+				&& e.getCause() != null) {
+			e = e.getCause();
+		}
+		return new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID,
+				NLS.bind("Error deleting {0} named {1}.", resource.getKind(), resource.getName()), e);
+	}
+
+	@Override
+	protected IStatus delete(IResource resource, Connection connection, IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		return deleteSilently(resource, connection);
+	}
+
+	/**
+	 * Deletes the given resources, that are of the same kind and in the same
+	 * namespace, with a single request if the user selected them by an explicit
+	 * label selector and they are exactly the resources that match it.
+	 * Selectors that are inferred from the selected resources are never used,
+	 * they would also delete resources that are created in between and that the
+	 * user never selected (ex. pods that are recreated by their controller).
+	 * 
+	 * @return {@code true} if the resources were deleted, {@code false}
+	 *         otherwise
+	 */
+	private boolean deleteCollection(List<IResource> resources, Connection connection, IProgressMonitor monitor) {
+		if (connection == null
+				|| labelSelector == null
+				|| labelSelector.isEmpty()
+				|| resources.size() < MIN_COLLECTION_SIZE
+				|| monitor.isCanceled()
+				|| !resources.stream().allMatch(this::matchesLabelSelector)) {
+			return false;
+		}
+		IResource resource = resources.get(0);
+		Set<String> names = resources.stream().map(IResource::getName).collect(Collectors.toSet());
+		try {
+			List<IResource> matching = connection.getResources(resource.getKind(), resource.getNamespaceName(),
+					labelSelector);
+			if (matching.size() != names.size()
+					|| !matching.stream().allMatch(match -> names.contains(match.getName()))) {
+				return false;
+			}
+			connection.deleteResources(resource.getKind(), resource.getNamespaceName(), labelSelector);
+			return true;
+		} catch (OpenShiftException e) {
+			// kind may not support deleting collections, delete one by one
+			return false;
+		}
+	}
+
+	private boolean matchesLabelSelector(IResource resource) {
+		Map<String, String> labels = resource.getLabels();
+		return labels != null
+				&& labels.entrySet().containsAll(labelSelector.entrySet());
+	}
+
+	/**
+	 * Notifies the resources that were deleted in a single batch per
+	 * connection.
+	 */
+	private void fireDeleted(Map<IResource, IStatus> statuses) {
+		Map<Connection, List<ConnectionChange>> changes = new LinkedHashMap<>();
+		statuses.forEach((resource, status) -> {
+			if (status.isOK()) {
+				Connection connection = ConnectionsRegistryUtil.safeGetConnectionFor(resource);
+				if (connection != null) {
+					changes.computeIfAbsent(connection, c -> new ArrayList<>()).add(
+							new ConnectionChange(ConnectionProperties.PROPERTY_RESOURCE, resource, null));
+				}
+			}
+		});
+		changes.forEach(
+				(connection, connectionChanges) -> ConnectionsRegistrySingleton.getInstance()
+						.fireConnectionChanged(connection, connectionChanges));
+	}
+
 	/**
 	 * for testing purposes
 	 */
@@ -14,13 +14,14 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.osgi.util.NLS;
 import org.jboss.tools.foundation.core.plugin.log.StatusFactory;
@@ -428,20 +429,18 @@ public class OpenShiftDebugMode {
 
 	protected IPod waitFor(NewPodDetectorJob podDetector, IDeploymentConfig dc, IProgressMonitor monitor) throws CoreException {
 		try {
-			podDetector.join(NewPodDetectorJob.TIMEOUT, monitor);
-			IStatus result = podDetector.getResult();
-			if (result == null) {// timed out!
-				throw new CoreException(podDetector.getTimeOutStatus());
-			} else if (!result.isOK()) {
-				if (IStatus.CANCEL == result.getSeverity()) {
-					throw new CoreException(StatusFactory.cancelStatus(OpenShiftCoreActivator.PLUGIN_ID, 
-							NLS.bind("Cancelled wait for new pod created from deployment config {0}...", dc.getName())));
-				} else {					
-					throw new CoreException(result);
-				}
-			}
-			return podDetector.getPod();
-		} catch (OperationCanceledException | InterruptedException e) {
+			return podDetector.await(monitor);
+		} catch (TimeoutException e) {
+			throw new CoreException(podDetector.getTimeOutStatus());
+		} catch (OperationCanceledException e) {
+			throw new CoreException(StatusFactory.cancelStatus(OpenShiftCoreActivator.PLUGIN_ID,
+					NLS.bind("Cancelled wait for new pod created from deployment config {0}...", dc.getName())));
+		} catch (ExecutionException e) {
+			throw new CoreException(StatusFactory.errorStatus(OpenShiftCoreActivator.PLUGIN_ID,
+					NLS.bind("Could not wait for new pod created from deployment config {0}.", dc.getName()),
+					e.getCause()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			throw new OpenShiftCoreException(e);
 		}
 	}
@@ -41,6 +41,7 @@ import org.eclipse.wst.server.core.internal.Server;
 import org.jboss.tools.openshift.core.server.OpenShiftServer;
 import org.jboss.tools.openshift.core.server.OpenShiftServerBehaviour;
 import org.jboss.tools.openshift.core.server.OpenShiftServerUtils;
+import org.jboss.tools.openshift.core.server.PublishDeltaFactory;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
 import org.jboss.tools.openshift.internal.core.Trace;
 
@@ -156,6 +157,8 @@ public class ResourceChangePublisher implements IResourceChangeListener {
 
 	protected void handleSpecialProjectChange(OpenShiftServer server, IResourceDelta delta, List<IResource> changes,
 			IResourceChangeEvent event) {
+		// remember the changes for an incremental publish, also if the job for it is already waiting
+		PublishDeltaFactory.INSTANCE.get(server.getServer()).addChanges(changes);
 		// check for duplicate jobs already waiting and don't create a new one
 		Job[] jobs = Job.getJobManager().find(ServerUtil.SERVER_JOB_FAMILY);
 		if (jobs != null) {
@@ -13,10 +13,19 @@ package org.jboss.tools.openshift.internal.core.util;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
@@ -26,6 +35,8 @@ import org.jboss.tools.openshift.common.core.connection.IConnectionsRegistryList
 import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.core.connection.ConnectionsRegistryUtil;
 import org.jboss.tools.openshift.internal.core.OpenShiftCoreActivator;
+import org.jboss.tools.openshift.internal.core.ResourceStore;
+import org.jboss.tools.openshift.internal.core.WatchManager;
 
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IDeploymentConfig;
@@ -34,6 +45,9 @@ import com.openshift.restclient.model.IReplicationController;
 
 /**
  * A job that waits for new pods for a given, updated replication controller to reappear.
+ * The job only registers a listener for the resource changes and returns, the
+ * new pod is delivered through a future that callers wait for via
+ * {@link #await(IProgressMonitor)}.
  *  
  * @author Fred Bricon
  * @author Andre Dietisheim
@@ -46,17 +60,24 @@ public class NewPodDetectorJob extends Job {
 	public static final String DEPLOYMENT_CONFIG_LISTENER_JOB_TIMEOUT_KEY = "deployment.config.listener.job.timeout";
 	//TODO get timeout value from some settings
 	public static final int TIMEOUT = Integer.getInteger(DEPLOYMENT_CONFIG_LISTENER_JOB_TIMEOUT_KEY, 600_000);
-	private static final int SLEEP_DELAY = 100;
+	/** the interval in which the monitor of a waiting caller is checked for cancellation */
+	private static final int CANCEL_POLL_INTERVAL = 100;
+	private static final ScheduledExecutorService CANCEL_POLLER = Executors.newSingleThreadScheduledExecutor(
+			runnable -> {
+				Thread thread = new Thread(runnable, "OpenShift new pod detector cancel poller");
+				thread.setDaemon(true);
+				return thread;
+			});
 	private static final String POD_STATE_RUNNING = "Running";
 
-	private IDeploymentConfig dc;
-	private IPod pod;
-	private Collection<String> oldPods = Collections.emptySet();
+	private volatile IDeploymentConfig dc;
+	private volatile Collection<String> oldPods = Collections.emptySet();
+	private final CompletableFuture<IPod> newPod = new CompletableFuture<>();
 
 	private IConnectionsRegistryListener connectionsRegistryListener = new ConnectionsRegistryAdapter() {
 		@Override
 		public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
-			if (pod != null) {
+			if (newPod.isDone()) {
 				// we're done already
 				return;
 			}
@@ -69,8 +90,7 @@ public class NewPodDetectorJob extends Job {
 			if (newValue instanceof IPod) {
 				IPod notifiedPod = (IPod) newValue;
 				if (isNewRunningRuntimePod(notifiedPod)) {
-					// store new & running runtime pod for job to stop waiting
-					pod = notifiedPod;
+					newPod.complete(notifiedPod);
 				}
 			}
 		}
@@ -88,33 +108,79 @@ public class NewPodDetectorJob extends Job {
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-		this.oldPods = getOldPods(dc);
 		try {
-			ConnectionsRegistrySingleton.getInstance().addListener(connectionsRegistryListener);
-			waitForNewPod(monitor);
-			return pod == null ? getTimeOutStatus() : Status.OK_STATUS;
-		} finally {
-			ConnectionsRegistrySingleton.getInstance().removeListener(connectionsRegistryListener);
+			this.oldPods = getOldPods(dc);
+		} catch (RuntimeException e) {
+			newPod.completeExceptionally(e);
+			return new Status(IStatus.ERROR, OpenShiftCoreActivator.PLUGIN_ID,
+					"Could not get the existing Pods for " + dc.getName(), e);
 		}
+		ConnectionsRegistrySingleton.getInstance().addListener(connectionsRegistryListener);
+		newPod.orTimeout(TIMEOUT, TimeUnit.MILLISECONDS)
+				.whenComplete((pod, e) -> ConnectionsRegistrySingleton.getInstance()
+						.removeListener(connectionsRegistryListener));
+		return Status.OK_STATUS;
+	}
+
+	@Override
+	protected void canceling() {
+		newPod.cancel(false);
 	}
 
 	private Collection<String> getOldPods(IReplicationController rc) {
 		Connection connection = ConnectionsRegistryUtil.getConnectionFor(rc);
-		List<IPod> allPods = connection.getResources(ResourceKind.POD, rc.getNamespaceName());
+		List<IPod> allPods = getPods(connection, rc.getNamespaceName());
 		return ResourceUtils.getPodsFor(rc, allPods).stream().filter(pod -> ResourceUtils.isRuntimePod(pod))
-				.map(p -> p.getName()).collect(Collectors.toList());
+				.map(p -> p.getName()).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Returns the pods in the given namespace. They are taken from the watched
+	 * resources if a watch keeps the pods of the namespace in sync and listed
+	 * from the server otherwise. Cached lists may miss existing pods whose
+	 * changes would then be taken for the new pod.
+	 */
+	private List<IPod> getPods(Connection connection, String namespace) {
+		ResourceStore store = WatchManager.getInstance().getStore(connection);
+		if (store.isSynced(namespace, ResourceKind.POD)) {
+			return store.getResources(namespace, ResourceKind.POD);
+		}
+		return connection.getResources(ResourceKind.POD, namespace, true);
 	}
 
-	private void waitForNewPod(IProgressMonitor monitor) {
-		long elapsed = 0;
-		while (pod == null && !monitor.isCanceled() && elapsed < TIMEOUT) {
-			try {
-				Thread.sleep(SLEEP_DELAY);
-				monitor.worked(1);
-				elapsed += SLEEP_DELAY;
-			} catch (InterruptedException e) {
-				// swallow intentionally
+	/**
+	 * Waits for the new pod to be running. The pod is delivered by the resource
+	 * changes that the watches notify. The given monitor is checked for
+	 * cancellation on a separate thread that cancels the waiting.
+	 * 
+	 * @return the new pod
+	 * @throws OperationCanceledException
+	 *             if the given monitor or this job were cancelled
+	 * @throws TimeoutException
+	 *             if no new pod was running within {@link #TIMEOUT} ms
+	 * @throws ExecutionException
+	 *             if the existing pods could not be retrieved
+	 * @throws InterruptedException
+	 */
+	public IPod await(IProgressMonitor monitor)
+			throws TimeoutException, ExecutionException, InterruptedException {
+		ScheduledFuture<?> cancelPoller = CANCEL_POLLER.scheduleWithFixedDelay(() -> {
+			if (monitor.isCanceled()) {
+				newPod.cancel(false);
+			}
+		}, 0, CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+		try {
+			return newPod.get();
+		} catch (CancellationException e) {
+			cancel();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof TimeoutException) {
+				throw (TimeoutException) e.getCause();
 			}
+			throw e;
+		} finally {
+			cancelPoller.cancel(false);
 		}
 	}
 
@@ -123,7 +189,14 @@ public class NewPodDetectorJob extends Job {
 				"Failed to detect new deployed Pod for " + dc.getName());
 	}
 
+	/**
+	 * @return the new pod or {@code null} if it was not detected (yet)
+	 */
 	public IPod getPod() {
-		return pod;
+		if (!newPod.isDone()
+				|| newPod.isCompletedExceptionally()) {
+			return null;
+		}
+		return newPod.join();
 	}
 }
@@ -0,0 +1,469 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang.StringUtils;
+import org.jboss.tools.openshift.core.OpenShiftAPIAnnotations;
+
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.model.IBuild;
+import com.openshift.restclient.model.IBuildConfig;
+import com.openshift.restclient.model.IDeploymentConfig;
+import com.openshift.restclient.model.IPod;
+import com.openshift.restclient.model.IReplicationController;
+import com.openshift.restclient.model.IResource;
+import com.openshift.restclient.model.IService;
+import com.openshift.restclient.model.route.IRoute;
+
+/**
+ * An index of the resources of a namespace that allows to look up related
+ * resources without scanning all resources. Label selectors are matched
+ * through an index of the selector terms (key=value) and annotations, names
+ * and image references are indexed by value. The index is maintained
+ * incrementally: adding, updating or removing a resource only updates the
+ * entries of this resource.
+ *
+ * @see ResourceUtils#containsAll(Map, Map)
+ */
+public class ResourceRelationIndex {
+
+	/** kind/name -> resource */
+	private final Map<String, IResource> resources = new HashMap<>();
+	private final TermIndex podsByLabel = new TermIndex();
+	private final TermIndex replicationControllersBySelector = new TermIndex();
+	private final TermIndex deploymentConfigsBySelector = new TermIndex();
+	private final Set<IService> services = new HashSet<>();
+	private final MultiMap byDeploymentConfigName = new MultiMap();
+	private final MultiMap podsByBuildName = new MultiMap();
+	private final MultiMap buildsByBuildConfigName = new MultiMap();
+	private final MultiMap buildsByImageRef = new MultiMap();
+	private final MultiMap buildConfigsByImageRef = new MultiMap();
+	private final MultiMap routesByServiceName = new MultiMap();
+
+	public ResourceRelationIndex() {
+	}
+
+	public ResourceRelationIndex(Collection<? extends IResource> resources) {
+		update(resources);
+	}
+
+	/**
+	 * Updates this index so that it reflects the given resources. Only the
+	 * resources that were added, removed or whose resource version changed are
+	 * re-indexed. Use {@link #upsert(IResource)} and {@link #delete(IResource)}
+	 * to apply single changes.
+	 *
+	 * @param newResources
+	 *            all the resources that shall be indexed
+	 * @return {@code true} if any resource was added, removed or changed
+	 */
+	public synchronized boolean update(Collection<? extends IResource> newResources) {
+		Set<String> keys = new HashSet<>(newResources.size());
+		boolean changed = false;
+		for (IResource resource : newResources) {
+			keys.add(getKey(resource));
+			changed |= upsert(resource);
+		}
+		List<IResource> removed = resources.entrySet().stream()
+				.filter(entry -> !keys.contains(entry.getKey()))
+				.map(Entry::getValue)
+				.collect(Collectors.toList());
+		removed.forEach(this::remove);
+		return changed || !removed.isEmpty();
+	}
+
+	/**
+	 * Adds the given resource or replaces the version that is indexed if its
+	 * resource version differs.
+	 * 
+	 * @return {@code true} if the resource was added or changed
+	 */
+	public synchronized boolean upsert(IResource resource) {
+		IResource indexed = resources.get(getKey(resource));
+		if (indexed != null) {
+			if (!isChanged(indexed, resource)) {
+				return false;
+			}
+			remove(indexed);
+		}
+		add(resource);
+		return true;
+	}
+
+	/**
+	 * Removes the given resource from this index.
+	 * 
+	 * @return {@code true} if the resource was indexed
+	 */
+	public synchronized boolean delete(IResource resource) {
+		IResource indexed = resources.get(getKey(resource));
+		if (indexed == null) {
+			return false;
+		}
+		remove(indexed);
+		return true;
+	}
+
+	public synchronized Collection<IResource> getResources() {
+		return new ArrayList<>(resources.values());
+	}
+
+	/**
+	 * Returns the pods whose labels match the given selector.
+	 */
+	public synchronized Collection<IPod> getPodsMatching(Map<String, String> selector) {
+		return podsByLabel.match(selector, IResource::getLabels);
+	}
+
+	/**
+	 * Returns the pods that are selected by the given replication controller.
+	 *
+	 * @see ResourceUtils#areRelated(IPod, IReplicationController)
+	 */
+	public Collection<IPod> getPodsFor(IReplicationController rc) {
+		return getPodsMatching(rc.getReplicaSelector());
+	}
+
+	/**
+	 * Returns the pods that are selected by the given service.
+	 *
+	 * @see ResourceUtils#areRelated(IPod, IService)
+	 */
+	public Collection<IPod> getPodsFor(IService service) {
+		return getPodsMatching(service.getSelector());
+	}
+
+	/**
+	 * Returns the deployment configs whose replica selector matches the selector
+	 * of the given service.
+	 *
+	 * @see ResourceUtils#areRelated(IDeploymentConfig, IService)
+	 */
+	public synchronized Collection<IDeploymentConfig> getDeploymentConfigsFor(IService service) {
+		return deploymentConfigsBySelector.match(service.getSelector(),
+				r -> ((IReplicationController) r).getReplicaSelector());
+	}
+
+	/**
+	 * Returns the replication controllers (that are no deployment configs) whose
+	 * replica selector matches the selector of the given service.
+	 *
+	 * @see ResourceUtils#areRelated(IReplicationController, IService)
+	 */
+	public synchronized Collection<IReplicationController> getReplicationControllersFor(IService service) {
+		return replicationControllersBySelector.match(service.getSelector(),
+				r -> ((IReplicationController) r).getReplicaSelector());
+	}
+
+	/**
+	 * Returns the services whose selector matches the replica selector of the
+	 * given replication controller.
+	 *
+	 * @see ResourceUtils#areRelated(IReplicationController, IService)
+	 */
+	public synchronized Collection<IService> getServicesFor(IReplicationController rc) {
+		return services.stream().filter(service -> ResourceUtils.areRelated(rc, service))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the routes that point to the given service.
+	 *
+	 * @see ResourceUtils#areRelated(IRoute, IService)
+	 */
+	public synchronized Collection<IRoute> getRoutesFor(IService service) {
+		if (StringUtils.isEmpty(service.getName())) {
+			return Collections.emptyList();
+		}
+		return routesByServiceName.get(service.getName());
+	}
+
+	/**
+	 * Returns the resources that are annotated with the name of the given
+	 * deployment config.
+	 *
+	 * @see OpenShiftAPIAnnotations#DEPLOYMENT_CONFIG_NAME
+	 */
+	public synchronized Collection<IResource> getAnnotatedWith(IDeploymentConfig dc) {
+		return byDeploymentConfigName.get(dc.getName());
+	}
+
+	/**
+	 * Returns the pods that are annotated with one of the given build names.
+	 *
+	 * @see OpenShiftAPIAnnotations#BUILD_NAME
+	 */
+	public synchronized Collection<IPod> getPodsForBuilds(Collection<String> buildNames) {
+		return podsByBuildName.getAll(buildNames);
+	}
+
+	/**
+	 * Returns the replication controllers with the given names.
+	 */
+	public synchronized Collection<IReplicationController> getReplicationControllers(Collection<String> names) {
+		return getNamed(ResourceKind.REPLICATION_CONTROLLER, names);
+	}
+
+	/**
+	 * Returns the image stream tags with the given names.
+	 */
+	public synchronized Collection<IResource> getImageStreamTags(Collection<String> names) {
+		return getNamed(ResourceKind.IMAGE_STREAM_TAG, names);
+	}
+
+	/**
+	 * Returns the build configs that output to one of the given image
+	 * references.
+	 *
+	 * @see ResourceUtils#imageRef(IBuildConfig)
+	 */
+	public synchronized Collection<IBuildConfig> getBuildConfigsFor(Collection<String> imageRefs) {
+		return buildConfigsByImageRef.getAll(imageRefs);
+	}
+
+	/**
+	 * Returns the builds that were created by one of the given build configs or
+	 * that output to one of the given image references.
+	 *
+	 * @see OpenShiftAPIAnnotations#BUILD_CONFIG_NAME
+	 * @see ResourceUtils#imageRef(IBuild)
+	 */
+	public synchronized Collection<IBuild> getBuildsFor(Collection<String> buildConfigNames,
+			Collection<String> imageRefs) {
+		Set<IBuild> builds = new HashSet<>(buildsByBuildConfigName.getAll(buildConfigNames));
+		builds.addAll(buildsByImageRef.getAll(imageRefs));
+		return builds;
+	}
+
+	private boolean isChanged(IResource indexed, IResource resource) {
+		return indexed.getResourceVersion() == null
+				|| !Objects.equals(indexed.getResourceVersion(), resource.getResourceVersion());
+	}
+
+	private void add(IResource resource) {
+		resources.put(getKey(resource), resource);
+		String kind = resource.getKind();
+		if (resource instanceof IPod) {
+			podsByLabel.add(resource, resource.getLabels());
+			podsByBuildName.put(resource.getAnnotation(OpenShiftAPIAnnotations.BUILD_NAME), resource);
+		} else if (resource instanceof IDeploymentConfig) {
+			deploymentConfigsBySelector.add(resource, ((IDeploymentConfig) resource).getReplicaSelector());
+		} else if (ResourceKind.REPLICATION_CONTROLLER.equals(kind)) {
+			replicationControllersBySelector.add(resource, ((IReplicationController) resource).getReplicaSelector());
+		} else if (resource instanceof IService) {
+			services.add((IService) resource);
+		} else if (resource instanceof IRoute) {
+			routesByServiceName.put(((IRoute) resource).getServiceName(), resource);
+		} else if (resource instanceof IBuild) {
+			buildsByBuildConfigName.put(getBuildConfigName(resource), resource);
+			buildsByImageRef.put(getImageRef((IBuild) resource), resource);
+		} else if (resource instanceof IBuildConfig) {
+			buildConfigsByImageRef.put(ResourceUtils.imageRef((IBuildConfig) resource), resource);
+		}
+		byDeploymentConfigName.put(resource.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME), resource);
+	}
+
+	private void remove(IResource resource) {
+		resources.remove(getKey(resource));
+		String kind = resource.getKind();
+		if (resource instanceof IPod) {
+			podsByLabel.remove(resource, resource.getLabels());
+			podsByBuildName.remove(resource.getAnnotation(OpenShiftAPIAnnotations.BUILD_NAME), resource);
+		} else if (resource instanceof IDeploymentConfig) {
+			deploymentConfigsBySelector.remove(resource, ((IDeploymentConfig) resource).getReplicaSelector());
+		} else if (ResourceKind.REPLICATION_CONTROLLER.equals(kind)) {
+			replicationControllersBySelector.remove(resource,
+					((IReplicationController) resource).getReplicaSelector());
+		} else if (resource instanceof IService) {
+			services.remove(resource);
+		} else if (resource instanceof IRoute) {
+			routesByServiceName.remove(((IRoute) resource).getServiceName(), resource);
+		} else if (resource instanceof IBuild) {
+			buildsByBuildConfigName.remove(getBuildConfigName(resource), resource);
+			buildsByImageRef.remove(getImageRef((IBuild) resource), resource);
+		} else if (resource instanceof IBuildConfig) {
+			buildConfigsByImageRef.remove(ResourceUtils.imageRef((IBuildConfig) resource), resource);
+		}
+		byDeploymentConfigName.remove(resource.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME),
+				resource);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends IResource> Collection<T> getNamed(String kind, Collection<String> names) {
+		List<T> named = new ArrayList<>();
+		for (String name : names) {
+			IResource resource = resources.get(getKey(kind, name));
+			if (resource != null) {
+				named.add((T) resource);
+			}
+		}
+		return named;
+	}
+
+	private String getImageRef(IBuild build) {
+		if (build.getOutputKind() == null) {
+			return null;
+		}
+		return ResourceUtils.imageRef(build);
+	}
+
+	private String getBuildConfigName(IResource build) {
+		Map<String, String> labels = build.getLabels();
+		if (labels == null) {
+			return null;
+		}
+		return labels.get(OpenShiftAPIAnnotations.BUILD_CONFIG_NAME);
+	}
+
+	private static String getKey(IResource resource) {
+		return getKey(resource.getKind(), resource.getName());
+	}
+
+	private static String getKey(String kind, String name) {
+		return kind + "/" + name;
+	}
+
+	/**
+	 * Resources indexed by a single value (ex. an annotation).
+	 */
+	private static class MultiMap {
+
+		private final Map<String, Set<IResource>> values = new HashMap<>();
+
+		void put(String value, IResource resource) {
+			if (value == null) {
+				return;
+			}
+			values.computeIfAbsent(value, v -> new HashSet<>()).add(resource);
+		}
+
+		void remove(String value, IResource resource) {
+			if (value == null) {
+				return;
+			}
+			Set<IResource> resources = values.get(value);
+			if (resources != null) {
+				resources.remove(resource);
+				if (resources.isEmpty()) {
+					values.remove(value);
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		<T extends IResource> Collection<T> get(String value) {
+			Set<IResource> resources = values.get(value);
+			if (resources == null) {
+				return Collections.emptyList();
+			}
+			return new ArrayList<>((Collection<T>) resources);
+		}
+
+		@SuppressWarnings("unchecked")
+		<T extends IResource> Collection<T> getAll(Collection<String> values) {
+			Set<T> all = new HashSet<>();
+			for (String value : values) {
+				Set<IResource> resources = this.values.get(value);
+				if (resources != null) {
+					all.addAll((Collection<T>) resources);
+				}
+			}
+			return all;
+		}
+	}
+
+	/**
+	 * Resources indexed by the terms (key=value) of a map of labels or of a
+	 * selector. Matching a selector only inspects the resources that have the
+	 * least frequent term of the selector.
+	 */
+	private static class TermIndex {
+
+		private final Map<String, Set<IResource>> byTerm = new HashMap<>();
+		private final Set<IResource> withoutTerms = new HashSet<>();
+
+		void add(IResource resource, Map<String, String> terms) {
+			if (terms == null) {
+				return;
+			}
+			if (terms.isEmpty()) {
+				withoutTerms.add(resource);
+			}
+			for (Entry<String, String> entry : terms.entrySet()) {
+				byTerm.computeIfAbsent(getTerm(entry), t -> new HashSet<>()).add(resource);
+			}
+		}
+
+		void remove(IResource resource, Map<String, String> terms) {
+			if (terms == null) {
+				return;
+			}
+			withoutTerms.remove(resource);
+			for (Entry<String, String> entry : terms.entrySet()) {
+				String term = getTerm(entry);
+				Set<IResource> resources = byTerm.get(term);
+				if (resources != null) {
+					resources.remove(resource);
+					if (resources.isEmpty()) {
+						byTerm.remove(term);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the resources whose terms contain all the terms of the given
+		 * selector.
+		 *
+		 * @see ResourceUtils#containsAll(Map, Map)
+		 */
+		@SuppressWarnings("unchecked")
+		<T extends IResource> Collection<T> match(Map<String, String> selector,
+				Function<IResource, Map<String, String>> termsProvider) {
+			if (selector == null) {
+				return Collections.emptyList();
+			}
+			if (selector.isEmpty()) {
+				return new ArrayList<>((Collection<T>) withoutTerms);
+			}
+			Set<IResource> candidates = null;
+			for (Entry<String, String> entry : selector.entrySet()) {
+				Set<IResource> resources = byTerm.get(getTerm(entry));
+				if (resources == null) {
+					return Collections.emptyList();
+				}
+				if (candidates == null || resources.size() < candidates.size()) {
+					candidates = resources;
+				}
+			}
+			return candidates.stream()
+					.filter(resource -> ResourceUtils.containsAll(selector, termsProvider.apply(resource)))
+					.map(resource -> (T) resource).collect(Collectors.toList());
+		}
+
+		private String getTerm(Entry<String, String> entry) {
+			return entry.getKey() + "=" + entry.getValue();
+		}
+	}
+}
@@ -626,6 +626,48 @@ public class ResourceUtils {
 		}
 	}
 
+	/**
+	 * Returns the container image of the given deployment config that
+	 * {@link #getDockerImageUri(IDeploymentConfig)} refers to. This is the
+	 * container image whose repository matches the image of the image change
+	 * trigger or the first container image if there's no such trigger.
+	 * Deployment configs that are triggered by image changes are updated to
+	 * refer to the deployed image by its digest (ex.
+	 * {@code 172.30.1.1:5000/project/nodejs@sha256:4bc2b9...}).
+	 * 
+	 * @param dc
+	 * @return the container image or {@code null} if there's none
+	 */
+	public static String getDeployedImage(IDeploymentConfig dc) {
+		Collection<String> images = dc.getImages();
+		if (images.isEmpty()) {
+			return null;
+		}
+		DockerImageURI triggerImage = getImageChangeTriggerImage(dc);
+		if (triggerImage == null) {
+			return images.iterator().next();
+		}
+		return images.stream()
+				.filter(image -> image != null 
+					&& StringUtils.equals(getRepositoryName(image), triggerImage.getName()))
+				.findFirst()
+				.orElse(null);
+	}
+
+	/**
+	 * Returns the repository name of the given image without registry, user,
+	 * tag nor digest. Returns {@code nodejs} for
+	 * {@code 172.30.1.1:5000/project/nodejs@sha256:4bc2b9...}.
+	 */
+	private static String getRepositoryName(String image) {
+		String name = StringUtils.substringBefore(image, "@");
+		int slash = name.lastIndexOf('/');
+		if (slash >= 0) {
+			name = name.substring(slash + 1);
+		}
+		return StringUtils.substringBefore(name, ":");
+	}
+
 	private static DockerImageURI getImageChangeTriggerImage(IDeploymentConfig dc) {
 		IDeploymentImageChangeTrigger trigger = getImageChangeTrigger(dc.getTriggers());
 		if (trigger == null) {
@@ -780,13 +822,49 @@ public class ResourceUtils {
 	 * @see
 	 */
 	public static boolean isOlder(IResource thisResource, IResource thatResource) {
-		try {
-			int thisVersion = Integer.parseInt(thisResource.getResourceVersion());
-			int thatVersion = Integer.parseInt(thatResource.getResourceVersion());
-			return thisVersion < thatVersion;
-		} catch (NumberFormatException e) {
+		String thisVersion = thisResource.getResourceVersion();
+		String thatVersion = thatResource.getResourceVersion();
+		if (!isNumeric(thisVersion) || !isNumeric(thatVersion)) {
 			return true;
 		}
+		return compareVersions(thisVersion, thatVersion) < 0;
+	}
+
+	/**
+	 * Compares the given numeric resource versions without parsing them. A
+	 * longer version is the greater one, versions of the same length compare
+	 * lexicographically.
+	 * 
+	 * @return a negative number, zero or a positive number if the first version
+	 *         is lower, equal or greater than the second one
+	 */
+	private static int compareVersions(String thisVersion, String thatVersion) {
+		thisVersion = stripLeadingZeros(thisVersion);
+		thatVersion = stripLeadingZeros(thatVersion);
+		if (thisVersion.length() != thatVersion.length()) {
+			return thisVersion.length() - thatVersion.length();
+		}
+		return thisVersion.compareTo(thatVersion);
+	}
+
+	private static String stripLeadingZeros(String version) {
+		int start = 0;
+		while (start < version.length() - 1 && version.charAt(start) == '0') {
+			start++;
+		}
+		return version.substring(start);
+	}
+
+	private static boolean isNumeric(String version) {
+		if (version == null || version.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < version.length(); i++) {
+			if (!Character.isDigit(version.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -13,12 +13,26 @@ package org.jboss.tools.openshift.internal.ui.applicationexplorer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ITreeViewerListener;
 import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Control;
+import org.jboss.tools.openshift.internal.common.ui.explorer.BaseExplorerContentProvider.LoadingStub;
+import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
 import org.jboss.tools.openshift.internal.ui.models.IElementListener;
 import org.jboss.tools.openshift.internal.ui.models.IOpenshiftUIElement;
 import org.jboss.tools.openshift.internal.ui.models.applicationexplorer.ApplicationElement;
@@ -39,14 +53,102 @@ import org.jboss.tools.openshift.internal.ui.models.applicationexplorer.URLEleme
 import io.fabric8.kubernetes.client.KubernetesClientException;
 
 /**
+ * The children of the elements are listed with odo on background threads. A
+ * {@link LoadingStub} (or the children that were shown before) is returned
+ * while they are loaded and the element is refreshed once they are available.
+ * Collapsing an element cancels the loading of its children and of the
+ * children of its descendants. Errors are logged and shown as a child.
+ * 
  * @author Red Hat Developers
  *
  */
 public class OpenShiftApplicationExplorerContentProvider extends ViewerComparator implements ITreeContentProvider, IElementListener {
 
+  /**
+   * The number of threads that load the children of the elements
+   */
+  public static final String LOAD_THREADS_KEY = "org.jboss.tools.openshift.odo.explorer.loadThreads";
+
+  private static final ThreadPoolExecutor LOAD_EXECUTOR;
+
+  static {
+    int threads = Math.max(1, Integer.getInteger(LOAD_THREADS_KEY, 4));
+    LOAD_EXECUTOR = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "Application explorer loading");
+          thread.setDaemon(true);
+          return thread;
+        });
+    LOAD_EXECUTOR.allowCoreThreadTimeOut(true);
+  }
+
   private ApplicationExplorerUIModel model;
   private StructuredViewer viewer;
-  
+  /** the children that were loaded and are not shown yet */
+  private final Map<Object, Object[]> loaded = new ConcurrentHashMap<>();
+  /** the children that are shown, kept so that they remain visible while they are reloaded */
+  private final Map<Object, Object[]> shown = new ConcurrentHashMap<>();
+  private final Map<Object, ChildrenLoad> loading = new ConcurrentHashMap<>();
+  private final ITreeViewerListener collapseListener = new ITreeViewerListener() {
+
+    @Override
+    public void treeCollapsed(TreeExpansionEvent event) {
+      cancel(event.getElement());
+    }
+
+    @Override
+    public void treeExpanded(TreeExpansionEvent event) {
+      // loading is triggered by getChildren
+    }
+  };
+
+  /**
+   * Loads the children of an element and refreshes the element in the viewer
+   * once they are available.
+   */
+  private class ChildrenLoad implements Runnable {
+
+    private final Object element;
+    private volatile Future<?> future;
+    private volatile boolean canceled;
+
+    ChildrenLoad(Object element) {
+      this.element = element;
+    }
+
+    void start() {
+      this.future = LOAD_EXECUTOR.submit(this);
+    }
+
+    void cancel() {
+      this.canceled = true;
+      Future<?> future = this.future;
+      if (future != null) {
+        // interrupting kills the odo process that is running
+        future.cancel(true);
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        Object[] children = loadChildren(element);
+        if (!canceled) {
+          loaded.put(element, children);
+          refreshViewerAsync(element);
+        }
+      } catch (RuntimeException e) {
+        if (!canceled) {
+          OpenShiftUIActivator.log(IStatus.ERROR, NLS.bind("Could not load the children of {0}", element), e);
+          loaded.put(element, new Object[] { NLS.bind("Can''t list children: {0}", e.getLocalizedMessage()) });
+          refreshViewerAsync(element);
+        }
+      } finally {
+        loading.remove(element, this);
+      }
+    }
+  }
+
   public OpenShiftApplicationExplorerContentProvider() {
     this(ApplicationExplorerUIModel.getInstance());
   }
@@ -59,6 +161,13 @@ public class OpenShiftApplicationExplorerContentProvider extends ViewerComparato
   @Override
   public void dispose() {
     model.removeListener(this);
+    if (viewer instanceof AbstractTreeViewer) {
+      ((AbstractTreeViewer) viewer).removeTreeListener(collapseListener);
+    }
+    loading.values().forEach(ChildrenLoad::cancel);
+    loading.clear();
+    loaded.clear();
+    shown.clear();
   }
   
   protected void refreshViewer(Object element) {
@@ -67,8 +176,29 @@ public class OpenShiftApplicationExplorerContentProvider extends ViewerComparato
     }
   }
 
+  /* for testing purposes */
+  protected void refreshViewerAsync(Object element) {
+    StructuredViewer viewer = this.viewer;
+    Control control = viewer == null ? null : viewer.getControl();
+    if (control == null || control.isDisposed()) {
+      return;
+    }
+    control.getDisplay().asyncExec(() -> {
+      if (!control.isDisposed()) {
+        viewer.refresh(element);
+      }
+    });
+  }
+
   @Override
   public void elementChanged(IOpenshiftUIElement<?, ?, ?> element) {
+      // children that are being loaded may predate the change
+      ChildrenLoad load = loading.remove(element);
+      if (load != null) {
+        load.cancel();
+      }
+      // the children of the element are replaced, forget what their descendants showed
+      forgetShown(element, false);
       refreshViewer(element);
   }
   
@@ -76,7 +206,13 @@ public class OpenShiftApplicationExplorerContentProvider extends ViewerComparato
 
   @Override
   public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+    if (this.viewer instanceof AbstractTreeViewer) {
+      ((AbstractTreeViewer) this.viewer).removeTreeListener(collapseListener);
+    }
     this.viewer = (StructuredViewer) viewer;
+    if (viewer instanceof AbstractTreeViewer) {
+      ((AbstractTreeViewer) viewer).addTreeListener(collapseListener);
+    }
   }
 
   @Override
@@ -88,8 +224,72 @@ public class OpenShiftApplicationExplorerContentProvider extends ViewerComparato
     }
   }
 
+  /**
+   * Returns the children that were loaded for the given element. Starts
+   * loading them otherwise and returns the children that were shown before or
+   * a {@link LoadingStub} until they are available. Without a viewer the
+   * children are loaded right away.
+   */
   @Override
   public Object[] getChildren(Object parentElement) {
+    if (!hasChildren(parentElement)) {
+      return null;
+    }
+    if (viewer == null) {
+      return loadChildren(parentElement);
+    }
+    Object[] children = loaded.remove(parentElement);
+    if (children != null) {
+      shown.put(parentElement, children);
+      return children;
+    }
+    load(parentElement);
+    children = shown.get(parentElement);
+    return children != null ? children : new Object[] { new LoadingStub() };
+  }
+
+  private void load(Object parentElement) {
+    ChildrenLoad load = new ChildrenLoad(parentElement);
+    if (loading.putIfAbsent(parentElement, load) == null) {
+      load.start();
+    }
+  }
+
+  /**
+   * Cancels the loading of the children of the given element and of its
+   * descendants and forgets the children that they showed.
+   */
+  private void cancel(Object element) {
+    loading.forEach((loadingElement, load) -> {
+      if (isSelfOrDescendant(loadingElement, element)) {
+        load.cancel();
+        loading.remove(loadingElement, load);
+      }
+    });
+    forgetShown(element, true);
+  }
+
+  /**
+   * Forgets the children that the descendants (and the given element itself if
+   * requested) showed.
+   */
+  private void forgetShown(Object element, boolean includeSelf) {
+    shown.keySet().removeIf(shownElement -> (includeSelf || !shownElement.equals(element))
+        && isSelfOrDescendant(shownElement, element));
+    loaded.keySet().removeIf(loadedElement -> !loadedElement.equals(element)
+        && isSelfOrDescendant(loadedElement, element));
+  }
+
+  private boolean isSelfOrDescendant(Object element, Object ancestor) {
+    for (Object current = element; current != null; current = getParent(current)) {
+      if (current.equals(ancestor)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Object[] loadChildren(Object parentElement) {
     if (parentElement instanceof ApplicationExplorerUIModel) {
       return getChildren((ApplicationExplorerUIModel) parentElement);
     } else if (parentElement instanceof ProjectElement) {
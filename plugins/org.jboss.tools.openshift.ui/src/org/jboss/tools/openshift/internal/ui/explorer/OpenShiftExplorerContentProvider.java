@@ -12,10 +12,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.Viewer;
@@ -34,6 +38,7 @@ import org.jboss.tools.openshift.internal.ui.models.IProjectWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IResourceContainer;
 import org.jboss.tools.openshift.internal.ui.models.IResourceWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IServiceWrapper;
+import org.jboss.tools.openshift.internal.ui.models.LoadingState;
 import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
 
 import com.openshift.restclient.ResourceKind;
@@ -55,6 +60,14 @@ public class OpenShiftExplorerContentProvider implements ITreeContentProvider {
 	private IElementListener listener;
 	private StructuredViewer viewer;
 	private Map<Object, BaseExplorerContentProvider.LoadingStub> stubs = new HashMap<>();
+	/**
+	 * the viewer changes that were notified since the last flush. Accessed in
+	 * the UI thread only.
+	 */
+	private Set<Object> pendingRefreshes = new LinkedHashSet<>();
+	private Map<Object, ChildrenDelta> pendingDeltas = new LinkedHashMap<>();
+	private Set<Object> pendingUpdates = new LinkedHashSet<>();
+	private boolean flushScheduled;
 
 	public OpenShiftExplorerContentProvider() {
 		this(OpenshiftUIModel.getInstance());
@@ -65,16 +78,31 @@ public class OpenShiftExplorerContentProvider implements ITreeContentProvider {
 	 */
 	protected OpenShiftExplorerContentProvider(OpenshiftUIModel model) {
 		this.model = model;
-		listener = (IOpenshiftUIElement<?, ?, ?> element) -> {
+		listener = new IElementListener() {
+
+			@Override
+			public void elementChanged(IOpenshiftUIElement<?, ?, ?> element) {
 				if (element instanceof OpenshiftUIModel) {
-					refreshViewer(ConnectionsRegistrySingleton.getInstance());
+					scheduleRefresh(ConnectionsRegistrySingleton.getInstance());
+				} else if (element instanceof IResourceWrapper
+						&& !(element instanceof IProjectWrapper)) {
+					scheduleUpdate(element);
 				} else {
-					refreshViewer(element);
+					scheduleRefresh(element);
 				}
 				if (element.getWrapped() instanceof IRoute) {
-					viewer.update(element.getParent(), null);
+					scheduleUpdate(element.getParent());
 				}
-			};
+			}
+
+			@Override
+			public void childrenChanged(IOpenshiftUIElement<?, ?, ?> parent,
+					Collection<? extends IOpenshiftUIElement<?, ?, ?>> added,
+					Collection<? extends IOpenshiftUIElement<?, ?, ?>> removed) {
+				pendingDeltas.computeIfAbsent(parent, p -> new ChildrenDelta()).merge(added, removed);
+				scheduleFlush();
+			}
+		};
 		model.addListener(listener);
 	}
 
@@ -84,6 +112,131 @@ public class OpenShiftExplorerContentProvider implements ITreeContentProvider {
 		}
 	}
 
+	private void scheduleRefresh(Object element) {
+		pendingRefreshes.add(element);
+		scheduleFlush();
+	}
+
+	private void scheduleUpdate(Object element) {
+		pendingUpdates.add(element);
+		scheduleFlush();
+	}
+
+	/**
+	 * Applies the notified changes once the current batch of notifications was
+	 * dispatched, so that an element that changes several times in a row is
+	 * refreshed or updated once.
+	 */
+	private void scheduleFlush() {
+		if (flushScheduled) {
+			return;
+		}
+		Control control = viewer == null ? null : viewer.getControl();
+		if (control == null
+				|| control.isDisposed()) {
+			pendingRefreshes.clear();
+			pendingDeltas.clear();
+			pendingUpdates.clear();
+			return;
+		}
+		flushScheduled = true;
+		asyncExec(this::flush);
+	}
+
+	private void flush() {
+		flushScheduled = false;
+		Set<Object> refreshes = pendingRefreshes;
+		Map<Object, ChildrenDelta> deltas = pendingDeltas;
+		Set<Object> updates = pendingUpdates;
+		this.pendingRefreshes = new LinkedHashSet<>();
+		this.pendingDeltas = new LinkedHashMap<>();
+		this.pendingUpdates = new LinkedHashSet<>();
+		if (viewer == null
+				|| viewer.getControl() == null
+				|| viewer.getControl().isDisposed()) {
+			return;
+		}
+		refreshes.stream()
+			.filter(element -> !isBelow(element, refreshes))
+			.forEach(this::refreshViewer);
+		deltas.forEach((parent, delta) -> {
+			if (!isSelfOrBelow(parent, refreshes)) {
+				applyDelta(parent, delta);
+			}
+		});
+		updates.stream()
+			.filter(element -> !isSelfOrBelow(element, refreshes))
+			.forEach(this::updateViewer);
+	}
+
+	/**
+	 * Removes and adds the given children of the given parent. The parent is
+	 * refreshed if it's not a tree or if it's not loaded yet.
+	 */
+	private void applyDelta(Object parent, ChildrenDelta delta) {
+		if (!(viewer instanceof AbstractTreeViewer)
+				|| !isLoaded(parent)) {
+			refreshViewer(parent);
+			return;
+		}
+		AbstractTreeViewer treeViewer = (AbstractTreeViewer) viewer;
+		if (!delta.removed.isEmpty()) {
+			treeViewer.remove(parent, delta.removed.toArray());
+		}
+		if (!delta.added.isEmpty()) {
+			List<Object> children = Arrays.asList(getChildren(parent));
+			Object[] shown = delta.added.stream()
+					.filter(children::contains)
+					.toArray();
+			if (shown.length > 0) {
+				treeViewer.add(parent, shown);
+			}
+		}
+	}
+
+	/**
+	 * Updates the label of the given element. Removes it if it's not shown by
+	 * its parent any more (ex. a build that completed).
+	 */
+	private void updateViewer(Object element) {
+		Object parent = getParent(element);
+		if (viewer instanceof AbstractTreeViewer
+				&& parent instanceof IResourceContainer
+				&& isLoaded(parent)
+				&& !Arrays.asList(getChildren(parent)).contains(element)) {
+			((AbstractTreeViewer) viewer).remove(parent, new Object[] { element });
+		} else {
+			viewer.update(element, null);
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the children of the given element can be
+	 * computed without loading them.
+	 */
+	private boolean isLoaded(Object element) {
+		if (element instanceof IConnectionWrapper) {
+			return ((IConnectionWrapper) element).getState() == LoadingState.LOADED;
+		} else if (element instanceof IProjectWrapper) {
+			return ((IProjectWrapper) element).getState() == LoadingState.LOADED;
+		}
+		return element instanceof IResourceContainer;
+	}
+
+	private boolean isSelfOrBelow(Object element, Set<Object> ancestors) {
+		return ancestors.contains(element)
+				|| isBelow(element, ancestors);
+	}
+
+	private boolean isBelow(Object element, Set<Object> ancestors) {
+		for (Object parent = getParent(element); parent != null; parent = getParent(parent)) {
+			if (ancestors.contains(parent)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	protected void asyncExec(Runnable r) {
 		if (viewer != null) {
 			Control control = viewer.getControl();
@@ -93,6 +246,28 @@ public class OpenShiftExplorerContentProvider implements ITreeContentProvider {
 		}
 	}
 
+	/**
+	 * The children that were added to and removed from an element since the
+	 * last flush
+	 */
+	private static class ChildrenDelta {
+
+		private final Set<Object> added = new LinkedHashSet<>();
+		private final Set<Object> removed = new LinkedHashSet<>();
+
+		void merge(Collection<?> added, Collection<?> removed) {
+			removed.forEach(child -> {
+				if (!this.added.remove(child)) {
+					this.removed.add(child);
+				}
+			});
+			added.forEach(child -> {
+				this.removed.remove(child);
+				this.added.add(child);
+			});
+		}
+	}
+
 	@Override
 	public void dispose() {
 		model.removeListener(listener);
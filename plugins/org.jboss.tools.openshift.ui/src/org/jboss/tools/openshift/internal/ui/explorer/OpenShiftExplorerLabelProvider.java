@@ -24,6 +24,8 @@ import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.internal.common.ui.OpenShiftCommonImages;
 import org.jboss.tools.openshift.internal.common.ui.explorer.BaseExplorerLabelProvider;
 import org.jboss.tools.openshift.internal.ui.OpenShiftImages;
+import org.jboss.tools.openshift.internal.ui.models.IConnectionWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IProjectWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IResourceWrapper;
 import org.jboss.tools.openshift.internal.ui.models.IServiceWrapper;
 import org.jboss.tools.openshift.internal.ui.wizard.newapp.IApplicationSource;
@@ -118,6 +120,19 @@ public class OpenShiftExplorerLabelProvider extends BaseExplorerLabelProvider {
 
 	@Override
 	public StyledString getStyledText(Object element, int limit) {
+		StyledString text = getElementStyledText(element, limit);
+		if (isStale(element)) {
+			text.append(" (cached)", StyledString.DECORATIONS_STYLER);
+		}
+		return text;
+	}
+
+	private boolean isStale(Object element) {
+		return (element instanceof IConnectionWrapper && ((IConnectionWrapper) element).isStale())
+				|| (element instanceof IProjectWrapper && ((IProjectWrapper) element).isStale());
+	}
+
+	private StyledString getElementStyledText(Object element, int limit) {
 		if (element instanceof IServiceWrapper) {
 			IServiceWrapper d = (IServiceWrapper) element;
 			return style(d.getWrapped().getName(), formatRoute(d.getResourcesOfKind(ResourceKind.ROUTE)), limit);
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.handler;
+
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.jboss.tools.openshift.internal.ui.job.MultiPodLogsJob;
+
+import com.openshift.restclient.model.IReplicationController;
+import com.openshift.restclient.model.IResource;
+import com.openshift.restclient.model.IService;
+
+/**
+ * Shows the logs of all the pods of the selected service, deployment config
+ * or replication controller in a single console.
+ */
+public class AllPodLogsHandler extends AbstractOpenShiftCliHandler {
+
+	@Override
+	protected void handleEvent(ExecutionEvent event) {
+		IResource resource = getSelectedElement(event, IService.class);
+		if (resource == null) {
+			resource = getSelectedElement(event, IReplicationController.class);
+		}
+		if (resource == null) {
+			MessageDialog.openError(HandlerUtil.getActiveShell(event), "No service or deployment selected",
+					"Unable to determine the pods in order to retrieve their logs.");
+			return;
+		}
+		new MultiPodLogsJob(resource).schedule();
+	}
+}
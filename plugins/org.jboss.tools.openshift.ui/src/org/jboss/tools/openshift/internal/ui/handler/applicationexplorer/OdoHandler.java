@@ -14,21 +14,30 @@ import java.util.function.Consumer;
 
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
+import org.jboss.tools.openshift.internal.ui.odo.ExecHelper;
 
 /**
  * @author Red Hat Developers
  */
 public abstract class OdoHandler extends AbstractHandler {
 
+	/**
+	 * Runs the given action in a job. The odo processes that the action executes
+	 * get killed when the job gets canceled.
+	 */
 	protected static void executeInJob(String name, Consumer<IProgressMonitor> action) {
 		Job job = Job.create(name, monitor -> {
 			try {
-				action.accept(monitor);
+				ExecHelper.runWithMonitor(monitor, () -> action.accept(monitor));
 				return Status.OK_STATUS;
 			}
+			catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
 			catch (Exception e) {
 				return OpenShiftUIActivator.statusFactory().errorStatus(e);
 			}
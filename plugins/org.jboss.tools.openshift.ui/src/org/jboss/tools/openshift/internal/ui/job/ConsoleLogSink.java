@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.job;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
+
+/**
+ * A bounded buffer between the readers of pod logs and the (console) stream
+ * that they are written to. The buffer is written to the stream by a thread
+ * of a pool that is shared by all followed logs. Readers are blocked while the
+ * buffer is full so that they stop reading when the console can't keep up.
+ * <p>
+ * The pod logs are read by a bounded pool of threads, one per followed log.
+ * Logs that are followed once all threads are busy are rejected (instead of
+ * waiting for a free thread without any feedback). The number of threads may
+ * be set via the system property
+ * {@code org.jboss.tools.openshift.ui.podLogs.threads}. The class is public
+ * for testing purposes.
+ */
+public class ConsoleLogSink {
+
+	public static final String READER_THREADS_KEY = "org.jboss.tools.openshift.ui.podLogs.threads";
+
+	/** the maximum number of logs that are followed at the same time */
+	static final int READER_THREADS = Math.max(1, Integer.getInteger(READER_THREADS_KEY, 32));
+
+	/**
+	 * the threads that follow the pod logs, throws
+	 * {@link java.util.concurrent.RejectedExecutionException} if all of them are
+	 * busy
+	 */
+	static final ExecutorService READER_EXECUTOR = createExecutor("OpenShift pod log reader", READER_THREADS,
+			new SynchronousQueue<>());
+
+	/** the threads that write the buffered logs to the consoles */
+	private static final ExecutorService WRITER_EXECUTOR = createExecutor("OpenShift pod log writer", 2,
+			new LinkedBlockingQueue<>());
+
+	private static final int DEFAULT_CAPACITY = 1024 * 1024;
+
+	private final OutputStream stream;
+	private final int capacity;
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+	private boolean draining;
+	private boolean closed;
+
+	ConsoleLogSink(OutputStream stream) {
+		this(stream, DEFAULT_CAPACITY);
+	}
+
+	public ConsoleLogSink(OutputStream stream, int capacity) {
+		this.stream = stream;
+		this.capacity = capacity;
+	}
+
+	private static ExecutorService createExecutor(String name, int size, BlockingQueue<Runnable> queue) {
+		AtomicInteger threads = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+				queue, runnable -> {
+					Thread thread = new Thread(runnable, name + " " + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Appends the given bytes to the buffer. Blocks while the buffer is full.
+	 * The given bytes are written to the stream in one piece.
+	 *
+	 * @throws IOException
+	 *             if the sink or the stream was closed
+	 * @throws InterruptedException
+	 */
+	public synchronized void write(byte[] data, int offset, int length) throws IOException, InterruptedException {
+		while (!closed
+				&& buffer.size() >= capacity) {
+			wait();
+		}
+		if (closed) {
+			throw new IOException(PodLogsJob.DOCUMENT_IS_CLOSED);
+		}
+		buffer.write(data, offset, length);
+		if (!draining) {
+			draining = true;
+			WRITER_EXECUTOR.execute(this::drain);
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			byte[] data;
+			synchronized (this) {
+				if (closed
+						|| buffer.size() == 0) {
+					draining = false;
+					notifyAll();
+					return;
+				}
+				data = buffer.toByteArray();
+				buffer.reset();
+				notifyAll();
+			}
+			try {
+				stream.write(data);
+			} catch (IOException e) {
+				if (!PodLogsJob.DOCUMENT_IS_CLOSED.equals(e.getMessage())) {
+					OpenShiftUIActivator.getDefault().getLogger().logError("Exception writing pod logs to console", e);
+				}
+				close();
+			}
+		}
+	}
+
+	/**
+	 * Waits until the buffered bytes were written to the stream and closes this
+	 * sink.
+	 */
+	public synchronized void flush() {
+		try {
+			while (!closed
+					&& (draining || buffer.size() > 0)) {
+				wait();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		close();
+	}
+
+	/**
+	 * Discards the buffered bytes and releases the blocked writers.
+	 */
+	public synchronized void close() {
+		closed = true;
+		buffer.reset();
+		notifyAll();
+	}
+
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+}
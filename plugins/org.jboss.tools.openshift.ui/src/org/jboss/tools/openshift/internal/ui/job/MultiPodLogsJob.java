@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.job;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.IConsoleListener;
+import org.eclipse.ui.console.MessageConsole;
+import org.eclipse.ui.console.MessageConsoleStream;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistryAdapter;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnection;
+import org.jboss.tools.openshift.core.connection.Connection;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
+import org.jboss.tools.openshift.core.connection.ConnectionsRegistryUtil;
+import org.jboss.tools.openshift.internal.common.core.job.AbstractDelegatingMonitorJob;
+import org.jboss.tools.openshift.internal.common.ui.console.ConsoleUtils;
+import org.jboss.tools.openshift.internal.core.WatchManager;
+import org.jboss.tools.openshift.internal.core.ocbinary.OCBinaryOperation;
+import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
+import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
+
+import com.openshift.restclient.OpenShiftException;
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.capability.IBinaryCapability;
+import com.openshift.restclient.capability.resources.IPodLogRetrieval;
+import com.openshift.restclient.model.IContainer;
+import com.openshift.restclient.model.IPod;
+import com.openshift.restclient.model.IResource;
+
+/**
+ * Follows the logs of all the running runtime pods of a deployment config,
+ * replication controller or service in a single console. Each line is
+ * prefixed with the name of the pod (and container) that it comes from. Pods
+ * that are added or removed while the console is open are followed or dropped
+ * as the watch notifies them.
+ */
+public class MultiPodLogsJob extends AbstractDelegatingMonitorJob {
+
+	private static final String POD_STATE_RUNNING = "Running";
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	/** the length at which a line is written even if it is not terminated */
+	public static final int MAX_LINE_LENGTH = 64 * 1024;
+
+	private static final Map<String, PodsFollower> REGISTRY = new ConcurrentHashMap<>();
+
+	private final IResource resource;
+
+	public MultiPodLogsJob(IResource resource) {
+		super("Displaying logs of all pods...");
+		this.resource = resource;
+	}
+
+	@Override
+	protected IStatus doRun(IProgressMonitor monitor) {
+		try {
+			monitor.worked(IProgressMonitor.UNKNOWN);
+			String consoleName = getMessageConsoleName();
+			PodsFollower follower = new PodsFollower(consoleName);
+			if (REGISTRY.putIfAbsent(consoleName, follower) != null) {
+				showConsole(consoleName);
+			} else {
+				follower.start();
+			}
+		} finally {
+			monitor.done();
+		}
+		return Status.OK_STATUS;
+	}
+
+	private MessageConsole showConsole(String name) {
+		final MessageConsole console = ConsoleUtils.findMessageConsole(name);
+		PodLogsJob.limitRetention(console);
+		ConsoleUtils.displayConsoleView(console);
+		return console;
+	}
+
+	private String getMessageConsoleName() {
+		return NLS.bind("{0}\\{1}\\{2} log (all pods)",
+				new Object[] { resource.getNamespaceName(), resource.getKind(), resource.getName() });
+	}
+
+	/**
+	 * Appends the complete lines in the given data to the given lines, each
+	 * prefixed with the given prefix. Keeps the rest in the given line. Made
+	 * public for testing purposes.
+	 */
+	public static void appendLines(byte[] data, int length, byte[] prefix, ByteArrayOutputStream line,
+			ByteArrayOutputStream lines) {
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			if (data[i] == '\n') {
+				lines.write(prefix, 0, prefix.length);
+				lines.write(line.toByteArray(), 0, line.size());
+				lines.write(data, start, i + 1 - start);
+				line.reset();
+				start = i + 1;
+			}
+		}
+		line.write(data, start, length - start);
+		if (line.size() >= MAX_LINE_LENGTH) {
+			appendLine(prefix, line, lines);
+		}
+	}
+
+	/**
+	 * Appends the given (unterminated) line to the given lines, prefixed with
+	 * the given prefix. Made public for testing purposes.
+	 */
+	public static void appendLine(byte[] prefix, ByteArrayOutputStream line, ByteArrayOutputStream lines) {
+		lines.write(prefix, 0, prefix.length);
+		lines.write(line.toByteArray(), 0, line.size());
+		lines.write('\n');
+		line.reset();
+	}
+
+	/**
+	 * Follows the pods of the resource in a console until the console is
+	 * removed.
+	 */
+	private class PodsFollower extends ConnectionsRegistryAdapter implements IConsoleListener {
+
+		private final String consoleName;
+		private final Connection connection;
+		/**
+		 * pod/container -> reader. A reader whose log ended stays so that the
+		 * pod is not followed again, which would replay its whole log.
+		 */
+		private final Map<String, PodLogReader> readers = new ConcurrentHashMap<>();
+		private MessageConsoleStream stream;
+		private ConsoleLogSink sink;
+		private volatile boolean stopped;
+
+		PodsFollower(String consoleName) {
+			this.consoleName = consoleName;
+			this.connection = ConnectionsRegistryUtil.getConnectionFor(resource);
+		}
+
+		void start() {
+			MessageConsole console = showConsole(consoleName);
+			this.stream = console.newMessageStream();
+			stream.setEncoding("UTF-8");
+			this.sink = new ConsoleLogSink(stream);
+			ConsoleUtils.registerConsoleListener(this);
+			ConnectionsRegistrySingleton.getInstance().addListener(this);
+			try {
+				WatchManager.getInstance().startWatch(resource.getProject(), connection);
+				List<IPod> pods = connection.getResources(ResourceKind.POD, resource.getNamespaceName());
+				ResourceUtils.getPodsFor(resource, pods).forEach(this::follow);
+			} catch (OpenShiftException e) {
+				OpenShiftUIActivator.getDefault().getLogger().logError(e);
+			}
+		}
+
+		private void follow(IPod pod) {
+			if (stopped
+					|| !ResourceUtils.isRuntimePod(pod)
+					|| !POD_STATE_RUNNING.equals(pod.getStatus())) {
+				return;
+			}
+			Collection<IContainer> containers = pod.getContainers();
+			for (IContainer container : containers) {
+				String key = pod.getName() + "/" + container.getName();
+				String prefix = containers.size() == 1 ? pod.getName() : key;
+				PodLogReader reader = new PodLogReader(pod, container.getName(), key, prefix);
+				if (readers.putIfAbsent(key, reader) == null) {
+					try {
+						ConsoleLogSink.READER_EXECUTOR.execute(reader);
+					} catch (RejectedExecutionException e) {
+						// allow to retry when the pod changes
+						readers.remove(key, reader);
+						stream.println(NLS.bind("[{0}] Could not follow the log, {1} logs are followed already.",
+								prefix, ConsoleLogSink.READER_THREADS));
+					}
+				}
+			}
+		}
+
+		private void unfollow(IPod pod) {
+			String keyPrefix = pod.getName() + "/";
+			readers.entrySet().removeIf(entry -> {
+				if (!entry.getKey().startsWith(keyPrefix)) {
+					return false;
+				}
+				entry.getValue().stop();
+				return true;
+			});
+		}
+
+		private boolean isFollowed(IPod pod) {
+			return pod.getNamespaceName().equals(resource.getNamespaceName())
+					&& !ResourceUtils.getPodsFor(resource, Collections.singletonList(pod)).isEmpty();
+		}
+
+		@Override
+		public void connectionChanged(IConnection connection, String property, Object oldValue, Object newValue) {
+			if (!this.connection.equals(connection)
+					|| !ConnectionProperties.PROPERTY_RESOURCE.equals(property)) {
+				return;
+			}
+			if (newValue instanceof IPod) {
+				IPod pod = (IPod) newValue;
+				if (isFollowed(pod)) {
+					follow(pod);
+				}
+			} else if (newValue == null
+					&& oldValue instanceof IPod) {
+				unfollow((IPod) oldValue);
+			}
+		}
+
+		@Override
+		public void consolesRemoved(IConsole[] consoles) {
+			for (IConsole console : consoles) {
+				if (console.getName().equals(consoleName)) {
+					stop();
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void consolesAdded(IConsole[] consoles) {
+			// nothing to do
+		}
+
+		private void stop() {
+			stopped = true;
+			ConnectionsRegistrySingleton.getInstance().removeListener(this);
+			ConsoleUtils.deregisterConsoleListener(this);
+			readers.values().forEach(PodLogReader::stop);
+			sink.close();
+			try {
+				stream.close();
+			} catch (IOException e) {
+				OpenShiftUIActivator.getDefault().getLogger().logError("Exception while closing pod log console", e);
+			}
+			REGISTRY.remove(consoleName, this);
+		}
+
+		/**
+		 * Reads the log of a pod container and writes it line by line to the
+		 * console.
+		 */
+		private class PodLogReader extends OCBinaryOperation implements Runnable {
+
+			private final IPod pod;
+			private final String container;
+			private final String key;
+			private final byte[] prefix;
+			private volatile IPodLogRetrieval capability;
+			private volatile boolean running = true;
+			/** whether the log was requested, it is then not requested again */
+			private volatile boolean streamed;
+
+			PodLogReader(IPod pod, String container, String key, String prefix) {
+				this.pod = pod;
+				this.container = container;
+				this.key = key;
+				this.prefix = NLS.bind("[{0}] ", prefix).getBytes(StandardCharsets.UTF_8);
+			}
+
+			void stop() {
+				this.running = false;
+				if (capability != null) {
+					capability.stop();
+				}
+			}
+
+			@Override
+			public void run() {
+				run(connection);
+			}
+
+			@Override
+			protected void runOCBinary() {
+				try {
+					this.capability = pod.getCapability(IPodLogRetrieval.class);
+					if (capability == null
+							|| !running) {
+						return;
+					}
+					InputStream logs = capability.getLogs(true, container, IBinaryCapability.SKIP_TLS_VERIFY);
+					this.streamed = true;
+					byte[] data = new byte[READ_BUFFER_SIZE];
+					ByteArrayOutputStream line = new ByteArrayOutputStream();
+					ByteArrayOutputStream lines = new ByteArrayOutputStream();
+					int read = 0;
+					while (running && (read = PodLogsJob.readSafely(logs, data)) != -1) {
+						appendLines(data, read, prefix, line, lines);
+						write(lines);
+					}
+					if (line.size() > 0) {
+						appendLine(prefix, line, lines);
+						write(lines);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (OpenShiftException e) {
+					OpenShiftUIActivator.getDefault().getLogger().logError(e);
+				} catch (IOException e) {
+					if (!PodLogsJob.DOCUMENT_IS_CLOSED.equals(e.getMessage())) {
+						OpenShiftUIActivator.getDefault().getLogger().logError("Exception reading pod log inputstream",
+								e);
+					}
+				} finally {
+					if (!streamed) {
+						// allow to retry when the pod changes
+						readers.remove(key, this);
+					}
+				}
+			}
+
+			private void write(ByteArrayOutputStream lines) throws IOException, InterruptedException {
+				if (lines.size() > 0) {
+					sink.write(lines.toByteArray(), 0, lines.size());
+					lines.reset();
+				}
+			}
+		}
+	}
+}
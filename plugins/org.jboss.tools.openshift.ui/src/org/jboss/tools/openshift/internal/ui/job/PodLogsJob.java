@@ -12,8 +12,9 @@ package org.jboss.tools.openshift.internal.ui.job;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -43,9 +44,19 @@ import com.openshift.restclient.model.IPod;
  */
 public class PodLogsJob extends AbstractDelegatingMonitorJob {
 
-	private static final String DOCUMENT_IS_CLOSED = "Document is closed";
+	/**
+	 * The number of characters that a pod log console retains at most. Older
+	 * output is discarded once it is exceeded. A value that is not positive
+	 * lets the consoles grow without limit.
+	 */
+	public static final String RETENTION_KEY = "org.jboss.tools.openshift.ui.podLogs.retention";
+
+	static final String DOCUMENT_IS_CLOSED = "Document is closed";
 
-	private static final Map<Key, ConsoleStreamPipe> REGISTRY = new HashMap<>();
+	private static final int RETENTION = Integer.getInteger(RETENTION_KEY, 1_000_000);
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	private static final Map<Key, ConsoleStreamPipe> REGISTRY = new ConcurrentHashMap<>();
 
 	private final Key key;
 
@@ -66,13 +77,20 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 					@Override
 					public ConsoleStreamPipe visit(final IPodLogRetrieval capability) {
 						Connection connection = ConnectionsRegistryUtil.getConnectionFor(key.pod);
-						ConsoleStreamPipe consoleStream = new ConsoleStreamPipe(capability, connection);
-						new Thread(consoleStream).start();
-						return consoleStream;
+						return new ConsoleStreamPipe(capability, connection);
 					}
 
 				}, null);
 				if (pipe != null) {
+					try {
+						ConsoleLogSink.READER_EXECUTOR.execute(pipe);
+					} catch (RejectedExecutionException e) {
+						return new Status(IStatus.ERROR, OpenShiftUIActivator.PLUGIN_ID,
+								NLS.bind("Could not follow the log of pod {0}, {1} logs are followed already.",
+										key.pod.getName(), ConsoleLogSink.READER_THREADS),
+								e);
+					}
+					// only register a pipe whose reader started
 					REGISTRY.put(key, pipe);
 				}
 			}
@@ -84,10 +102,21 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 
 	private MessageConsole showConsole() {
 		final MessageConsole console = ConsoleUtils.findMessageConsole(getMessageConsoleName());
+		limitRetention(console);
 		ConsoleUtils.displayConsoleView(console);
 		return console;
 	}
 
+	/**
+	 * Makes the given console discard its oldest output once it holds more
+	 * than {@link #RETENTION_KEY} characters.
+	 */
+	static void limitRetention(MessageConsole console) {
+		if (RETENTION > 0) {
+			console.setWaterMarks(RETENTION * 4 / 5, RETENTION);
+		}
+	}
+
 	private String getMessageConsoleName() {
 		IPod pod = key.pod;
 		return NLS.bind("{0}\\{1}\\{2} log", new Object[] { pod.getNamespaceName(), pod.getName(), key.container });
@@ -138,8 +167,9 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 	private class ConsoleStreamPipe extends OCBinaryOperation implements Runnable {
 
 		private IPodLogRetrieval capability;
-		private boolean running = true;
+		private volatile boolean running = true;
 		private Connection connection;
+		private volatile ConsoleLogSink sink;
 
 		ConsoleStreamPipe(IPodLogRetrieval capability, Connection connection) {
 			this.capability = capability;
@@ -148,6 +178,9 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 
 		public void stop() {
 			this.running = false;
+			if (sink != null) {
+				sink.close();
+			}
 			capability.stop();
 		}
 
@@ -162,13 +195,16 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 			final MessageConsole console = showConsole();
 			final MessageConsoleStream os = console.newMessageStream();
 			os.setEncoding("UTF-8");
+			this.sink = new ConsoleLogSink(os);
 			try {
 				final InputStream logs = capability.getLogs(true, key.container, IBinaryCapability.SKIP_TLS_VERIFY);
-				byte[] data = new byte[256];
+				byte[] data = new byte[READ_BUFFER_SIZE];
 				int read = 0;
 				while (running && (read = readSafely(logs, data)) != -1 && !os.isClosed()) {
-					os.write(data, 0, read);
+					sink.write(data, 0, read);
 				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 			} catch (OpenShiftException e) {
 				OpenShiftUIActivator.getDefault().getLogger().logError(e);
 				try {
@@ -182,6 +218,7 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 					OpenShiftUIActivator.getDefault().getLogger().logError("Exception reading pod log inputstream", e);
 				}
 			} finally {
+				sink.flush();
 				try {
 					if (os != null)
 						os.close();
@@ -202,15 +239,7 @@ public class PodLogsJob extends AbstractDelegatingMonitorJob {
 	 * @return
 	 * @throws IOException
 	 */
-	private int readSafely(InputStream logs, byte[] data) throws IOException {
-		try {
-			if (logs.available() < 0) {
-				return -1;
-			}
-		} catch (IOException e) {
-			//InputStream.available() may throw exception if the stream is closed externally.
-			return -1;
-		}
+	static int readSafely(InputStream logs, byte[] data) throws IOException {
 		try {
 			return logs.read(data);
 		} catch (IOException e) {
@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.ui.models;
 
+import java.util.Collection;
+
 import org.eclipse.core.runtime.IAdaptable;
 
 /**
@@ -87,6 +89,12 @@ import org.eclipse.core.runtime.IAdaptable;
 		getParent().fireChanged(source);
 	}
 
+	protected void fireChildrenChanged(IOpenshiftUIElement<?, ?, M> source,
+			Collection<? extends IOpenshiftUIElement<?, ?, ?>> added,
+			Collection<? extends IOpenshiftUIElement<?, ?, ?>> removed) {
+		getParent().fireChildrenChanged(source, added, removed);
+	}
+
 	@Override
 	public void refresh() {
 		// since the containment structure depends on the content of a single
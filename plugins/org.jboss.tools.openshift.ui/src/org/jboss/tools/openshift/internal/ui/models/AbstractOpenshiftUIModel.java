@@ -60,12 +60,31 @@ abstract public class AbstractOpenshiftUIModel<R, T extends AbstractOpenshiftUIM
 		}
 	}
 
+	@Override
+	protected void fireChildrenChanged(IOpenshiftUIElement<?, ?, T> source,
+			Collection<? extends IOpenshiftUIElement<?, ?, ?>> added,
+			Collection<? extends IOpenshiftUIElement<?, ?, ?>> removed) {
+		if (Display.getCurrent() != null) {
+			dispatchChildrenChange(source, added, removed);
+		} else {
+			Display.getDefault().asyncExec(() -> dispatchChildrenChange(source, added, removed));
+		}
+	}
+
 	private void dispatchChange(IOpenshiftUIElement<?, ?, T> source) {
-		Collection<IElementListener> copy = new ArrayList<>();
+		getListeners().forEach(l -> l.elementChanged(source));
+	}
+
+	private void dispatchChildrenChange(IOpenshiftUIElement<?, ?, T> source,
+			Collection<? extends IOpenshiftUIElement<?, ?, ?>> added,
+			Collection<? extends IOpenshiftUIElement<?, ?, ?>> removed) {
+		getListeners().forEach(l -> l.childrenChanged(source, added, removed));
+	}
+
+	private Collection<IElementListener> getListeners() {
 		synchronized (listeners) {
-			copy.addAll(listeners);
+			return new ArrayList<>(listeners);
 		}
-		copy.forEach(l -> l.elementChanged(source));
 	}
 	
 	@Override
@@ -10,13 +10,23 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.ui.models;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -25,6 +35,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
+import org.jboss.tools.openshift.common.core.connection.ConnectionChange;
 import org.jboss.tools.openshift.core.connection.ConnectionProperties;
 import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
 import org.jboss.tools.openshift.internal.core.WatchManager;
@@ -54,14 +65,40 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 			ResourceKind.PROJECT 
 			};
 
+	public static final String LOAD_THREADS_KEY = "org.jboss.tools.openshift.ui.project.loadThreads";
+
+	/** the maximum number of resource kinds that are loaded concurrently */
+	private static final int LOAD_THREADS = Integer.getInteger(LOAD_THREADS_KEY, 4);
+	private static final long LOAD_POLL_INTERVAL = 100;
+	private static final ExecutorService LOAD_EXECUTOR = createLoadExecutor();
+	/** the delay after which the snapshot is saved once the resources changed */
+	private static final long SNAPSHOT_DELAY = TimeUnit.SECONDS.toMillis(5);
+
 	private AtomicReference<LoadingState> state = new AtomicReference<>(LoadingState.INIT);
 	private Map<String, ProjectWrapper> projects = new HashMap<>();
 	private ResourceCache resourceCache = new ResourceCache();
+	private volatile boolean stale;
+	private final Job snapshotJob = Job.createSystem("Saving OpenShift explorer snapshot", monitor -> {
+		saveSnapshot();
+		return Status.OK_STATUS;
+	});
 
 	public ConnectionWrapper(OpenshiftUIModel parent, IOpenShiftConnection wrapped) {
 		super(parent, wrapped);
 	}
 
+	private static ExecutorService createLoadExecutor() {
+		AtomicInteger threads = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(LOAD_THREADS, LOAD_THREADS, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "OpenShift resources loader " + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	public Collection<IResourceWrapper<?, ?>> getResources() {
 		synchronized (projects) {
 			return new ArrayList<>(projects.values());
@@ -92,6 +129,11 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 		return state.get();
 	}
 
+	@Override
+	public boolean isStale() {
+		return stale;
+	}
+
 	void initWith(List<IProject> resources) {
 		synchronized (projects) {
 			resources.forEach(project -> 
@@ -118,17 +160,12 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 					IProject project = projectWrapper.getWrapped();
 					IOpenShiftConnection connection = projectWrapper.getParent().getWrapped();
 					WatchManager.getInstance().startWatch(project, connection);
-					Collection<IResource> resources = new HashSet<>();
-					for (String kind : RESOURCE_KINDS) {
-						resources.addAll(getWrapped().getResources(kind, project.getNamespaceName()));
-					}
-					resources.forEach(r -> resourceCache.add(r));
-					projectWrapper.initWithResources(resources);
-					projectWrapper.fireChanged();
+					loadResources(projectWrapper, monitor);
+					scheduleSnapshot();
 				} catch (OperationCanceledException e) {
-					projectWrapper.setLoadingState(LoadingState.LOAD_STOPPED);
+					stopLoading(projectWrapper);
 				} catch (Throwable e) {
-					projectWrapper.setLoadingState(LoadingState.LOAD_STOPPED);
+					stopLoading(projectWrapper);
 					handler.handleException(e);
 				}
 				return Status.OK_STATUS;
@@ -136,16 +173,106 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 		}.schedule();
 	}
 
+	/**
+	 * A project that was restored from the snapshot keeps showing it if it
+	 * can't be loaded.
+	 */
+	private void stopLoading(ProjectWrapper projectWrapper) {
+		if (!projectWrapper.isStale()) {
+			projectWrapper.setLoadingState(LoadingState.LOAD_STOPPED);
+		}
+	}
+
+	/**
+	 * Loads the resources of the given project. All kinds are requested
+	 * concurrently and the project is updated with each kind as soon as it
+	 * arrives so that the kinds that were loaded first are shown while the
+	 * others are still loading. The cached resources of each kind are replaced
+	 * by the listed ones. The resources of a project that was restored from the
+	 * snapshot are shown until they are replaced, the others are dropped.
+	 */
+	private void loadResources(ProjectWrapper projectWrapper, IProgressMonitor monitor) throws Throwable {
+		String namespace = projectWrapper.getWrapped().getNamespaceName();
+		boolean restored = projectWrapper.isStale();
+		if (!restored) {
+			resourceCache.flush(namespace);
+		}
+		List<Future<Map.Entry<String, Collection<IResource>>>> futures = new ArrayList<>(RESOURCE_KINDS.length);
+		CompletionService<Map.Entry<String, Collection<IResource>>> loads = submitLoads(namespace, futures);
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				Map.Entry<String, Collection<IResource>> resources = take(loads, monitor);
+				resourceCache.replace(namespace, resources.getKey(), resources.getValue());
+				Collection<IResource> loaded = resourceCache.getResources(namespace);
+				if (i == 0
+						&& !restored) {
+					projectWrapper.initWithResources(loaded);
+					projectWrapper.fireChanged();
+				} else {
+					projectWrapper.updateWithResources(loaded);
+				}
+			}
+			if (restored) {
+				projectWrapper.setStale(false);
+				projectWrapper.fireChanged();
+			}
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	/**
+	 * Requests the resources of all kinds in the given namespace concurrently.
+	 * 
+	 * @param futures
+	 *            the list that the pending requests are added to
+	 * @return the requests in the order they complete
+	 */
+	private CompletionService<Map.Entry<String, Collection<IResource>>> submitLoads(String namespace,
+			List<Future<Map.Entry<String, Collection<IResource>>>> futures) {
+		CompletionService<Map.Entry<String, Collection<IResource>>> loads = new ExecutorCompletionService<>(
+				LOAD_EXECUTOR);
+		for (String kind : RESOURCE_KINDS) {
+			futures.add(loads.submit(() -> new SimpleImmutableEntry<String, Collection<IResource>>(kind,
+					getWrapped().getResources(kind, namespace))));
+		}
+		return loads;
+	}
+
+	private <T> T take(CompletionService<T> loads, IProgressMonitor monitor) throws Throwable {
+		try {
+			Future<T> future = null;
+			while (future == null) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				future = loads.poll(LOAD_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			}
+			return future.get();
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+	}
+
 	private void startLoadJob(IOpenShiftConnection connection, IExceptionHandler handler) {
 		new Job(NLS.bind("Loading OpenShift server {0}...", connection.getHost())) {
 
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
 				try {
+					boolean restored = restoreSnapshot();
 					List<IProject> projects = connection.getResources(ResourceKind.PROJECT);
-					initWith(projects);
-					state.compareAndSet(LoadingState.LOADING, LoadingState.LOADED);
-					fireChanged();
+					if (restored) {
+						reconcile(projects, handler);
+					} else {
+						initWith(projects);
+						state.compareAndSet(LoadingState.LOADING, LoadingState.LOADED);
+						fireChanged();
+					}
+					scheduleSnapshot();
 				} catch (OperationCanceledException e) {
 					state.compareAndSet(LoadingState.LOADING, LoadingState.LOAD_STOPPED);
 				} catch (Throwable e) {
@@ -157,49 +284,187 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 		}.schedule();
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Shows the projects and resources of the snapshot (if there's one) until
+	 * they are loaded.
+	 * 
+	 * @return true if the snapshot was restored
+	 */
+	private boolean restoreSnapshot() {
+		Map<IProject, Collection<IResource>> snapshot = ExplorerSnapshot.load(getWrapped());
+		if (snapshot == null) {
+			return false;
+		}
+		Map<ProjectWrapper, Collection<IResource>> restored = new HashMap<>();
+		synchronized (projects) {
+			snapshot.forEach((project, resources) -> {
+				ProjectWrapper projectWrapper = new ProjectWrapper(this, project);
+				projects.put(project.getName(), projectWrapper);
+				if (resources != null) {
+					resources.forEach(r -> resourceCache.add(r));
+					restored.put(projectWrapper, resources);
+				}
+			});
+		}
+		restored.keySet().forEach(projectWrapper -> projectWrapper
+				.restoreWithResources(resourceCache.getResources(projectWrapper.getWrapped().getNamespaceName())));
+		stale = true;
+		state.compareAndSet(LoadingState.LOADING, LoadingState.LOADED);
+		fireChanged();
+		return true;
+	}
+
+	/**
+	 * Updates the projects that were restored from the snapshot with the given
+	 * ones and loads the resources of the restored projects again.
+	 */
+	private void reconcile(List<IProject> projects, IExceptionHandler handler) {
+		updateWithResources(projects);
+		stale = false;
+		fireChanged();
+		getResourcesOfType(ProjectWrapper.class).stream()
+				.filter(ProjectWrapper::isStale)
+				.forEach(projectWrapper -> startLoadJob(projectWrapper, handler));
+	}
+
+	/**
+	 * Schedules saving the snapshot unless it is pending already. Scheduling a
+	 * pending job would reset its delay so that the snapshot would never be
+	 * saved while the resources keep changing. A running job is scheduled again
+	 * so that the latest changes are saved, too.
+	 */
+	private void scheduleSnapshot() {
+		if (!ExplorerSnapshot.isEnabled()) {
+			return;
+		}
+		synchronized (snapshotJob) {
+			int jobState = snapshotJob.getState();
+			if (jobState == Job.NONE
+					|| jobState == Job.RUNNING) {
+				snapshotJob.schedule(SNAPSHOT_DELAY);
+			}
+		}
+	}
+
+	/**
+	 * Saves the projects and the resources of the projects that were loaded to
+	 * the snapshot of this connection.
+	 */
+	private void saveSnapshot() {
+		if (getState() != LoadingState.LOADED) {
+			return;
+		}
+		Map<IProject, Collection<IResource>> snapshot = new LinkedHashMap<>();
+		for (ProjectWrapper projectWrapper : getResourcesOfType(ProjectWrapper.class)) {
+			IProject project = projectWrapper.getWrapped();
+			snapshot.put(project, projectWrapper.getState() == LoadingState.LOADED
+					? resourceCache.getResources(project.getNamespaceName())
+					: null);
+		}
+		ExplorerSnapshot.save(getWrapped(), snapshot);
+	}
+
 	void connectionChanged(String property, Object oldValue, Object newValue) {
-		if (ConnectionProperties.PROPERTY_RESOURCE.equals(property)) {
-			if (newValue != null) {
-				IResource newResource = (IResource) newValue;
-				ProjectWrapper projectWrapper = findProjectWrapper(newResource);
+		connectionChanged(Collections.singletonList(new ConnectionChange(property, oldValue, newValue)));
+	}
+
+	/**
+	 * Applies the given changes to the resource cache and then updates each
+	 * project that was affected once.
+	 */
+	@SuppressWarnings("unchecked")
+	void connectionChanged(List<ConnectionChange> changes) {
+		Map<ProjectWrapper, ProjectChanges> changedProjects = new LinkedHashMap<>();
+		for (ConnectionChange change : changes) {
+			if (ConnectionProperties.PROPERTY_RESOURCE.equals(change.getProperty())) {
+				ProjectWrapper projectWrapper = resourceChanged(change.getOldValue(), change.getNewValue());
 				if (projectWrapper != null) {
-					if (projectWrapper.getWrapped().equals(newResource)) {
-						projectWrapper.updateWith((IProject) newResource);
-					} else {
-						IResource oldVersion = resourceCache.getCachedVersion(newResource);
-						if (oldVersion == null) {
-							// it's an add
-							handleAdd(projectWrapper, newResource);
-						} else if (ResourceUtils.isOlder(oldVersion, newResource)) {
-							// it's an update
-							handleUpdate(projectWrapper, newResource);
-						}
-					}
-				} else if (oldValue != null) {
-					// for Pods, which were marked for deletion and whose projects are already deleted
-					resourceCache.remove((IResource) oldValue);
+					changedProjects.computeIfAbsent(projectWrapper, p -> new ProjectChanges())
+							.add((IResource) change.getOldValue(), (IResource) change.getNewValue());
 				}
+			} else if (ConnectionProperties.PROPERTY_PROJECTS.equals(change.getProperty())
+					&& (change.getNewValue() instanceof List)) {
+				updateWithResources((List<IProject>) change.getNewValue());
+			}
+		}
+		changedProjects.forEach((projectWrapper, projectChanges) -> {
+			String namespace = projectWrapper.getWrapped().getNamespaceName();
+			if (findProjectWrapper(namespace) == projectWrapper) {
+				// relying in IResource#equals() definition
+				projectWrapper.updateWithChanges(resourceCache.getResources(namespace), projectChanges.changed,
+						projectChanges.removed);
+			}
+		});
+		if (!changedProjects.isEmpty()) {
+			scheduleSnapshot();
+		}
+	}
+
+	/**
+	 * The resources of a project that were added, changed or removed.
+	 */
+	private static class ProjectChanges {
+		private final List<IResource> changed = new ArrayList<>();
+		private final List<IResource> removed = new ArrayList<>();
+
+		private void add(IResource oldValue, IResource newValue) {
+			if (newValue != null) {
+				changed.add(newValue);
 			} else if (oldValue != null) {
-				IResource oldResource = resourceCache.getCachedVersion((IResource) oldValue);
-				if (oldResource != null) {
-					ProjectWrapper projectWrapper = findProjectWrapper(oldResource);
-					// it's a remove
-					handleRemove(projectWrapper, oldResource);
+				removed.add(oldValue);
+			}
+		}
+	}
+
+	/**
+	 * Applies the given resource change to the resource cache.
+	 * 
+	 * @return the project wrapper whose resources have to be updated or
+	 *         {@code null}
+	 */
+	private ProjectWrapper resourceChanged(Object oldValue, Object newValue) {
+		if (newValue != null) {
+			IResource newResource = (IResource) newValue;
+			ProjectWrapper projectWrapper = findProjectWrapper(newResource);
+			if (projectWrapper != null) {
+				if (projectWrapper.getWrapped().equals(newResource)) {
+					projectWrapper.updateWith((IProject) newResource);
+				} else {
+					IResource oldVersion = resourceCache.getCachedVersion(newResource);
+					if (oldVersion == null) {
+						// it's an add
+						return handleAdd(projectWrapper, newResource);
+					} else if (ResourceUtils.isOlder(oldVersion, newResource)) {
+						// it's an update
+						return handleUpdate(projectWrapper, newResource);
+					}
 				}
-			} else {
-				// old value == null, new value == null, ignore
-				OpenShiftUIActivator.log(IStatus.WARNING, "old and new value are null",
-						new RuntimeException("Warning origing"));
+			} else if (oldValue != null) {
+				// for Pods, which were marked for deletion and whose projects are already deleted
+				resourceCache.remove((IResource) oldValue);
 			}
-		} else if (ConnectionProperties.PROPERTY_PROJECTS.equals(property) && (newValue instanceof List)) {
-			updateWithResources((List<IProject>) newValue);
+		} else if (oldValue != null) {
+			IResource oldResource = resourceCache.getCachedVersion((IResource) oldValue);
+			if (oldResource != null) {
+				ProjectWrapper projectWrapper = findProjectWrapper(oldResource);
+				// it's a remove
+				return handleRemove(projectWrapper, oldResource);
+			}
+		} else {
+			// old value == null, new value == null, ignore
+			OpenShiftUIActivator.log(IStatus.WARNING, "old and new value are null",
+					new RuntimeException("Warning origing"));
 		}
+		return null;
 	}
 
 	private ProjectWrapper findProjectWrapper(IResource resource) {
+		return findProjectWrapper(resource.getNamespaceName());
+	}
+
+	private ProjectWrapper findProjectWrapper(String namespace) {
 		synchronized (projects) {
-			return projects.get(resource.getNamespaceName());
+			return projects.get(namespace);
 		}
 	}
 
@@ -235,14 +500,12 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 		}
 	}
 
-	protected void handleAdd(ProjectWrapper projectWrapper, IResource newResource) {
+	protected ProjectWrapper handleAdd(ProjectWrapper projectWrapper, IResource newResource) {
 		resourceCache.add(newResource);
-		Collection<IResource> resources = resourceCache.getResources(newResource.getProject().getNamespaceName());
-		// relying in IResource#equals() definition
-		projectWrapper.updateWithResources(resources);
+		return projectWrapper;
 	}
 
-	protected void handleRemove(ProjectWrapper projectWrapper, IResource oldResource) {
+	protected ProjectWrapper handleRemove(ProjectWrapper projectWrapper, IResource oldResource) {
 		resourceCache.remove(oldResource);
 		if (oldResource instanceof IProject) {
 			synchronized (projects) {
@@ -250,28 +513,26 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 				resourceCache.flush(oldResource.getName());
 				fireChanged();
 			}
-		} else if (projectWrapper != null) {
-			Collection<IResource> resources = resourceCache.getResources(oldResource.getNamespaceName());
-			projectWrapper.updateWithResources(resources);
+			return null;
 		}
+		return projectWrapper;
 	}
 
-	protected void handleUpdate(ProjectWrapper projectWrapper, IResource newResource) {
-		resourceCache.remove(newResource);
-		resourceCache.add(newResource);
-		Collection<IResource> resources = resourceCache.getResources(newResource.getNamespaceName());
-		// relying in IResource#equals() definition
-		projectWrapper.updateWithResources(resources);
+	protected ProjectWrapper handleUpdate(ProjectWrapper projectWrapper, IResource newResource) {
+		resourceCache.update(newResource);
+		return projectWrapper;
 	}
 
 	@Override
 	public void refresh() {
 		updateWithResources(loadProjects());
 		state.set(LoadingState.LOADED);
+		stale = false;
 		fireChanged();
 		for (ProjectWrapper project : new ArrayList<>(projects.values())) {
 			project.refresh();
 		}
+		scheduleSnapshot();
 	}
 
 	private List<IProject> loadProjects() {
@@ -279,17 +540,45 @@ public class ConnectionWrapper extends AbstractOpenshiftUIElement<IOpenShiftConn
 	}
 
 	void refresh(ProjectWrapper projectWrapper) {
-		resourceCache.flush(projectWrapper.getWrapped().getNamespaceName());
 		IProject project = projectWrapper.getWrapped();
+		String namespace = project.getNamespaceName();
+		resourceCache.flush(namespace);
 		IOpenShiftConnection connection = projectWrapper.getParent().getWrapped();
 		WatchManager.getInstance().stopWatch(project, connection);
 		WatchManager.getInstance().startWatch(project, connection);
-		Collection<IResource> resources = new HashSet<>();
-		for (String kind : RESOURCE_KINDS) {
-			resources.addAll(getWrapped().getResources(kind, project.getNamespaceName()));
+		List<Future<Map.Entry<String, Collection<IResource>>>> futures = new ArrayList<>(RESOURCE_KINDS.length);
+		CompletionService<Map.Entry<String, Collection<IResource>>> loads = submitLoads(namespace, futures);
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				Map.Entry<String, Collection<IResource>> resources = take(loads);
+				resourceCache.replace(namespace, resources.getKey(), resources.getValue());
+			}
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+		projectWrapper.updateWithResources(resourceCache.getResources(namespace));
+		projectWrapper.setStale(false);
+		scheduleSnapshot();
+	}
+
+	/**
+	 * Waits for the next request to complete. Rethrows the runtime exceptions
+	 * that the request failed with.
+	 */
+	private <T> T take(CompletionService<T> loads) {
+		try {
+			return loads.take().get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
 		}
-		resources.forEach(r -> resourceCache.add(r));
-		projectWrapper.updateWithResources(resources);
 	}
 
 }
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.models;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.core.runtime.IStatus;
+import org.jboss.dmr.ModelNode;
+import org.jboss.tools.openshift.core.connection.Connection;
+import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
+
+import com.openshift.restclient.IResourceFactory;
+import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
+
+/**
+ * The last known projects and resources of a connection, persisted in the
+ * state location of the plugin so that the explorer may show them right away
+ * when it is opened again. The snapshot is a gzipped stream of the compact
+ * json of the projects, each followed by the resources that were loaded for
+ * it. Only what the explorer shows and relates the resources by is kept
+ * (names, labels, selectors, triggers, status etc.). Container environments,
+ * commands, volumes, template objects and parameters etc. are dropped so that
+ * no credentials end up in the snapshot. It may be disabled via the system
+ * property {@code org.jboss.tools.openshift.ui.explorer.snapshot}. Made
+ * public for testing purposes.
+ */
+public class ExplorerSnapshot {
+
+	static final String ENABLED_KEY = "org.jboss.tools.openshift.ui.explorer.snapshot";
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_KEY, "true"));
+	private static final int VERSION = 2;
+	private static final String FOLDER = "snapshots";
+	private static final String SUFFIX = ".snapshot";
+	private static final String TMP_PREFIX = "snapshot";
+	/** resources that were not loaded for a project */
+	private static final int NOT_LOADED = -1;
+
+	/** the properties of the resources that are kept */
+	private static final String[] RESOURCE_KEYS = { "apiVersion", "kind", "metadata", "spec", "status",
+			"involvedObject", "reason", "message", "type", "count", "firstTimestamp", "lastTimestamp" };
+	private static final String[] METADATA_KEYS = { "name", "namespace", "uid", "resourceVersion",
+			"creationTimestamp", "deletionTimestamp", "labels", "annotations", "ownerReferences" };
+	private static final String[] SPEC_KEYS = { "selector", "replicas", "triggers", "output", "to", "host",
+			"path", "port", "ports", "clusterIP", "type", "tags", "dockerImageRepository", "accessModes",
+			"resources", "volumeName", "storageClassName", "nodeName" };
+	private static final String[] CONTAINER_KEYS = { "name", "image", "ports" };
+	private static final String[] SOURCE_KEYS = { "type", "contextDir" };
+	private static final String[] GIT_KEYS = { "uri", "ref" };
+	private static final String LAST_APPLIED_CONFIGURATION = "kubectl.kubernetes.io/last-applied-configuration";
+
+	private ExplorerSnapshot() {
+	}
+
+	static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Reads the snapshot of the given connection.
+	 *
+	 * @return the projects and their resources (or {@code null} if they were not
+	 *         loaded) or {@code null} if there's no snapshot
+	 */
+	static Map<IProject, Collection<IResource>> load(IOpenShiftConnection connection) {
+		File file = getFile(connection);
+		if (file == null) {
+			return null;
+		}
+		return load(file, ((Connection) connection).getResourceFactory());
+	}
+
+	/**
+	 * Reads the snapshot in the given file. A file that was written by another
+	 * version or that cannot be read is deleted.
+	 *
+	 * @return the projects and their resources (or {@code null} if they were not
+	 *         loaded) or {@code null} if there's no (valid) snapshot
+	 */
+	public static Map<IProject, Collection<IResource>> load(File file, IResourceFactory factory) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file.toPath()))))) {
+			if (in.readInt() != VERSION) {
+				// may have been written with all the properties of the resources
+				file.delete();
+				return null;
+			}
+			int projectCount = in.readInt();
+			Map<IProject, Collection<IResource>> projects = new LinkedHashMap<>(projectCount);
+			for (int i = 0; i < projectCount; i++) {
+				IProject project = factory.create(readJson(in));
+				int resourceCount = in.readInt();
+				List<IResource> resources = null;
+				if (resourceCount != NOT_LOADED) {
+					resources = new ArrayList<>(resourceCount);
+					for (int j = 0; j < resourceCount; j++) {
+						resources.add(factory.create(readJson(in)));
+					}
+				}
+				projects.put(project, resources);
+			}
+			return projects;
+		} catch (IOException | RuntimeException e) {
+			OpenShiftUIActivator.log(IStatus.WARNING,
+					"Could not read the explorer snapshot " + file.getAbsolutePath(), e);
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Replaces the snapshot of the given connection.
+	 *
+	 * @param projects
+	 *            the projects and their resources (or {@code null} if they were
+	 *            not loaded)
+	 */
+	static void save(IOpenShiftConnection connection, Map<IProject, Collection<IResource>> projects) {
+		File file = getFile(connection);
+		if (file == null) {
+			return;
+		}
+		save(file, projects);
+	}
+
+	/**
+	 * Replaces the snapshot in the given file.
+	 *
+	 * @param projects
+	 *            the projects and their resources (or {@code null} if they were
+	 *            not loaded)
+	 */
+	public static void save(File file, Map<IProject, Collection<IResource>> projects) {
+		File tmpFile = null;
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			tmpFile = File.createTempFile(TMP_PREFIX, SUFFIX, file.getParentFile());
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmpFile.toPath()))))) {
+				out.writeInt(VERSION);
+				out.writeInt(projects.size());
+				for (Map.Entry<IProject, Collection<IResource>> entry : projects.entrySet()) {
+					writeJson(entry.getKey(), out);
+					Collection<IResource> resources = entry.getValue();
+					if (resources == null) {
+						out.writeInt(NOT_LOADED);
+					} else {
+						out.writeInt(resources.size());
+						for (IResource resource : resources) {
+							writeJson(resource, out);
+						}
+					}
+				}
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | RuntimeException e) {
+			OpenShiftUIActivator.log(IStatus.WARNING,
+					"Could not write the explorer snapshot " + file.getAbsolutePath(), e);
+		} finally {
+			if (tmpFile != null) {
+				tmpFile.delete();
+			}
+		}
+	}
+
+	static void delete(IOpenShiftConnection connection) {
+		File file = getFile(connection);
+		if (file != null) {
+			file.delete();
+		}
+	}
+
+	private static void writeJson(IResource resource, DataOutputStream out) throws IOException {
+		byte[] json = prune(ModelNode.fromJSONString(resource.toJson(true))).toJSONString(true)
+				.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(json.length);
+		out.write(json);
+	}
+
+	/**
+	 * Returns a copy of the given resource with only the properties that the
+	 * explorer needs.
+	 */
+	public static ModelNode prune(ModelNode resource) {
+		ModelNode pruned = copy(resource, new ModelNode(), RESOURCE_KEYS);
+		ModelNode metadata = copy(resource.get("metadata"), new ModelNode(), METADATA_KEYS);
+		if (metadata.hasDefined("annotations")) {
+			ModelNode annotations = new ModelNode();
+			ModelNode original = metadata.get("annotations");
+			original.keys().stream()
+					.filter(key -> !LAST_APPLIED_CONFIGURATION.equals(key))
+					.forEach(key -> annotations.get(key).set(original.get(key)));
+			metadata.get("annotations").set(annotations);
+		}
+		pruned.get("metadata").set(metadata);
+		if (resource.hasDefined("spec")) {
+			pruned.get("spec").set(pruneSpec(resource.get("spec")));
+		}
+		if (resource.hasDefined("image")) {
+			// image stream tags, keep the name of the image, not its config
+			pruned.get("image").get("metadata").set(
+					copy(resource.get("image").get("metadata"), new ModelNode(), METADATA_KEYS));
+		}
+		return pruned;
+	}
+
+	private static ModelNode pruneSpec(ModelNode spec) {
+		ModelNode pruned = copy(spec, new ModelNode(), SPEC_KEYS);
+		if (spec.hasDefined("source")) {
+			ModelNode source = copy(spec.get("source"), new ModelNode(), SOURCE_KEYS);
+			if (spec.get("source").hasDefined("git")) {
+				source.get("git").set(copy(spec.get("source").get("git"), new ModelNode(), GIT_KEYS));
+			}
+			pruned.get("source").set(source);
+		}
+		if (spec.hasDefined("containers")) {
+			ModelNode containers = pruned.get("containers").setEmptyList();
+			spec.get("containers").asList()
+					.forEach(container -> containers.add(copy(container, new ModelNode(), CONTAINER_KEYS)));
+		}
+		if (spec.hasDefined("template")
+				&& spec.get("template").hasDefined("spec")) {
+			// pod template of deployment configs and replication controllers
+			ModelNode template = pruned.get("template");
+			template.get("metadata").set(
+					copy(spec.get("template").get("metadata"), new ModelNode(), METADATA_KEYS));
+			template.get("spec").set(pruneSpec(spec.get("template").get("spec")));
+		}
+		return pruned;
+	}
+
+	private static ModelNode copy(ModelNode source, ModelNode target, String... keys) {
+		if (!source.isDefined()) {
+			return target;
+		}
+		for (String key : keys) {
+			if (source.hasDefined(key)) {
+				target.get(key).set(source.get(key));
+			}
+		}
+		return target;
+	}
+
+	private static String readJson(DataInputStream in) throws IOException {
+		byte[] json = new byte[in.readInt()];
+		in.readFully(json);
+		return new String(json, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the snapshot file of the given connection. Only connections that
+	 * can re-create resources from json have one.
+	 */
+	private static File getFile(IOpenShiftConnection connection) {
+		OpenShiftUIActivator plugin = OpenShiftUIActivator.getDefault();
+		if (!ENABLED
+				|| plugin == null
+				|| !(connection instanceof Connection)
+				|| connection.getHost() == null) {
+			return null;
+		}
+		String key = (connection.getUsername() + "@" + connection.getHost()).replaceAll("[^a-zA-Z0-9.@-]", "_");
+		return plugin.getStateLocation().append(FOLDER).append(key + SUFFIX).toFile();
+	}
+}
@@ -35,4 +35,10 @@ public interface IConnectionWrapper extends IOpenshiftUIElement<IOpenShiftConnec
 	 * @return whether a load job has been started.
 	 */
 	boolean load(IExceptionHandler handler);
+
+	/**
+	 * @return whether the projects shown are the ones of the last session and
+	 *         were not loaded yet.
+	 */
+	boolean isStale();
 }
@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.ui.models;
 
+import java.util.Collection;
+
 /**
  * Listener interface for changes to elements of the OpenShift ui model.
  * Notifications will happen on the UI thread.
@@ -25,4 +27,22 @@ public interface IElementListener {
 	 *            the changed element.
 	 */
 	void elementChanged(IOpenshiftUIElement<?, ?, ?> element);
+
+	/**
+	 * Notification that children were added to and/or removed from the given
+	 * element. The element itself and the children that were kept did not
+	 * change. Defaults to {@link #elementChanged(IOpenshiftUIElement)} for the
+	 * parent.
+	 * 
+	 * @param parent
+	 *            the element whose children changed.
+	 * @param added
+	 *            the children that were added.
+	 * @param removed
+	 *            the children that were removed.
+	 */
+	default void childrenChanged(IOpenshiftUIElement<?, ?, ?> parent, Collection<? extends IOpenshiftUIElement<?, ?, ?>> added,
+			Collection<? extends IOpenshiftUIElement<?, ?, ?>> removed) {
+		elementChanged(parent);
+	}
 }
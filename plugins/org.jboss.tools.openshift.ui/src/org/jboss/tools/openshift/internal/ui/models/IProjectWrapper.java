@@ -34,4 +34,10 @@ public interface IProjectWrapper
 	 * @return whether a load job has been started.
 	 */
 	boolean load(IExceptionHandler handler);
+
+	/**
+	 * @return whether the resources shown are the ones of the last session and
+	 *         were not loaded yet.
+	 */
+	boolean isStale();
 }
@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.swt.widgets.Display;
+import org.jboss.tools.openshift.common.core.connection.ConnectionChange;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistry;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
 import org.jboss.tools.openshift.common.core.connection.IConnection;
@@ -61,6 +62,15 @@ public class OpenshiftUIModel extends AbstractOpenshiftUIModel<ConnectionsRegist
 				connection.connectionChanged(property, oldValue, newValue);
 			}
 
+			@Override
+			public void connectionChanged(IConnection c, List<ConnectionChange> changes) {
+				ConnectionWrapper connection = connections.get(c);
+				if (connection == null) {
+					return;
+				}
+				connection.connectionChanged(changes);
+			}
+
 			@Override
 			public void connectionAdded(IConnection connection) {
 				if (!(connection instanceof IOpenShiftConnection)) {
@@ -97,6 +107,9 @@ public class OpenshiftUIModel extends AbstractOpenshiftUIModel<ConnectionsRegist
 		synchronized (connections) {
 			connections.remove(connection);
 		}
+		if (connection instanceof IOpenShiftConnection) {
+			ExplorerSnapshot.delete((IOpenShiftConnection) connection);
+		}
 	}
 
 	public Collection<ConnectionWrapper> getConnections() {
@@ -10,14 +10,23 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.ui.models;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import org.jboss.tools.openshift.core.OpenShiftAPIAnnotations;
+import org.jboss.tools.openshift.internal.core.util.ResourceRelationIndex;
+import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IDeploymentConfig;
+import com.openshift.restclient.model.IPod;
 import com.openshift.restclient.model.IProject;
 import com.openshift.restclient.model.IReplicationController;
 import com.openshift.restclient.model.IResource;
@@ -25,6 +34,13 @@ import com.openshift.restclient.model.IService;
 
 public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrapper> implements IProjectWrapper {
 	private AtomicReference<LoadingState> state = new AtomicReference<LoadingState>(LoadingState.INIT);
+	/** the kinds (besides pods) whose changes may relate them to services or deployment configs */
+	private static final Set<String> RELATED_KINDS = new HashSet<>(Arrays.asList(ResourceKind.BUILD,
+			ResourceKind.BUILD_CONFIG, ResourceKind.DEPLOYMENT_CONFIG, ResourceKind.IMAGE_STREAM_TAG,
+			ResourceKind.REPLICATION_CONTROLLER, ResourceKind.ROUTE, ResourceKind.SERVICE));
+
+	private final ResourceRelationIndex relations = new ResourceRelationIndex();
+	private volatile boolean stale;
 
 	public ProjectWrapper(ConnectionWrapper parent, IProject resource) {
 		super(parent, resource);
@@ -38,6 +54,15 @@ public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrappe
 		state.set(newState);
 	}
 
+	@Override
+	public boolean isStale() {
+		return stale;
+	}
+
+	void setStale(boolean stale) {
+		this.stale = stale;
+	}
+
 	public boolean load(IExceptionHandler handler) {
 		if (state.compareAndSet(LoadingState.INIT, LoadingState.LOADING)) {
 			getParent().startLoadJob(this, handler);
@@ -48,30 +73,71 @@ public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrappe
 
 	@Override
 	protected void postUpdate(Collection<IResource> resources, Map<IResource, AbstractResourceWrapper<?, ?>> updated,
-			boolean changed) {
+			boolean changed, Collection<IResource> changes) {
 		if (changed || !updated.isEmpty()) {
-			// we need to update all services. Any resource change may have
-			// changed to related
+			// any resource change may have changed the related resources of the
+			// services and deployment configs. Only the ones that may be affected
+			// by the given changes are updated, all of them if they're not known.
+			Set<String> changedKeys = changes == null ? null : changes.stream()
+					.map(ProjectWrapper::getKey)
+					.collect(Collectors.toSet());
 			getResources().forEach(wrapper -> {
 				if (wrapper instanceof ServiceWrapper) {
 					ServiceWrapper service = (ServiceWrapper) wrapper;
-					Collection<IResource> relatedResources = ServiceResourceMapper
-							.computeRelatedResources(service.getWrapped(), resources);
-					service.updateWithResources(relatedResources);
+					if (isAffected(service, changes, changedKeys)) {
+						Collection<IResource> relatedResources = ServiceResourceMapper
+								.computeRelatedResources(service.getWrapped(), relations);
+						service.updateWithResources(relatedResources);
+					}
 				} else if (wrapper instanceof ReplicationControllerWrapper) {
 					ReplicationControllerWrapper dcWrapper = (ReplicationControllerWrapper) wrapper;
-					Collection<IResource> relatedresources = getRelatedResources(resources, wrapper);
-					dcWrapper.updateWithResources(relatedresources);
+					if (isAffected(dcWrapper, changes, changedKeys)) {
+						Collection<IResource> relatedresources = getRelatedResources(wrapper);
+						dcWrapper.updateWithResources(relatedresources);
+					}
 				}
 			});
 		}
 	}
 
-	private Collection<IResource> getRelatedResources(Collection<IResource> resources, IResourceWrapper<?, ?> wrapper) {
+	/**
+	 * Returns {@code true} if the related resources of the given service or
+	 * deployment config wrapper may be affected by the given changes. This is
+	 * the case if the wrapper or one of its related resources changed or if a
+	 * changed resource may become related to it.
+	 */
+	private boolean isAffected(ResourceContainer<?, ?> wrapper, Collection<IResource> changes,
+			Set<String> changedKeys) {
+		if (changes == null
+				|| changedKeys.contains(getKey(wrapper.getWrapped()))
+				|| wrapper.getResources().stream().anyMatch(child -> changedKeys.contains(getKey(child.getWrapped())))) {
+			return true;
+		}
+		return changes.stream().anyMatch(resource -> mayBecomeRelated(wrapper.getWrapped(), resource));
+	}
+
+	private boolean mayBecomeRelated(IResource wrapped, IResource resource) {
+		if (resource instanceof IPod
+				&& !resource.isAnnotatedWith(OpenShiftAPIAnnotations.BUILD_NAME)) {
+			// the pods of a deployment config are selected by its services, too
+			Map<String, String> selector = (wrapped instanceof IService) 
+					? ((IService) wrapped).getSelector()
+					: ((IReplicationController) wrapped).getReplicaSelector();
+			return ResourceUtils.containsAll(selector, resource.getLabels());
+		}
+		return RELATED_KINDS.contains(resource.getKind())
+				|| resource.isAnnotatedWith(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME);
+	}
+
+	private static String getKey(IResource resource) {
+		return resource.getKind() + "/" + resource.getName();
+	}
+
+	private Collection<IResource> getRelatedResources(IResourceWrapper<?, ?> wrapper) {
 		Collection<IResource> relatedresources = (ResourceKind.DEPLOYMENT_CONFIG.equals(wrapper.getWrapped().getKind()))
-				? ServiceResourceMapper.computeRelatedResources((IDeploymentConfig) wrapper.getWrapped(), resources)
+				? ServiceResourceMapper.computeRelatedResources((IDeploymentConfig) wrapper.getWrapped(), relations)
 				: ServiceResourceMapper.computeRelatedResources((IReplicationController) wrapper.getWrapped(),
-						resources);
+						relations);
 		return relatedresources;
 	}
 
@@ -81,15 +147,15 @@ public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrappe
 		if (r instanceof IService) {
 			ServiceWrapper newService = new ServiceWrapper(ProjectWrapper.this, (IService) r);
 			Collection<IResource> relatedResources = ServiceResourceMapper.computeRelatedResources((IService) r,
-					resources);
+					relations);
 			newService.initWithResources(relatedResources);
 			newWrapper = newService;
 		} else if ((ResourceKind.DEPLOYMENT_CONFIG.equals(r.getKind())
 				|| (ResourceKind.REPLICATION_CONTROLLER.equals(r.getKind())
 						&& !r.isAnnotatedWith(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME)))
-				&& ServiceResourceMapper.getServices((IReplicationController) r, resources).isEmpty()) {
+				&& ServiceResourceMapper.getServices((IReplicationController) r, relations).isEmpty()) {
 			ReplicationControllerWrapper dcWrapper = new ReplicationControllerWrapper(this, (IReplicationController) r);
-			Collection<IResource> relatedResource = getRelatedResources(resources, dcWrapper);
+			Collection<IResource> relatedResource = getRelatedResources(dcWrapper);
 			dcWrapper.initWithResources(relatedResource);
 			newWrapper = dcWrapper;
 		} else {
@@ -98,12 +164,52 @@ public class ProjectWrapper extends ResourceContainer<IProject, ConnectionWrappe
 		return newWrapper;
 	}
 
+	@Override
+	void updateWithResources(Collection<IResource> resources) {
+		// index before the wrappers get created and updated, only changed
+		// resources are re-indexed
+		relations.update(resources);
+		super.updateWithResources(resources);
+	}
+
+	/**
+	 * Replaces the contained resources with the given ones, of which only the
+	 * given ones changed. Only the changed resources are re-indexed and only the
+	 * relations of the services and deployment configs that they may affect are
+	 * updated.
+	 * 
+	 * @param resources
+	 *            all the resources of this project
+	 * @param changed
+	 *            the resources that were added or changed
+	 * @param removed
+	 *            the resources that were removed
+	 */
+	void updateWithChanges(Collection<IResource> resources, Collection<IResource> changed,
+			Collection<IResource> removed) {
+		changed.forEach(relations::upsert);
+		removed.forEach(relations::delete);
+		List<IResource> changes = new ArrayList<>(changed);
+		changes.addAll(removed);
+		super.updateWithResources(resources, changes);
+	}
+
 	@Override
 	void initWithResources(Collection<IResource> resources) {
+		relations.update(resources);
 		super.initWithResources(resources);
 		state.set(LoadingState.LOADED);
 	}
 
+	/**
+	 * Shows the given resources, that were restored from a snapshot, until the
+	 * resources are loaded.
+	 */
+	void restoreWithResources(Collection<IResource> resources) {
+		stale = true;
+		initWithResources(resources);
+	}
+
 	@Override
 	public void refresh() {
 		getParent().refresh(this);
@@ -23,7 +23,7 @@ class ReplicationControllerWrapper extends ResourceContainer<IReplicationControl
 	}
 
 	protected void postUpdate(Collection<IResource> resources, Map<IResource, AbstractResourceWrapper<?, ?>> updated,
-			boolean changed) {
+			boolean changed, Collection<IResource> changes) {
 		// do nothing
 
 	}
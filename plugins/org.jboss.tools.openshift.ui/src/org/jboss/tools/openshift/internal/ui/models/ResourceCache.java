@@ -13,80 +13,66 @@ package org.jboss.tools.openshift.internal.ui.models;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang.StringUtils;
 import org.jboss.tools.openshift.internal.core.Trace;
+import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.model.IResource;
 
+/**
+ * A cache of resources that is indexed by namespace, kind and name. Changes to
+ * the resources of a namespace do not block the access to the resources of
+ * other namespaces.
+ */
 class ResourceCache {
-	private Map<String, Map<String, IResource>> cache = new HashMap<String, Map<String, IResource>>();
+
+	/** namespace -> kind -> name -> resource */
+	private final Map<String, Map<String, Map<String, IResource>>> cache = new ConcurrentHashMap<>();
 
 	public void dispose() {
 		flush();
 	}
 
 	public void flush() {
-		synchronized (cache) {
-			cache.clear();
-		}
+		cache.clear();
 	}
 
 	public void flush(String namespace) {
-		synchronized (cache) {
-			cache.remove(namespace);
-		}
-	}
-
-	/**
-	 * Key for caching an object
-	 * 
-	 * @param resource
-	 * @return
-	 */
-	private String getCacheKey(IResource resource) {
-		return getCacheKey(resource.getKind(), resource.getName());
-	}
-
-	private String getCacheKey(String kind, String name) {
-		return kind + "/" + name;
+		cache.remove(normalize(namespace));
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T extends IResource> T getResource(String namespace, String kind, String name) {
-		synchronized (cache) {
-			Map<String, IResource> projectResources = cache.get(namespace);
-			if (projectResources != null) {
-				return (T) projectResources.get(getCacheKey(kind, name));
-			}
-			return null;
+		Map<String, IResource> resourcesByName = getResourcesByName(namespace, kind);
+		if (resourcesByName != null) {
+			return (T) resourcesByName.get(normalize(name));
 		}
+		return null;
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T extends IResource> Collection<T> getResources(String namespace, String kind) {
-		synchronized (cache) {
-
-			Map<String, IResource> projectResources = cache.get(namespace);
-			if (projectResources != null) {
-				return projectResources.values().stream().filter(r -> kind.equals(r.getKind())).map(r -> (T) r)
-						.collect(Collectors.toList());
-			}
-			return Collections.emptyList();
+		Map<String, IResource> resourcesByName = getResourcesByName(namespace, kind);
+		if (resourcesByName != null) {
+			return new ArrayList<T>((Collection<T>) resourcesByName.values());
 		}
+		return Collections.emptyList();
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T extends IResource> Collection<T> getResources(String namespace) {
-		synchronized (cache) {
-			Map<String, IResource> projectResources = cache.get(namespace);
-			if (projectResources != null) {
-				return new ArrayList<T>((Collection<T>) projectResources.values());
-			}
-			return Collections.emptyList();
+		Map<String, Map<String, IResource>> projectResources = cache.get(normalize(namespace));
+		if (projectResources != null) {
+			Collection<T> resources = new ArrayList<>();
+			projectResources.values().forEach(resourcesByName -> resources.addAll((Collection<T>) resourcesByName.values()));
+			return resources;
 		}
+		return Collections.emptyList();
 	}
 
 	/**
@@ -97,33 +83,28 @@ class ResourceCache {
 	public boolean add(IResource resource) {
 		if (resource == null)
 			return false;
-		synchronized (cache) {
-			if (getCachedVersion(resource) != null) {
-				Trace.debug("-->Returning early since already processed {0}", resource);
-				return false;
-			}
-			putIntoCache(resource);
+		if (getOrCreateResourcesByName(resource).putIfAbsent(normalize(resource.getName()), resource) != null) {
+			Trace.debug("-->Returning early since already processed {0}", resource);
+			return false;
 		}
 		return true;
 	}
 
-	private void removeFromCache(IResource resource) {
-		Map<String, IResource> projectResources = cache.get(getNamespace(resource));
-		if (projectResources != null) {
-			projectResources.remove(getCacheKey(resource));
-			if (projectResources.isEmpty()) {
-				cache.remove(getNamespace(resource));
-			}
+	private Map<String, IResource> getResourcesByName(String namespace, String kind) {
+		Map<String, Map<String, IResource>> projectResources = cache.get(normalize(namespace));
+		if (projectResources == null) {
+			return null;
 		}
+		return projectResources.get(normalize(kind));
 	}
 
-	private void putIntoCache(IResource resource) {
-		Map<String, IResource> projectResources = cache.get(getNamespace(resource));
-		if (projectResources == null) {
-			projectResources = new HashMap<String, IResource>();
-			cache.put(getNamespace(resource), projectResources);
-		}
-		projectResources.put(getCacheKey(resource), resource);
+	private Map<String, IResource> getOrCreateResourcesByName(IResource resource) {
+		return cache.computeIfAbsent(normalize(getNamespace(resource)), namespace -> new ConcurrentHashMap<>())
+				.computeIfAbsent(normalize(resource.getKind()), kind -> new ConcurrentHashMap<>());
+	}
+
+	private static String normalize(String key) {
+		return StringUtils.defaultString(key);
 	}
 
 	public String getNamespace(IResource resource) {
@@ -142,8 +123,9 @@ class ResourceCache {
 	public boolean remove(IResource resource) {
 		if (resource == null)
 			return false;
-		synchronized (cache) {
-			removeFromCache(resource);
+		Map<String, IResource> resourcesByName = getResourcesByName(getNamespace(resource), resource.getKind());
+		if (resourcesByName != null) {
+			resourcesByName.remove(normalize(resource.getName()));
 		}
 		return true;
 
@@ -157,19 +139,43 @@ class ResourceCache {
 	public boolean update(IResource resource) {
 		if (resource == null)
 			return false;
-		synchronized (cache) {
-			if (isUpToDate(resource)) {
+		boolean[] updated = new boolean[1];
+		getOrCreateResourcesByName(resource).compute(normalize(resource.getName()), (name, cachedVersion) -> {
+			if (isUpToDate(cachedVersion, resource)) {
 				Trace.debug("-->Returning early since already have this change: {0}", resource);
-				return false;
+				return cachedVersion;
 			}
-			putIntoCache(resource);
+			updated[0] = true;
+			return resource;
+		});
+		return updated[0];
+	}
+
+	/**
+	 * Replaces the cached resources of the given kind in the given namespace
+	 * with the given ones. Cached resources that are not given are removed,
+	 * the others are updated unless the cached version is newer.
+	 *
+	 * @param namespace
+	 * @param kind
+	 * @param resources
+	 */
+	public void replace(String namespace, String kind, Collection<? extends IResource> resources) {
+		Map<String, IResource> resourcesByName = getResourcesByName(namespace, kind);
+		if (resourcesByName != null) {
+			Set<String> names = resources.stream()
+					.map(resource -> normalize(resource.getName()))
+					.collect(Collectors.toSet());
+			resourcesByName.keySet().retainAll(names);
 		}
-		return true;
+		resources.forEach(this::update);
 	}
 
 	public boolean isUpToDate(IResource resource) {
-		IResource cachedVersion = getCachedVersion(resource);
-		return cachedVersion != null && Integer.parseInt(cachedVersion.getResourceVersion()) >= Integer
-				.parseInt(resource.getResourceVersion());
+		return isUpToDate(getCachedVersion(resource), resource);
+	}
+
+	private boolean isUpToDate(IResource cachedVersion, IResource resource) {
+		return cachedVersion != null && !ResourceUtils.isOlder(cachedVersion, resource);
 	}
 }
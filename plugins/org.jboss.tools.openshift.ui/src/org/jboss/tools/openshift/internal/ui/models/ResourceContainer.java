@@ -13,9 +13,12 @@ package org.jboss.tools.openshift.internal.ui.models;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
+
 import com.openshift.restclient.model.IResource;
 
 abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshiftUIElement<?, ?, OpenshiftUIModel>>
@@ -50,9 +53,27 @@ abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshif
 		return result;
 	}
 
+	/**
+	 * Replaces the contained resources with the given ones. Added and removed
+	 * wrappers are published as a children change, wrappers whose resource got
+	 * a newer version are updated (which fires a change for each of them).
+	 */
 	void updateWithResources(Collection<IResource> resources) {
+		updateWithResources(resources, null);
+	}
+
+	/**
+	 * Replaces the contained resources with the given ones.
+	 * 
+	 * @param changes
+	 *            the resources that were added, changed or removed or
+	 *            {@code null} if they are not known
+	 * @see #updateWithResources(Collection)
+	 */
+	void updateWithResources(Collection<IResource> resources, Collection<IResource> changes) {
 		Map<IResource, AbstractResourceWrapper<?, ?>> updated = new HashMap<>();
-		boolean changed = false;
+		List<AbstractResourceWrapper<?, ?>> added = new ArrayList<>();
+		List<AbstractResourceWrapper<?, ?>> removed;
 		synchronized (childrenLock) {
 			HashMap<IResource, AbstractResourceWrapper<?, ?>> oldWrappers = new HashMap<>(containedResources);
 			containedResources.clear();
@@ -61,25 +82,27 @@ abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshif
 				if (existingWrapper == null) {
 					AbstractResourceWrapper<?, ?> newWrapper = createNewWrapper(resources, r);
 					containedResources.put(r, newWrapper);
-					changed = true;
+					added.add(newWrapper);
 				} else {
 					containedResources.put(r, existingWrapper);
-					updated.put(r, existingWrapper);
+					if (existingWrapper.getWrapped() != r
+							&& ResourceUtils.isOlder(existingWrapper.getWrapped(), r)) {
+						updated.put(r, existingWrapper);
+					}
 				}
 			}
-			if (!oldWrappers.isEmpty()) {
-				changed = true;
-			}
+			removed = new ArrayList<>(oldWrappers.values());
 		}
 
+		boolean changed = !added.isEmpty() || !removed.isEmpty();
 		if (changed) {
-			fireChanged();
+			fireChildrenChanged(this, added, removed);
 		}
 		updated.keySet().forEach(r -> {
 			AbstractResourceWrapper<?, ?> wrapper = updated.get(r);
 			wrapper.updateWith(r);
 		});
-		postUpdate(resources, updated, changed);
+		postUpdate(resources, updated, changed, changes);
 	}
 
 	void initWithResources(Collection<IResource> resources) {
@@ -91,7 +114,7 @@ abstract class ResourceContainer<R extends IResource, P extends AbstractOpenshif
 	}
 
 	protected abstract void postUpdate(Collection<IResource> resources,
-			Map<IResource, AbstractResourceWrapper<?, ?>> updated, boolean changed);
+			Map<IResource, AbstractResourceWrapper<?, ?>> updated, boolean changed, Collection<IResource> changes);
 
 	protected abstract AbstractResourceWrapper<?, ?> createNewWrapper(Collection<IResource> resources, IResource r);
 }
@@ -14,14 +14,12 @@ import static org.jboss.tools.openshift.internal.core.util.ResourceUtils.imageRe
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.stream.Collectors;
 
 import org.jboss.tools.openshift.core.OpenShiftAPIAnnotations;
-import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
+import org.jboss.tools.openshift.internal.core.util.ResourceRelationIndex;
 
-import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IBuild;
 import com.openshift.restclient.model.IBuildConfig;
 import com.openshift.restclient.model.IDeploymentConfig;
@@ -31,11 +29,12 @@ import com.openshift.restclient.model.IResource;
 import com.openshift.restclient.model.IService;
 import com.openshift.restclient.model.deploy.DeploymentTriggerType;
 import com.openshift.restclient.model.deploy.IDeploymentImageChangeTrigger;
-import com.openshift.restclient.model.route.IRoute;
 
 /**
  * This class encapsulates the logic used for determinining which resource in a
- * project are related to whilch service.
+ * project are related to whilch service. Related resources are looked up in a
+ * {@link ResourceRelationIndex} so that no computation has to scan all the
+ * resources of a project.
  * 
  * @author thomas
  * @author Andre Dietisheim
@@ -44,141 +43,79 @@ import com.openshift.restclient.model.route.IRoute;
  */
 public class ServiceResourceMapper {
 	public static final Collection<IResource> computeRelatedResources(IService s, Collection<IResource> resources) {
+		return computeRelatedResources(s, new ResourceRelationIndex(resources));
+	}
+
+	public static final Collection<IResource> computeRelatedResources(IService s, ResourceRelationIndex index) {
 		Collection<IResource> result = new HashSet<>();
 
-		resources.forEach(resource -> {
-			if (resource instanceof IPod) {
-				if (ResourceUtils.areRelated((IPod) resource, s)) {
-					result.add(resource);
-					result.addAll(getRelated(resources, (IPod) resource));
-				}
-			} else if (resource instanceof IDeploymentConfig) {
-				if (ResourceUtils.areRelated((IDeploymentConfig) resource, s)) {
-					result.add(resource);
-					result.addAll(getRelated(resources, (IDeploymentConfig) resource));
-				}
-			} else if (resource instanceof IRoute) {
-				if (ResourceUtils.areRelated((IRoute) resource, s)) {
-					result.add(resource);
-				}
-			}
+		Collection<IPod> pods = index.getPodsFor(s);
+		result.addAll(pods);
+		result.addAll(getRelatedReplicationControllers(index, pods));
+		index.getDeploymentConfigsFor(s).forEach(dc -> {
+			result.add(dc);
+			result.addAll(getRelated(index, dc));
 		});
+		result.addAll(index.getRoutesFor(s));
 		return result;
 	}
 
 	public static final Collection<IResource> computeRelatedResources(IDeploymentConfig dc,
 			Collection<IResource> resources) {
-		return getRelated(resources, dc);
+		return computeRelatedResources(dc, new ResourceRelationIndex(resources));
+	}
+
+	public static final Collection<IResource> computeRelatedResources(IDeploymentConfig dc,
+			ResourceRelationIndex index) {
+		return getRelated(index, dc);
 	}
 
 	public static final Collection<IResource> computeRelatedResources(IReplicationController rc,
 			Collection<IResource> resources) {
-		Collection<IResource> pods = new ArrayList<>();
-		pods.addAll(getRelatedPods(resources, rc));
-		return pods;
+		return computeRelatedResources(rc, new ResourceRelationIndex(resources));
 	}
 
-	private static Collection<IResource> getRelated(Collection<IResource> resources, IPod resource) {
-		return getRelatedReplicationControllers(resources, Collections.singleton(resource));
+	public static final Collection<IResource> computeRelatedResources(IReplicationController rc,
+			ResourceRelationIndex index) {
+		Collection<IResource> pods = new ArrayList<>();
+		pods.addAll(index.getPodsFor(rc));
+		return pods;
 	}
 
-	private static Collection<IResource> getRelated(Collection<IResource> resources, IDeploymentConfig dc) {
+	private static Collection<IResource> getRelated(ResourceRelationIndex index, IDeploymentConfig dc) {
 		Collection<IResource> result = new HashSet<>();
 
 		Collection<String> dcImageRefs = computeImageRefs(dc);
 
-		result.addAll(getRelatedImageTags(resources, dcImageRefs, dc));
-		Collection<IBuildConfig> buildConfigs = getRelatedBuildConfigs(resources, dcImageRefs, dc);
+		result.addAll(index.getImageStreamTags(dcImageRefs));
+		Collection<IBuildConfig> buildConfigs = index.getBuildConfigsFor(dcImageRefs);
 		result.addAll(buildConfigs);
-		Collection<IBuild> builds = getRelatedBuilds(resources, dcImageRefs, buildConfigs);
+		Collection<IBuild> builds = index.getBuildsFor(
+				buildConfigs.stream().map(bc -> bc.getName()).collect(Collectors.toSet()), dcImageRefs);
 		result.addAll(builds);
-		Collection<IPod> pods = getRelatedPods(resources, builds, dc);
+		Collection<IPod> pods = getRelatedPods(index, builds, dc);
 		result.addAll(pods);
-		result.addAll(getRelatedReplicationControllers(resources, pods));
-		result.addAll(getRelatedReplicationControllers(resources, dc));
+		result.addAll(getRelatedReplicationControllers(index, pods));
+		result.addAll(index.getAnnotatedWith(dc));
 		return result;
 	}
 
-	private static Collection<IResource> getRelatedReplicationControllers(Collection<IResource> resources,
-			IDeploymentConfig dc) {
-		return resources.stream().filter(r -> {
-			return dc.getName().equals(r.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME));
-		}).collect(Collectors.toList());
-	}
-
-	private static Collection<IResource> getRelatedReplicationControllers(Collection<IResource> resources,
+	private static Collection<IReplicationController> getRelatedReplicationControllers(ResourceRelationIndex index,
 			Collection<IPod> pods) {
 		Collection<String> deploymentNames = pods.stream()
 				.filter(r -> r.isAnnotatedWith(OpenShiftAPIAnnotations.DEPLOYMENT_NAME))
 				.map(r -> r.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_NAME)).collect(Collectors.toSet());
-
-		Collection<IResource> result = new HashSet<>();
-		resources.forEach(r -> {
-			if (ResourceKind.REPLICATION_CONTROLLER.equals(r.getKind()) && deploymentNames.contains(r.getName())) {
-				result.add(r);
-			}
-		});
-		return result;
+		return index.getReplicationControllers(deploymentNames);
 	}
 
-	private static Collection<IPod> getRelatedPods(Collection<IResource> resources, Collection<IBuild> builds,
+	private static Collection<IPod> getRelatedPods(ResourceRelationIndex index, Collection<IBuild> builds,
 			IDeploymentConfig dc) {
-
 		Collection<String> buildNames = builds.stream().map(bc -> bc.getName()).collect(Collectors.toSet());
-
-		return resources.stream().filter(r -> {
-			return r instanceof IPod && (buildNames.contains(r.getAnnotation(OpenShiftAPIAnnotations.BUILD_NAME))
-					|| dc.getName().equals(r.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME)));
-		}).map(r -> (IPod) r).collect(Collectors.toSet());
-
-	}
-
-	private static Collection<IPod> getRelatedPods(Collection<IResource> resources, IReplicationController rc) {
-
-		return resources.stream().filter(r -> {
-			return r instanceof IPod && ResourceUtils.areRelated((IPod) r, rc);
-		}).map(r -> (IPod) r).collect(Collectors.toSet());
-
-	}
-
-	private static Collection<IBuild> getRelatedBuilds(Collection<IResource> resources, Collection<String> dcImageRefs,
-			Collection<IBuildConfig> buildConfigs) {
-
-		Collection<IBuild> result = new HashSet<>();
-		Collection<String> bcNames = buildConfigs.stream().map(bc -> bc.getName()).collect(Collectors.toSet());
-		resources.forEach(r -> {
-			if (r instanceof IBuild) {
-				IBuild build = (IBuild) r;
-				if (bcNames.contains(r.getLabels().get(OpenShiftAPIAnnotations.BUILD_CONFIG_NAME))
-						|| dcImageRefs.contains(imageRef(build))) {
-					result.add((IBuild) r);
-				}
-			}
-		});
-		return result;
-	}
-
-	private static Collection<IBuildConfig> getRelatedBuildConfigs(Collection<IResource> resources,
-			Collection<String> dcImageRefs, IDeploymentConfig dc) {
-		Collection<IBuildConfig> result = new HashSet<>();
-		resources.forEach(r -> {
-			if (r instanceof IBuildConfig && dcImageRefs.contains(imageRef((IBuildConfig) r))) {
-				result.add((IBuildConfig) r);
-			}
-		});
-		return result;
-	}
-
-	private static Collection<IResource> getRelatedImageTags(Collection<IResource> resources,
-			Collection<String> dcImageRefs, IDeploymentConfig dc) {
-		Collection<IResource> result = new HashSet<>();
-		resources.forEach(r -> {
-			if (ResourceKind.IMAGE_STREAM_TAG.equals(r.getKind()) && dcImageRefs.contains(r.getName())) {
-				result.add(r);
-			}
-		});
-
-		return result;
+		Collection<IPod> pods = new HashSet<>(index.getPodsForBuilds(buildNames));
+		index.getAnnotatedWith(dc).stream()
+			.filter(r -> r instanceof IPod)
+			.forEach(r -> pods.add((IPod) r));
+		return pods;
 	}
 
 	public static Collection<String> computeImageRefs(IDeploymentConfig dc) {
@@ -192,8 +129,11 @@ public class ServiceResourceMapper {
 	}
 
 	public static Collection<IResource> getServices(IReplicationController rc, Collection<IResource> resources) {
-		return resources.stream().filter(r -> ResourceKind.SERVICE.equals(r.getKind()))
-				.filter(s -> ResourceUtils.areRelated(rc, (IService) s)).collect(Collectors.toList());
+		return getServices(rc, new ResourceRelationIndex(resources));
+	}
+
+	public static Collection<IResource> getServices(IReplicationController rc, ResourceRelationIndex index) {
+		return new ArrayList<>(index.getServicesFor(rc));
 	}
 
 }
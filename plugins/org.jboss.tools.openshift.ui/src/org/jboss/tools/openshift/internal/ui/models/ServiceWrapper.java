@@ -22,7 +22,7 @@ class ServiceWrapper extends ResourceContainer<IService, ProjectWrapper> impleme
 	}
 
 	protected void postUpdate(Collection<IResource> resources, Map<IResource, AbstractResourceWrapper<?, ?>> updated,
-			boolean changed) {
+			boolean changed, Collection<IResource> changes) {
 		// do nothing
 
 	}
@@ -10,14 +10,21 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.ui.models.applicationexplorer;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
@@ -26,6 +33,7 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -33,6 +41,7 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.widgets.Display;
 import org.jboss.tools.openshift.core.odo.ComponentDescriptor;
 import org.jboss.tools.openshift.core.odo.Odo;
+import org.jboss.tools.openshift.core.odo.utils.ConfigDiff;
 import org.jboss.tools.openshift.core.odo.utils.ConfigHelper;
 import org.jboss.tools.openshift.core.odo.utils.ConfigWatcher;
 import org.jboss.tools.openshift.core.odo.utils.ConfigWatcher.Listener;
@@ -41,8 +50,6 @@ import org.jboss.tools.openshift.internal.ui.models.AbstractOpenshiftUIModel;
 import org.jboss.tools.openshift.internal.ui.odo.OdoCliFactory;
 
 import io.fabric8.kubernetes.api.model.Config;
-import io.fabric8.kubernetes.api.model.NamedContext;
-import io.fabric8.kubernetes.client.internal.KubeConfigUtils;
 
 /**
  * @author Red Hat Developers
@@ -59,6 +66,37 @@ public class ApplicationExplorerUIModel extends AbstractOpenshiftUIModel<Applica
     return INSTANCE;
   }
   
+  /**
+   * The number of threads that discover the components in the workspace projects
+   */
+  public static final String DISCOVERY_THREADS_KEY = "org.jboss.tools.openshift.odo.discovery.threads";
+
+  private static final ThreadPoolExecutor DISCOVERY_EXECUTOR;
+
+  static {
+    int threads = Math.max(1, Integer.getInteger(DISCOVERY_THREADS_KEY, 4));
+    DISCOVERY_EXECUTOR = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "Application explorer component discovery");
+          thread.setDaemon(true);
+          return thread;
+        });
+    DISCOVERY_EXECUTOR.allowCoreThreadTimeOut(true);
+  }
+
+  /** the files whose changes may change the components found in a project */
+  private static final String[] COMPONENT_FILES = { "devfile.yaml", ".devfile.yaml", ".odo/env/env.yaml", ".odo/config.yaml" };
+
+  private static class Discovery {
+    private final long stamp;
+    private final List<ComponentDescriptor> descriptors;
+
+    private Discovery(long stamp, List<ComponentDescriptor> descriptors) {
+      this.stamp = stamp;
+      this.descriptors = descriptors;
+    }
+  }
+
   public static class ClusterClient {
     private Odo odo;
     
@@ -68,7 +106,10 @@ public class ApplicationExplorerUIModel extends AbstractOpenshiftUIModel<Applica
     
   }
   
-    private final Map<String, ComponentDescriptor> components = new HashMap<>();
+    private final Map<String, ComponentDescriptor> components = new ConcurrentHashMap<>();
+
+    /** project location -> components found in it */
+    private final Map<String, Discovery> discoveries = new ConcurrentHashMap<>();
 
     private Odo odo;
     
@@ -77,6 +118,9 @@ public class ApplicationExplorerUIModel extends AbstractOpenshiftUIModel<Applica
     private Config config;
 
     private DevfileRegistriesElement registries;
+
+    /** cluster url -> odo catalog, survives the refreshes of the explorer */
+    private final Map<String, OdoCatalogCache> catalogs = new ConcurrentHashMap<>();
     
     protected ApplicationExplorerUIModel(ClusterClient clusterClient) {
       super(null, clusterClient);
@@ -127,6 +171,13 @@ public class ApplicationExplorerUIModel extends AbstractOpenshiftUIModel<Applica
     return odo;
   }
   
+  /**
+   * Returns the catalog cache for the cluster of the given odo.
+   */
+  OdoCatalogCache getCatalog(Odo odo) {
+    return catalogs.computeIfAbsent(String.valueOf(odo.getMasterUrl()), url -> new OdoCatalogCache());
+  }
+
     protected Config loadConfig() {
         return ConfigHelper.safeLoadKubeConfig();
     }
@@ -138,41 +189,106 @@ public class ApplicationExplorerUIModel extends AbstractOpenshiftUIModel<Applica
     return components;
   }
   
-    private void addContextToSettings(String path, ComponentDescriptor descriptor) {
-        if (!components.containsKey(path)) {
-            components.put(path, descriptor);
-            refresh();
+    private boolean addContextToSettings(String path, ComponentDescriptor descriptor) {
+        return components.putIfAbsent(path, descriptor) == null;
+    }
+
+    private boolean addContextsToSettings(List<ComponentDescriptor> descriptors) {
+        boolean added = false;
+        for (ComponentDescriptor descriptor : descriptors) {
+            added |= addContextToSettings(descriptor.getPath(), descriptor);
         }
+        return added;
     }
 
     public void addContext(IProject project) {
         try {
-            List<ComponentDescriptor> descriptors = getOdo().discover(project.getLocation().toOSString());
-            descriptors.forEach(descriptor -> addContextToSettings(descriptor.getPath(), descriptor));
+            if (addContextsToSettings(discover(getOdo(), project))) {
+                refresh();
+            }
         } catch (IOException e) {}
     }
 
+  /**
+   * Returns the components in the given project. The result of the last
+   * discovery is reused as long as the component files in the project did not
+   * change.
+   */
+  private List<ComponentDescriptor> discover(Odo odo, IProject project) throws IOException {
+    IPath location = project.getLocation();
+    if (odo == null
+        || location == null) {
+      return Collections.emptyList();
+    }
+    String path = location.toOSString();
+    long stamp = getComponentFilesStamp(location.toFile());
+    Discovery discovery = discoveries.get(path);
+    if (discovery == null
+        || discovery.stamp != stamp) {
+      discovery = new Discovery(stamp, odo.discover(path));
+      discoveries.put(path, discovery);
+    }
+    return discovery.descriptors;
+  }
+
+  private static long getComponentFilesStamp(File folder) {
+    long stamp = 1;
+    for (String name : COMPONENT_FILES) {
+      File file = new File(folder, name);
+      stamp = 31 * stamp + (file.exists() ? file.lastModified() : 0);
+    }
+    return stamp;
+  }
+
   /**
    * @param path
    */
   public void removeContext(String path) {
+    discoveries.remove(path);
     if (components.remove(path) != null) {
       refresh();
     }
   }
   
   /**
-   * 
+   * Discovers the components in all the workspace projects concurrently.
+   *
+   * @return true if new components were found
    */
-  private void internalLoadProjects() {
+  private boolean internalLoadProjects() {
+    Odo odo;
+    try {
+      odo = getOdo();
+    } catch (IOException e) {
+      return false;
+    }
+    List<Future<List<ComponentDescriptor>>> results = new ArrayList<>();
     for(IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
-      addContext(project);
+      results.add(DISCOVERY_EXECUTOR.submit(() -> discover(odo, project)));
     }
+    boolean added = false;
+    try {
+      for (Future<List<ComponentDescriptor>> result : results) {
+        try {
+          added |= addContextsToSettings(result.get());
+        } catch (ExecutionException e) {
+          if (!(e.getCause() instanceof IOException)) {
+            OpenShiftUIActivator.log(IStatus.ERROR, e.getLocalizedMessage(), e.getCause());
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      results.forEach(result -> result.cancel(true));
+    }
+    return added;
   }
   
   private void loadProjects() {
     if (Display.getCurrent() == null) {
-      internalLoadProjects();
+      if (internalLoadProjects()) {
+        refresh();
+      }
     } else {
       Job.createSystem("Load model", monitor -> {
         internalLoadProjects();
@@ -189,41 +305,17 @@ public class ApplicationExplorerUIModel extends AbstractOpenshiftUIModel<Applica
 
   @Override
   public void onUpdate(ConfigWatcher source, Config config) {
-    if (hasContextChanged(config, this.config)) {
-      refresh();
-    }
-    this.config = config;
+    onUpdate(source, config, ConfigDiff.of(this.config, config));
   }
-  
-    private boolean hasContextChanged(Config newConfig, Config currentConfig) {
-        NamedContext currentContext = KubeConfigUtils.getCurrentContext(currentConfig);
-        NamedContext newContext = KubeConfigUtils.getCurrentContext(newConfig);
-        return hasServerChanged(newContext, currentContext)
-                || hasNewToken(newContext, newConfig, currentContext, currentConfig);
-    }
 
-    private boolean hasServerChanged(NamedContext newContext, NamedContext currentContext) {
-        return newContext == null
-                || currentContext == null
-                || !StringUtils.equals(currentContext.getContext().getCluster(), newContext.getContext().getCluster())
-                || !StringUtils.equals(currentContext.getContext().getUser(), newContext.getContext().getUser())
-                || !StringUtils.equals(currentContext.getContext().getNamespace(), newContext.getContext().getNamespace());
-    }
-
-  private boolean hasNewToken(NamedContext newContext, Config newConfig, NamedContext currentContext, Config currentConfig) {
-    if (newContext == null) {
-      return false;
-    }
-    if (currentContext == null) {
-      return true;
-    }
-    String newToken = KubeConfigUtils.getUserToken(newConfig, newContext.getContext());
-    if (newToken == null) {
-      // logout, do not refresh, LogoutAction already refreshes
-      return false;
+  @Override
+  public void onUpdate(ConfigWatcher source, Config config, ConfigDiff diff) {
+    // changes to contexts that are not current don't affect the explorer
+    if (diff.isCurrentContextChanged()
+        || diff.isCurrentTokenChanged()) {
+      refresh();
     }
-    String currentToken = KubeConfigUtils.getUserToken(currentConfig, currentContext.getContext());
-    return !StringUtils.equals(newToken, currentToken);
+    this.config = config;
   }
 
   @Override
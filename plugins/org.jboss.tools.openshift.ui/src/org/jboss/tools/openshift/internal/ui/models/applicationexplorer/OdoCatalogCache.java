@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.ui.models.applicationexplorer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
+
+/**
+ * A cache for the odo catalog (component types, service templates, devfile
+ * registries) of a cluster. Expired lists are still returned while they are
+ * reloaded in the background. The time to live (in ms) may be set via the system property
+ * {@code org.jboss.tools.openshift.odo.catalog.ttl}. Made public for testing
+ * purposes.
+ */
+public class OdoCatalogCache {
+
+  public static final String TTL_KEY = "org.jboss.tools.openshift.odo.catalog.ttl";
+
+  public static final String COMPONENT_TYPES = "componentTypes";
+  public static final String SERVICE_TEMPLATES = "serviceTemplates";
+  public static final String REGISTRIES = "registries";
+
+  private static final long TTL = Long.getLong(TTL_KEY, TimeUnit.MINUTES.toMillis(5));
+
+  @FunctionalInterface
+  public interface Loader<T> {
+    List<T> load() throws IOException;
+  }
+
+  private final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+  private final long ttl;
+
+  public OdoCatalogCache() {
+    this(TTL);
+  }
+
+  /**
+   * @param ttl the time (in ms) after which the lists are reloaded, 0 for no caching
+   */
+  public OdoCatalogCache(long ttl) {
+    this.ttl = ttl;
+  }
+
+  /**
+   * A list that is loaded once. Requests for a list that is being loaded wait
+   * for it instead of loading it again.
+   */
+  private static class Entry<T> {
+    private final CompletableFuture<List<T>> values = new CompletableFuture<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long expires = Long.MAX_VALUE;
+
+    private void set(List<T> values, long ttl) {
+      this.expires = System.currentTimeMillis() + ttl;
+      this.values.complete(values);
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() > expires;
+    }
+
+    private List<T> await() throws IOException {
+      try {
+        return values.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Returns the cached list for the given key. Loads it with the given loader
+   * if it is not cached yet. Returns it and reloads it in the background if it
+   * expired. The loader is not called while holding a lock, concurrent
+   * requests for a list that is being loaded wait for it. The background
+   * reloads are jobs of the family of this cache.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> get(String key, Loader<T> loader) throws IOException {
+    if (ttl <= 0) {
+      return loader.load();
+    }
+    Entry<T> created = new Entry<>();
+    Entry<T> entry = (Entry<T>) entries.putIfAbsent(key, created);
+    if (entry == null) {
+      entry = created;
+      load(key, entry, loader);
+    } else if (entry.isExpired()
+        && entry.refreshing.compareAndSet(false, true)) {
+      refresh(key, entry, loader);
+    }
+    return new ArrayList<>(entry.await());
+  }
+
+  private <T> void load(String key, Entry<T> entry, Loader<T> loader) throws IOException {
+    try {
+      entry.set(loader.load(), ttl);
+    } catch (IOException | RuntimeException e) {
+      // don't cache the failure, the next request loads again
+      entries.remove(key, entry);
+      entry.values.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private <T> void refresh(String key, Entry<T> entry, Loader<T> loader) {
+    Job job = new Job("Refreshing odo catalog " + key) {
+
+      @Override
+      protected IStatus run(IProgressMonitor monitor) {
+        try {
+          Entry<T> refreshed = new Entry<>();
+          refreshed.set(loader.load(), ttl);
+          // an invalidated entry is not brought back
+          entries.replace(key, entry, refreshed);
+        } catch (IOException e) {
+          OpenShiftUIActivator.log(IStatus.WARNING, e.getLocalizedMessage(), e);
+        } finally {
+          entry.refreshing.set(false);
+        }
+        return Status.OK_STATUS;
+      }
+
+      @Override
+      public boolean belongsTo(Object family) {
+        return family == OdoCatalogCache.this;
+      }
+    };
+    job.setSystem(true);
+    job.schedule();
+  }
+
+  /**
+   * Drops the cached lists for the given keys so that they are loaded again
+   * when they are requested next.
+   */
+  public void invalidate(String... keys) {
+    for (String key : keys) {
+      entries.remove(key);
+    }
+  }
+}
@@ -43,14 +43,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class OdoProjectDecorator implements Odo {
   private final Odo delegate;
   private final ApplicationExplorerUIModel model;
+  private final OdoCatalogCache catalog;
 
   public OdoProjectDecorator(Odo delegate, ApplicationExplorerUIModel model) {
     this.delegate = delegate;
     this.model = model;
+    this.catalog = model.getCatalog(delegate);
   }
 
   @Override
@@ -155,12 +158,16 @@ public class OdoProjectDecorator implements Odo {
 
   @Override
   public List<ComponentType> getComponentTypes() throws IOException {
-    return delegate.getComponentTypes();
+    return catalog.get(OdoCatalogCache.COMPONENT_TYPES, delegate::getComponentTypes);
   }
 
   @Override
   public List<DevfileComponentType> getComponentTypes(String registryName) throws IOException {
-    return delegate.getComponentTypes(registryName);
+    return getComponentTypes().stream().
+        filter(type -> type instanceof DevfileComponentType).
+        map(type -> (DevfileComponentType)type).
+        filter(type -> registryName.equals(type.getDevfileRegistry().getName())).
+        collect(Collectors.toList());
   }
 
   @Override
@@ -170,7 +177,7 @@ public class OdoProjectDecorator implements Odo {
 
   @Override
   public List<ServiceTemplate> getServiceTemplates() throws IOException {
-    return delegate.getServiceTemplates();
+    return catalog.get(OdoCatalogCache.SERVICE_TEMPLATES, delegate::getServiceTemplates);
   }
 
   @Override
@@ -369,16 +376,24 @@ public class OdoProjectDecorator implements Odo {
 
   @Override
   public List<DevfileRegistry> listDevfileRegistries() throws IOException {
-    return delegate.listDevfileRegistries();
+    return catalog.get(OdoCatalogCache.REGISTRIES, delegate::listDevfileRegistries);
   }
 
   @Override
   public void createDevfileRegistry(String name, String url, boolean secure) throws IOException {
-    delegate.createDevfileRegistry(name, url, secure);
+    try {
+      delegate.createDevfileRegistry(name, url, secure);
+    } finally {
+      catalog.invalidate(OdoCatalogCache.REGISTRIES, OdoCatalogCache.COMPONENT_TYPES);
+    }
   }
 
   @Override
   public void deleteDevfileRegistry(String name) throws IOException {
-    delegate.deleteDevfileRegistry(name);
+    try {
+      delegate.deleteDevfileRegistry(name);
+    } finally {
+      catalog.invalidate(OdoCatalogCache.REGISTRIES, OdoCatalogCache.COMPONENT_TYPES);
+    }
   }
 }
@@ -12,76 +12,439 @@ package org.jboss.tools.openshift.internal.ui.odo;
 
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
-import org.apache.commons.exec.PumpStreamHandler;
+import org.apache.commons.exec.ExecuteStreamHandler;
+import org.apache.commons.exec.ExecuteWatchdog;
 import org.apache.commons.exec.environment.EnvironmentUtils;
-import org.apache.commons.io.output.WriterOutputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.eclipse.cdt.utils.pty.PTY;
 import org.eclipse.cdt.utils.spawner.ProcessFactory;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.tm.terminal.view.core.TerminalServiceFactory;
 import org.eclipse.tm.terminal.view.core.interfaces.ITerminalService;
 import org.eclipse.tm.terminal.view.core.interfaces.constants.ITerminalsConnectorConstants;
 import static org.jboss.tools.openshift.core.OpenShiftCoreConstants.HOME_FOLDER;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ExecHelper {
     private static final ScheduledExecutorService SERVICE = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
 
+    /**
+     * The maximum number of processes that may run at the same time
+     */
+    public static final String MAX_PROCESSES_KEY = "org.jboss.tools.openshift.odo.exec.maxProcesses";
+
+    /**
+     * The default time (in ms) after which a process gets killed, 0 means no timeout
+     */
+    public static final String TIMEOUT_KEY = "org.jboss.tools.openshift.odo.exec.timeout";
+
+    private static final long DEFAULT_TIMEOUT = Long.getLong(TIMEOUT_KEY, TimeUnit.MINUTES.toMillis(10));
+
+    /**
+     * Maximum number of chars of the error stream that are kept
+     */
+    private static final int MAX_ERR_LENGTH = 64 * 1024;
+
+    private static final long CANCEL_POLL_INTERVAL = 100;
+
+    /**
+     * The number of processes that may run at the same time. Made public for testing purposes.
+     */
+    public static final int MAX_PROCESSES =
+        Math.max(1, Integer.getInteger(MAX_PROCESSES_KEY, Math.max(2, Runtime.getRuntime().availableProcessors() / 2)));
+
+    private static final Semaphore PROCESSES = new Semaphore(MAX_PROCESSES, true);
+
+    /**
+     * Polls the monitors of the running processes. It's not shared with
+     * {@link #SERVICE} whose tasks may block in {@link #execute(String, ExecOptions, String...)}
+     * so that cancellations are still detected if all of its threads are busy.
+     */
+    private static final ScheduledExecutorService CANCEL_POLLER = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "ExecHelper cancel poller");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    private static final ExecutorService PUMPS = Executors.newCachedThreadPool(r -> {
+      Thread thread = new Thread(r, "ExecHelper stream pump");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    /**
+     * The monitor of the job that runs on the current thread
+     */
+    private static final ThreadLocal<IProgressMonitor> MONITOR = new ThreadLocal<>();
+
+    /**
+     * The environment of this process, computed once
+     */
+    private static final Map<String, String> BASE_ENV = Collections.unmodifiableMap(new HashMap<>(System.getenv()));
+
     public static void submit(Runnable runnable) {
         SERVICE.submit(runnable);
     }
 
     /**
-     * This method combine <b>out</b> and <b>err</b> outputs in result string, if you need to have them separately
-     *  use @link {@link #executeWithResult(String, boolean, File, Map, String...)}
+     * Runs the given action with the given monitor. The processes that the action
+     * executes without a monitor in their {@link ExecOptions} get killed when the
+     * given monitor gets canceled. This allows callers that run in a job to pass
+     * their monitor through APIs (ex. {@link org.jboss.tools.openshift.core.odo.Odo})
+     * that have no monitor parameter.
+     *
+     * @param monitor the monitor that kills the processes when it gets canceled
+     * @param action the action to run
+     */
+    public static void runWithMonitor(IProgressMonitor monitor, Runnable action) {
+      IProgressMonitor previous = MONITOR.get();
+      MONITOR.set(monitor);
+      try {
+        action.run();
+      } finally {
+        if (previous == null) {
+          MONITOR.remove();
+        } else {
+          MONITOR.set(previous);
+        }
+      }
+    }
+
+    /**
+     * Consumes the output of a process while it is running. The output does not
+     * need to be read until the end, the remaining output is discarded.
+     */
+    @FunctionalInterface
+    public interface OutputConsumer {
+      void consume(InputStream output) throws IOException;
+    }
+
+    /**
+     * Options for {@link ExecHelper#execute(String, ExecOptions, String...)}.
+     */
+    public static class ExecOptions {
+      private boolean checkExitCode = true;
+      private File workingDirectory = new File(HOME_FOLDER);
+      private Map<String, String> envs = Collections.emptyMap();
+      private long timeout = DEFAULT_TIMEOUT;
+      private IProgressMonitor monitor;
+      private OutputConsumer outputConsumer;
+
+      public ExecOptions checkExitCode(boolean checkExitCode) {
+        this.checkExitCode = checkExitCode;
+        return this;
+      }
+
+      public ExecOptions workingDirectory(File workingDirectory) {
+        this.workingDirectory = workingDirectory;
+        return this;
+      }
+
+      public ExecOptions envs(Map<String, String> envs) {
+        this.envs = envs == null ? Collections.emptyMap() : envs;
+        return this;
+      }
+
+      /**
+       * @param timeout the time (in ms) after which the process gets killed, 0 for no timeout
+       */
+      public ExecOptions timeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+      }
+
+      /**
+       * @param monitor the monitor that kills the process when it gets canceled. Defaults to the monitor
+       *                of {@link ExecHelper#runWithMonitor(IProgressMonitor, Runnable)}
+       */
+      public ExecOptions monitor(IProgressMonitor monitor) {
+        this.monitor = monitor;
+        return this;
+      }
+
+      /**
+       * @param outputConsumer the consumer of the output stream. The output is
+       *                       not buffered in the {@link ExecResult} then.
+       */
+      public ExecOptions outputConsumer(OutputConsumer outputConsumer) {
+        this.outputConsumer = outputConsumer;
+        return this;
+      }
+    }
+
+    /**
+     * Executes the given executable with the given options. The number of
+     * processes that run at the same time is limited, callers wait for a free
+     * slot. The process gets killed if it runs longer than the timeout or if the
+     * monitor gets canceled.
      *
      * @param executable the executable
-     * @param checkExitCode if exit code should be checked
-     * @param workingDirectory the working directory for the process
-     * @param envs the map for the environment variables
+     * @param options the options
      * @param arguments the arguments
-     * @return the combined output and error stream as a String
-     * @throws IOException if error during process execution
+     * @return the output (unless it was consumed) and error streams and the exit code
+     * @throws IOException if error during process execution or if the process timed out
+     * @throws OperationCanceledException if the monitor was canceled
      */
-    public static ExecResult execute(String executable, boolean checkExitCode, File workingDirectory, Map<String,String> envs,
-                                 String... arguments) throws IOException {
+    public static ExecResult execute(String executable, ExecOptions options, String... arguments) throws IOException {
+      IProgressMonitor monitor = getMonitor(options);
+      acquire(monitor);
+      try {
+        return executeInternal(executable, options, monitor, arguments);
+      } finally {
+        PROCESSES.release();
+      }
+    }
+
+    private static IProgressMonitor getMonitor(ExecOptions options) {
+      if (options.monitor != null) {
+        return options.monitor;
+      }
+      IProgressMonitor monitor = MONITOR.get();
+      return monitor == null ? new NullProgressMonitor() : monitor;
+    }
+
+    private static void acquire(IProgressMonitor monitor) throws IOException {
+      try {
+        while (!PROCESSES.tryAcquire(CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+          if (monitor.isCanceled()) {
+            throw new OperationCanceledException();
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(e.getLocalizedMessage());
+      }
+    }
+
+    private static ExecResult executeInternal(String executable, ExecOptions options, IProgressMonitor monitor,
+        String... arguments) throws IOException {
       DefaultExecutor executor = new DefaultExecutor() {
         @Override
         public boolean isFailure(int exitValue) {
-          if (checkExitCode) {
+          if (options.checkExitCode) {
             return super.isFailure(exitValue);
           } else {
             return false;
           }
         }
       };
-      StringWriter outWriter = new StringWriter();
-      StringWriter errWriter = new StringWriter();
-      PumpStreamHandler handler = new PumpStreamHandler(new WriterOutputStream(outWriter), new WriterOutputStream(errWriter));
+      ConsumingStreamHandler handler = new ConsumingStreamHandler(options.outputConsumer);
       executor.setStreamHandler(handler);
-      executor.setWorkingDirectory(workingDirectory);
+      executor.setWorkingDirectory(options.workingDirectory);
+      ExecuteWatchdog watchdog = new ExecuteWatchdog(options.timeout > 0 ? options.timeout : ExecuteWatchdog.INFINITE_TIMEOUT);
+      executor.setWatchdog(watchdog);
+      AtomicBoolean canceled = new AtomicBoolean();
+      ScheduledFuture<?> cancelPoller = CANCEL_POLLER.scheduleWithFixedDelay(() -> {
+        if (monitor.isCanceled()
+            && !canceled.getAndSet(true)) {
+          watchdog.destroyProcess();
+        }
+      }, CANCEL_POLL_INTERVAL, CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
       CommandLine command = new CommandLine(executable).addArguments(arguments, false);
-      Map<String, String> env = new HashMap<>(System.getenv());
-      env.putAll(envs);
       try {
-        int exitCode = executor.execute(command, env);
-        return new ExecResult(outWriter.toString(), errWriter.toString(), exitCode);
+        int exitCode = executor.execute(command, getEnvironment(options.envs));
+        checkKilled(executable, options, watchdog, canceled, null);
+        handler.checkConsumed();
+        return new ExecResult(handler.getOutput(), handler.getError(), exitCode);
       } catch (IOException e) {
-        throw new IOException(e.getLocalizedMessage() + " " + errWriter.toString(), e);
+        checkKilled(executable, options, watchdog, canceled, e);
+        throw new IOException(e.getLocalizedMessage() + " " + handler.getError(), e);
+      } finally {
+        cancelPoller.cancel(false);
+      }
+    }
+
+    private static void checkKilled(String executable, ExecOptions options, ExecuteWatchdog watchdog,
+        AtomicBoolean canceled, IOException cause) throws IOException {
+      if (canceled.get()) {
+        throw new OperationCanceledException();
+      }
+      if (watchdog.killedProcess()) {
+        throw new IOException(NLS.bind("{0} did not complete within {1} ms", executable, options.timeout), cause);
+      }
+    }
+
+    private static Map<String, String> getEnvironment(Map<String, String> envs) {
+      if (envs == null
+          || envs.isEmpty()) {
+        return BASE_ENV;
       }
+      Map<String, String> env = new HashMap<>(BASE_ENV);
+      env.putAll(envs);
+      return env;
+    }
+
+    /**
+     * Passes the output of a process to a consumer (or buffers it if there's
+     * none) and keeps the beginning of the error stream.
+     */
+    private static class ConsumingStreamHandler implements ExecuteStreamHandler {
+      private final OutputConsumer consumer;
+      private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      private final ByteArrayOutputStream error = new ByteArrayOutputStream();
+      private InputStream processOutput;
+      private InputStream processError;
+      private Future<?> outputPump;
+      private Future<?> errorPump;
+      private volatile Exception consumerException;
+
+      private ConsumingStreamHandler(OutputConsumer consumer) {
+        this.consumer = consumer;
+      }
+
+      @Override
+      public void setProcessInputStream(OutputStream os) throws IOException {
+        os.close();
+      }
+
+      @Override
+      public void setProcessErrorStream(InputStream is) throws IOException {
+        this.processError = is;
+      }
+
+      @Override
+      public void setProcessOutputStream(InputStream is) throws IOException {
+        this.processOutput = is;
+      }
+
+      @Override
+      public void start() throws IOException {
+        this.outputPump = PUMPS.submit(() -> {
+          if (consumer != null) {
+            try {
+              consumer.consume(new CloseShieldInputStream(processOutput));
+            } catch (IOException | RuntimeException e) {
+              consumerException = e;
+            } finally {
+              // the process blocks if its output is not read
+              drainQuietly(processOutput);
+            }
+          } else {
+            try {
+              drain(processOutput, output, Integer.MAX_VALUE);
+            } catch (IOException e) {
+              // process was killed
+            }
+          }
+        });
+        this.errorPump = PUMPS.submit(() -> {
+          try {
+            drain(processError, error, MAX_ERR_LENGTH);
+          } catch (IOException e) {
+            // process was killed
+          }
+        });
+      }
+
+      @Override
+      public void stop() throws IOException {
+        await(outputPump);
+        await(errorPump);
+      }
+
+      private void await(Future<?> pump) throws IOException {
+        if (pump == null) {
+          return;
+        }
+        try {
+          pump.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException(e.getLocalizedMessage());
+        } catch (ExecutionException e) {
+          throw new IOException(e.getCause());
+        }
+      }
+
+      private void checkConsumed() throws IOException {
+        if (consumerException instanceof IOException) {
+          throw (IOException) consumerException;
+        } else if (consumerException instanceof RuntimeException) {
+          throw (RuntimeException) consumerException;
+        }
+      }
+
+      private String getOutput() {
+        synchronized (output) {
+          return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+      }
+
+      private String getError() {
+        synchronized (error) {
+          return new String(error.toByteArray(), StandardCharsets.UTF_8);
+        }
+      }
+
+      /**
+       * Reads the given stream until its end and keeps up to the given number of bytes in the given buffer.
+       */
+      private static void drain(InputStream in, ByteArrayOutputStream buffer, int max) throws IOException {
+        byte[] bytes = new byte[8192];
+        int read;
+        while ((read = in.read(bytes)) != -1) {
+          if (buffer != null) {
+            synchronized (buffer) {
+              int length = Math.min(read, max - buffer.size());
+              if (length > 0) {
+                buffer.write(bytes, 0, length);
+              }
+            }
+          }
+        }
+      }
+
+      private static void drainQuietly(InputStream in) {
+        try {
+          drain(in, null, 0);
+        } catch (IOException e) {
+          // ignore
+        }
+      }
+    }
+
+    /**
+     * This method combine <b>out</b> and <b>err</b> outputs in result string, if you need to have them separately
+     *  use @link {@link #executeWithResult(String, boolean, File, Map, String...)}
+     *
+     * @param executable the executable
+     * @param checkExitCode if exit code should be checked
+     * @param workingDirectory the working directory for the process
+     * @param envs the map for the environment variables
+     * @param arguments the arguments
+     * @return the combined output and error stream as a String
+     * @throws IOException if error during process execution
+     */
+    public static ExecResult execute(String executable, boolean checkExitCode, File workingDirectory, Map<String,String> envs,
+                                 String... arguments) throws IOException {
+      return execute(executable,
+          new ExecOptions().checkExitCode(checkExitCode).workingDirectory(workingDirectory).envs(envs),
+          arguments);
     }
 
 
@@ -249,9 +612,7 @@ public class ExecHelper {
   }
 
   private static Map<String, String> appendNativeEnv(Map<String, String> env) {
-    Map<String, String> nativeEnv = new HashMap(System.getenv());
-    nativeEnv.putAll(env);
-    return nativeEnv;
+    return getEnvironment(env);
   }
 
 	private static void executeWithTerminalInternal(File workingDirectory, boolean waitForProcessToExit,
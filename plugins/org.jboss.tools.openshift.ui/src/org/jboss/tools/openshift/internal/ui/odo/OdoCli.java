@@ -46,12 +46,12 @@ import static org.jboss.tools.openshift.core.OpenShiftCoreConstants.OCP3_CONFIG_
 import static org.jboss.tools.openshift.core.OpenShiftCoreConstants.OCP3_WEBCONSOLE_CONFIG_MAP_NAME;
 import static org.jboss.tools.openshift.core.OpenShiftCoreConstants.OCP3_WEBCONSOLE_YAML_FILE_NAME;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -60,8 +60,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.BinaryOperator;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -85,6 +84,8 @@ import org.jboss.tools.openshift.core.odo.DevfileRegistry;
 import org.jboss.tools.openshift.core.odo.DebugInfo;
 import org.jboss.tools.openshift.core.odo.JSonParser;
 import org.jboss.tools.openshift.core.odo.KubernetesLabels;
+import org.jboss.tools.openshift.core.odo.NotificationFilterInputStream;
+import org.jboss.tools.openshift.core.odo.OpenAPISchemaIndex;
 import org.jboss.tools.openshift.core.odo.Odo;
 import org.jboss.tools.openshift.core.odo.OperatorCRD;
 import org.jboss.tools.openshift.core.odo.ServiceDeserializer;
@@ -95,7 +96,7 @@ import org.jboss.tools.openshift.core.odo.StoragesDeserializer;
 import org.jboss.tools.openshift.core.odo.URL;
 import org.jboss.tools.openshift.internal.common.core.UsageStats;
 import org.jboss.tools.openshift.internal.ui.OpenShiftUIActivator;
-import org.jboss.tools.openshift.internal.ui.odo.ExecHelper.ExecResult;
+import org.jboss.tools.openshift.internal.ui.odo.ExecHelper.ExecOptions;
 
 public class OdoCli implements Odo {
   private static final ObjectMapper JSON_MAPPER = new ObjectMapper(new JsonFactory());
@@ -115,9 +116,14 @@ public class OdoCli implements Odo {
   private final KubernetesClient client;
   private String namespace;
   
-  private final AtomicBoolean swaggerLoaded = new AtomicBoolean();
+  private boolean swaggerLoaded;
 
-  private JSonParser swagger;
+  private boolean swaggerRefreshed;
+
+  private OpenAPISchemaIndex swagger;
+
+  /** the key of the schema index of the cluster, computed once */
+  private String swaggerKey;
 
   
   private static String buildHttpProxy(IProxyData data) {
@@ -259,22 +265,36 @@ public class OdoCli implements Odo {
   }
 
 
+  /**
+   * Parses the output of odo (without the notification block at its end) while
+   * odo is running.
+   */
+  @FunctionalInterface
+  private interface OutputParser<T> {
+    T parse(InputStream output) throws IOException;
+  }
+
+  private static <T> OutputParser<T> reader(ObjectMapper mapper, TypeReference<T> type) {
+    return output -> mapper.readValue(output, type);
+  }
+
+  private static <T> T execute(File workingDirectory, String command, Map<String, String> envs, OutputParser<T> parser,
+      String ...args) throws IOException {
+    AtomicReference<T> result = new AtomicReference<>();
+    ExecHelper.execute(command,
+        new ExecOptions().workingDirectory(workingDirectory).envs(envs)
+            .outputConsumer(output -> result.set(parser.parse(new NotificationFilterInputStream(output)))),
+        args);
+    return result.get();
+  }
+
+  private static <T> T execute(String command, Map<String, String> envs, OutputParser<T> parser, String ...args)
+      throws IOException {
+    return execute(new File(HOME_FOLDER), command, envs, parser, args);
+  }
+
   private static String execute(File workingDirectory, String command, Map<String, String> envs, String ...args) throws IOException {
-    ExecResult result = ExecHelper.execute(command, workingDirectory, envs, args);
-    try (BufferedReader reader = new BufferedReader(new StringReader(result.getStdOut()))) {
-      BinaryOperator<String> reducer = new BinaryOperator<String>() {
-        private boolean notificationFound = false;
-
-        @Override
-        public String apply(String s, String s2) {
-          if (s2.startsWith("---")) {
-            notificationFound = true;
-          }
-          return notificationFound?s:s+s2+"\n";
-        }
-      };
-      return reader.lines().reduce("", reducer);
-    }
+    return execute(workingDirectory, command, envs, output -> new String(output.readAllBytes(), StandardCharsets.UTF_8), args);
   }
 
   private static String execute(String command, Map<String, String> envs, String ...args) throws IOException {
@@ -512,9 +532,9 @@ public class OdoCli implements Odo {
   @Override
   public List<ComponentType> getComponentTypes() throws IOException {
       try {
-        List<ComponentType> componentTypes = configureObjectMapper(new ComponentTypesDeserializer()).readValue(
-                execute(command, envVars, "catalog", "list", "components", "-o", "json"),
-                new TypeReference<List<ComponentType>>() {});
+        List<ComponentType> componentTypes = execute(command, envVars,
+                reader(configureObjectMapper(new ComponentTypesDeserializer()), new TypeReference<List<ComponentType>>() {}),
+                "catalog", "list", "components", "-o", "json");
         UsageStats.getInstance().odoCommand("catalog list components", true);
         return componentTypes;
       } catch (IOException e) {
@@ -532,48 +552,103 @@ public class OdoCli implements Odo {
         collect(Collectors.toList());
   }
   
-  private ComponentTypeInfo parseComponentTypeInfo(String json, String registryName) throws IOException {
-    JSonParser parser = new JSonParser(JSON_MAPPER.readTree(json));
+  private ComponentTypeInfo parseComponentTypeInfo(JsonNode json, String registryName) throws IOException {
+    JSonParser parser = new JSonParser(json);
     return parser.parseComponentTypeInfo(registryName);
   }
   
   @Override
   public ComponentTypeInfo getComponentTypeInfo(String componentType, String registryName) throws IOException {
-    return parseComponentTypeInfo(execute(command, envVars, "catalog", "describe", "component", componentType, "-o", "json"), registryName);
+    return parseComponentTypeInfo(execute(command, envVars, JSON_MAPPER::readTree, "catalog", "describe", "component", componentType, "-o", "json"), registryName);
   }
   
+  private File getSwaggerFolder() {
+    return OpenShiftUIActivator.getDefault().getStateLocation().append("openapi").toFile();
+  }
+
+  /**
+   * The key of the schema index of the cluster, built from its url and version.
+   */
+  private String getSwaggerKey() {
+    VersionInfo version = null;
+    try {
+      version = client.getVersion();
+    } catch (KubernetesClientException e) {
+      OpenShiftUIActivator.log(IStatus.WARNING, e.getLocalizedMessage(), e);
+    }
+    return getSwaggerKeyPrefix() + toSwaggerKey(version != null ? version.getGitVersion() : "unknown");
+  }
+
+  /**
+   * The prefix that the keys of the schema indexes of the cluster share for all
+   * its versions.
+   */
+  private String getSwaggerKeyPrefix() {
+    return toSwaggerKey(client.getMasterUrl().getHost() + '_' + client.getMasterUrl().getPort() + '_');
+  }
+
+  private static String toSwaggerKey(String value) {
+    return value.replaceAll("[^A-Za-z0-9._-]", "_");
+  }
+
   private void loadSwagger() {
     try {
-        Request req = new Request.Builder().get().url(new java.net.URL(client.getMasterUrl(), "/openapi/v2")).build();
-        Response response = client.adapt(OkHttpClient.class).newCall(req).execute();
+      swagger = OpenAPISchemaIndex.load(getSwaggerFolder(), swaggerKey);
+    } catch (IOException e) {
+      OpenShiftUIActivator.log(IStatus.WARNING, e.getLocalizedMessage(), e);
+    }
+    if (swagger == null) {
+      downloadSwagger();
+    }
+  }
+
+  /**
+   * Builds the schema index from the OpenAPI document of the cluster and deletes
+   * the indexes that were built for former versions of the cluster.
+   */
+  private void downloadSwagger() {
+    try {
+      Request req = new Request.Builder().get().url(new java.net.URL(client.getMasterUrl(), "/openapi/v2")).build();
+      try (Response response = client.adapt(OkHttpClient.class).newCall(req).execute()) {
         if (response.isSuccessful()) {
-            swagger = new JSonParser(new ObjectMapper().readTree(response.body().charStream()));
+          swagger = OpenAPISchemaIndex.build(response.body().byteStream(), getSwaggerFolder(), swaggerKey);
+          OpenAPISchemaIndex.deleteOthers(getSwaggerFolder(), getSwaggerKeyPrefix(), swaggerKey);
         }
+      }
     } catch (IOException e) {
-        OpenShiftUIActivator.log(IStatus.ERROR, e.getLocalizedMessage(), e);
+      OpenShiftUIActivator.log(IStatus.ERROR, e.getLocalizedMessage(), e);
     }
-}
+  }
 
-private ObjectNode findSchema(String crd) {
+  private synchronized ObjectNode findSchema(String crd) {
     try {
-        if (swaggerLoaded.compareAndSet(false, true)) {
-            loadSwagger();
-        }
-        if (swagger != null) {
-            return swagger.findSchema("/apis/" + crd);
-        }
+      if (!swaggerLoaded) {
+        swaggerLoaded = true;
+        swaggerKey = getSwaggerKey();
+        loadSwagger();
+      }
+      String path = "/apis/" + crd;
+      if (swagger != null
+          && !swagger.hasPath(path)
+          && !swaggerRefreshed) {
+        // the CRD may have been installed after the index was built
+        swaggerRefreshed = true;
+        downloadSwagger();
+      }
+      if (swagger != null) {
+        return swagger.findSchema(path);
+      }
     } catch (IOException e) {}
     return null;
-}
+  }
 
 
   @Override
   public List<ServiceTemplate> getServiceTemplates() throws IOException {
     try {
-      List<ServiceTemplate> serviceTemplates = configureObjectMapper(new ServiceTemplatesDeserializer(this::findSchema)).readValue(
-              execute(command, envVars, "catalog", "list", "services", "-o", "json"),
-              new TypeReference<List<ServiceTemplate>>() {
-              });
+      List<ServiceTemplate> serviceTemplates = execute(command, envVars,
+              reader(configureObjectMapper(new ServiceTemplatesDeserializer(this::findSchema)), new TypeReference<List<ServiceTemplate>>() {}),
+              "catalog", "list", "services", "-o", "json");
       UsageStats.getInstance().odoCommand("catalog list services", true);
       return serviceTemplates;
     } catch (IOException e) {
@@ -600,7 +675,7 @@ private ObjectNode findSchema(String crd) {
     return service!=null?service.getSpec().getPorts().stream().map(ServicePort::getPort).collect(Collectors.toList()):new ArrayList<>();
   }
 
-  private static List<URL> parseURLs(String json) {
+  private static List<URL> parseURLs(InputStream json) {
     List<URL> result = new ArrayList<>();
     try {
       JsonNode root = JSON_MAPPER.readTree(json);
@@ -622,7 +697,7 @@ private ObjectNode findSchema(String crd) {
   public List<URL> listURLs(String project, String application, String context, String component) throws IOException {
     try {
       if (context != null) {
-        List<URL> urls = parseURLs(execute(new File(context), command, envVars, "url", "list", "-o", "json"));
+        List<URL> urls = execute(new File(context), command, envVars, OdoCli::parseURLs, "url", "list", "-o", "json");
         UsageStats.getInstance().odoCommand("url list", true);
         return urls;
       } else {
@@ -634,14 +709,14 @@ private ObjectNode findSchema(String crd) {
     }
   }
   
-  private ComponentInfo parseComponentInfo(String json, ComponentKind kind) throws IOException {
-    JSonParser parser = new JSonParser(JSON_MAPPER.readTree(json));
+  private ComponentInfo parseComponentInfo(JsonNode json, ComponentKind kind) throws IOException {
+    JSonParser parser = new JSonParser(json);
     return parser.parseComponentInfo(kind);
 }
 
   @Override
   public ComponentInfo getComponentInfo(String project, String application, String component, String path, ComponentKind kind) throws IOException {
-    return parseComponentInfo(execute(new File(path), command, envVars, "describe", "-o", "json"), kind);
+    return parseComponentInfo(execute(new File(path), command, envVars, JSON_MAPPER::readTree, "describe", "-o", "json"), kind);
   }
 
   @Override
@@ -825,7 +900,7 @@ private ObjectNode findSchema(String crd) {
     }
   }
 
-  private static List<Application> parseApplications(String json) {
+  private static List<Application> parseApplications(InputStream json) {
     List<Application> result = new ArrayList<>();
     try {
       JsonNode root = JSON_MAPPER.readTree(json);
@@ -837,7 +912,7 @@ private ObjectNode findSchema(String crd) {
   @Override
   public List<Application> getApplications(String project) throws IOException {
     try {
-      List<Application> applications = parseApplications(execute(command, envVars, "app", "list", "--project", project, "-o", "json"));
+      List<Application> applications = execute(command, envVars, OdoCli::parseApplications, "app", "list", "--project", project, "-o", "json");
       UsageStats.getInstance().odoCommand("app list", true);
       return applications;
     } catch (IOException e) {
@@ -848,19 +923,17 @@ private ObjectNode findSchema(String crd) {
 
   @Override
   public List<Component> getComponents(String project, String application) throws IOException {
-    return configureObjectMapper(new ComponentDeserializer()).readValue(
-        execute(command, envVars, "list", "--app", application, "--project", project, "-o", "json"),
-        new TypeReference<List<Component>>() {
-        });
+    return execute(command, envVars,
+        reader(configureObjectMapper(new ComponentDeserializer()), new TypeReference<List<Component>>() {}),
+        "list", "--app", application, "--project", project, "-o", "json");
   }
 
   @Override
   public List<org.jboss.tools.openshift.core.odo.Service> getServices(String project, String application) throws IOException {
     try {
-      return configureObjectMapper(new ServiceDeserializer()).readValue(
-          execute(command, envVars, "service", "list", "--app", application, "--project", project, "-o", "json"),
-          new TypeReference<List<org.jboss.tools.openshift.core.odo.Service>>() {
-          });
+      return execute(command, envVars,
+          reader(configureObjectMapper(new ServiceDeserializer()), new TypeReference<List<org.jboss.tools.openshift.core.odo.Service>>() {}),
+          "service", "list", "--app", application, "--project", project, "-o", "json");
     } catch (IOException e) {
       // https://github.com/openshift/odo/issues/5010
       if (e.getMessage().contains("\"no operator backed services found in namespace:")) {
@@ -879,9 +952,9 @@ private ObjectNode findSchema(String crd) {
   @Override
   public List<Storage> getStorages(String project, String application, String context, String component) throws IOException {
     if (context != null) {
-      return configureObjectMapper(new StoragesDeserializer()).readValue(
-              execute(new File(context), command, envVars, "storage", "list", "-o", "json"),
-              new TypeReference<List<Storage>>() {});
+      return execute(new File(context), command, envVars,
+              reader(configureObjectMapper(new StoragesDeserializer()), new TypeReference<List<Storage>>() {}),
+              "storage", "list", "-o", "json");
     } else {
       return client.persistentVolumeClaims().inNamespace(project).withLabelSelector(getLabelSelector(application, component)).list().getItems()
                            .stream().filter(pvc -> pvc.getMetadata().getLabels().containsKey(KubernetesLabels.STORAGE_NAME_LABEL)).
@@ -973,8 +1046,7 @@ private ObjectNode findSchema(String crd) {
   @Override
   public DebugInfo debugInfo(String project, String application, String context, String component) throws IOException {
     try {
-      ExecResult result = ExecHelper.execute(command, new File(context), envVars, "debug", "info", "-o", "json");
-      JSonParser parser = new JSonParser(JSON_MAPPER.readTree(result.getStdOut()));
+      JSonParser parser = new JSonParser(execute(new File(context), command, envVars, JSON_MAPPER::readTree, "debug", "info", "-o", "json"));
       return parser.parseDebugInfo();
     } catch (IOException e) {
       if (e.getMessage().contains("debug is not running")) {
@@ -1011,16 +1083,16 @@ private ObjectNode findSchema(String crd) {
   
   @Override
   public List<ComponentDescriptor> discover(String path) throws IOException {
-    return configureObjectMapper(new ComponentDescriptorsDeserializer()).readValue(
-            execute(new File(path), command, envVars, "list", "--path", ".", "-o", "json"),
-            new TypeReference<List<ComponentDescriptor>>() {});
+    return execute(new File(path), command, envVars,
+            reader(configureObjectMapper(new ComponentDescriptorsDeserializer()), new TypeReference<List<ComponentDescriptor>>() {}),
+            "list", "--path", ".", "-o", "json");
   }
   
   @Override
   public List<DevfileRegistry> listDevfileRegistries() throws IOException {
-    return configureObjectMapper(new DevfileRegistriesDeserializer()).readValue(
-        execute(command, envVars, "registry" , "list", "-o", "json"),
-        new TypeReference<List<DevfileRegistry>>() {});
+    return execute(command, envVars,
+        reader(configureObjectMapper(new DevfileRegistriesDeserializer()), new TypeReference<List<DevfileRegistry>>() {}),
+        "registry" , "list", "-o", "json");
   }
 
   @Override
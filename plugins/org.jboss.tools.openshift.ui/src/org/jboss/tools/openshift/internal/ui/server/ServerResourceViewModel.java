@@ -13,12 +13,25 @@ package org.jboss.tools.openshift.internal.ui.server;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.jboss.tools.common.databinding.ObservablePojo;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
 import org.jboss.tools.openshift.common.core.connection.IConnection;
+import org.jboss.tools.openshift.core.OpenShiftAPIAnnotations;
 import org.jboss.tools.openshift.core.connection.Connection;
+import org.jboss.tools.openshift.core.connection.ConnectionsRegistryUtil;
+import org.jboss.tools.openshift.internal.core.ResourceStore;
+import org.jboss.tools.openshift.internal.core.WatchManager;
+import org.jboss.tools.openshift.internal.core.util.ResourceRelationIndex;
 import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 import org.jboss.tools.openshift.internal.ui.treeitem.IModelFactory;
 import org.jboss.tools.openshift.internal.ui.treeitem.ObservableTreeItem;
@@ -42,6 +55,24 @@ public class ServerResourceViewModel extends ObservablePojo {
 	public static final String PROPERTY_RESOURCE = "resource";
 	public static final String PROPERTY_RESOURCE_ITEMS = "resourceItems";
 
+	/**
+	 * The number of threads that load the resources of the projects
+	 */
+	public static final String LOAD_THREADS_KEY = "org.jboss.tools.openshift.ui.server.loadThreads";
+
+	private static final ThreadPoolExecutor LOAD_EXECUTOR;
+
+	static {
+		int threads = Math.max(1, Integer.getInteger(LOAD_THREADS_KEY, 8));
+		LOAD_EXECUTOR = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "OpenShift server resources loading");
+					thread.setDaemon(true);
+					return thread;
+				});
+		LOAD_EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
 	private boolean isLoaded = false;
 	private Connection connection;
 	private List<Connection> connections = new ArrayList<>();
@@ -237,43 +268,145 @@ public class ServerResourceViewModel extends ObservablePojo {
 		}
 
 		private List<IResource> getProjectResources(IProject project) {
-			List<IService> services = project.getResources(ResourceKind.SERVICE);
-			List<IDeploymentConfig> dcConfigs = project.getResources(ResourceKind.DEPLOYMENT_CONFIG);
+			Connection connection = ConnectionsRegistryUtil.safeGetConnectionFor(project);
+			return getProjectResources(getResources(ResourceKind.SERVICE, project, connection),
+					getResources(ResourceKind.DEPLOYMENT_CONFIG, project, connection),
+					getResources(ResourceKind.POD, project, connection),
+					getResources(ResourceKind.REPLICATION_CONTROLLER, project, connection));
+		}
+
+		/**
+		 * Loads the resources of the given project. The kinds are fetched in
+		 * parallel with the given executor.
+		 */
+		private CompletableFuture<List<IResource>> loadProjectResources(IProject project, Connection connection,
+				Executor executor) {
+			CompletableFuture<List<IService>> services = CompletableFuture
+					.supplyAsync(() -> getResources(ResourceKind.SERVICE, project, connection), executor);
+			CompletableFuture<List<IDeploymentConfig>> dcConfigs = CompletableFuture
+					.supplyAsync(() -> getResources(ResourceKind.DEPLOYMENT_CONFIG, project, connection), executor);
+			CompletableFuture<List<IPod>> pods = CompletableFuture
+					.supplyAsync(() -> getResources(ResourceKind.POD, project, connection), executor);
+			CompletableFuture<List<IReplicationController>> rcs = CompletableFuture.supplyAsync(
+					() -> getResources(ResourceKind.REPLICATION_CONTROLLER, project, connection), executor);
+			return CompletableFuture.allOf(services, dcConfigs, pods, rcs)
+					.thenApply(v -> getProjectResources(services.join(), dcConfigs.join(), pods.join(), rcs.join()));
+		}
+
+		private List<IResource> getProjectResources(List<IService> services, List<IDeploymentConfig> dcConfigs,
+				List<IPod> pods, List<IReplicationController> rcs) {
 			List<IResource> resources = new ArrayList<>(services);
-			resources.addAll(getNonLinkedDcs(services, dcConfigs, project));
-			resources.addAll(getNonLinkeRcs(dcConfigs, project));
+			resources.addAll(getNonLinkedDcs(services, dcConfigs, pods));
+			resources.addAll(getNonLinkeRcs(dcConfigs, rcs));
 			return resources;
 		}
 
 		/**
-		 * Returns the DeploymentConfig resources not linked to the services
+		 * Returns the resources of the given kind in the given project. Uses the
+		 * resources of the watch if it is synced for the project.
 		 */
-		private List<IDeploymentConfig> getNonLinkedDcs(List<? extends IResource> services,
-				List<IDeploymentConfig> dcConfigs, IProject project) {
-			List<IDeploymentConfig> nonLinkedDcConfigs = new ArrayList<>();
-			List<IPod> allPods = project.getResources(ResourceKind.POD);
-			dcConfigs.stream()
-					.filter(dc -> !services.stream()
-							.anyMatch(service -> ResourceUtils.areRelated((IService) service, dc, allPods)))
-					.forEach(dc -> nonLinkedDcConfigs.add(dc));
-			return nonLinkedDcConfigs;
+		private <T extends IResource> List<T> getResources(String kind, IProject project, Connection connection) {
+			if (connection != null) {
+				ResourceStore store = WatchManager.getInstance().getStore(connection);
+				if (store.isSynced(project.getName(), kind)) {
+					return new ArrayList<>(store.getResources(project.getName(), kind));
+				}
+			}
+			return project.getResources(kind);
+		}
+
+		/**
+		 * Returns the DeploymentConfig resources not linked to the services. A
+		 * deployment config is linked to a service if one of its pods is
+		 * selected by the service.
+		 * 
+		 * @see ResourceUtils#areRelated(IService, IDeploymentConfig, java.util.Collection)
+		 */
+		private List<IDeploymentConfig> getNonLinkedDcs(List<IService> services, List<IDeploymentConfig> dcConfigs,
+				List<IPod> allPods) {
+			ResourceRelationIndex index = new ResourceRelationIndex(allPods);
+			Set<String> linkedDcNames = services.stream()
+					.flatMap(service -> index.getPodsFor(service).stream())
+					.map(pod -> pod.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME))
+					.filter(Objects::nonNull)
+					.collect(Collectors.toSet());
+			return dcConfigs.stream()
+					.filter(dc -> !linkedDcNames.contains(dc.getName()))
+					.collect(Collectors.toList());
 		}
 
 		/**
 		 * Returns the ReplicationController resources not linked to DeploymentConfig
+		 * 
+		 * @see ResourceUtils#areRelated(IReplicationController, IDeploymentConfig)
 		 */
-		private List<IReplicationController> getNonLinkeRcs(List<IDeploymentConfig> dcConfigs, IProject project) {
-			List<IReplicationController> allRcs = project.getResources(ResourceKind.REPLICATION_CONTROLLER);
-			List<IReplicationController> nonLinkedReplicationControllers = allRcs.stream()
-					.filter(rc -> !dcConfigs.stream().anyMatch(dc -> ResourceUtils.areRelated(rc, dc)))
+		private List<IReplicationController> getNonLinkeRcs(List<IDeploymentConfig> dcConfigs,
+				List<IReplicationController> allRcs) {
+			Set<String> dcNames = dcConfigs.stream()
+					.map(IDeploymentConfig::getName)
+					.collect(Collectors.toSet());
+			return allRcs.stream()
+					.filter(rc -> !dcNames.contains(rc.getAnnotation(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME)))
 					.collect(Collectors.toList());
-			return nonLinkedReplicationControllers;
 		}
 
 		@Override
 		public ObservableTreeItem create(Object object) {
+			if (object instanceof Connection) {
+				return new ConnectionTreeItem((Connection) object, this);
+			}
 			return new ObservableTreeItem(object, this);
 		}
 	}
 
+	/**
+	 * A connection item that loads the resources of its projects concurrently.
+	 */
+	private static class ConnectionTreeItem extends ObservableTreeItem {
+
+		private final ResourceTreeItemsFactory factory;
+
+		ConnectionTreeItem(Connection connection, ResourceTreeItemsFactory factory) {
+			super(connection, factory);
+			this.factory = factory;
+		}
+
+		@Override
+		public void load() {
+			List<ObservableTreeItem> projectItems = createTreeItems(loadChildren());
+			CompletableFuture<?>[] loads = projectItems.stream()
+					.map(item -> factory
+							.loadProjectResources((IProject) item.getModel(), (Connection) getModel(), LOAD_EXECUTOR)
+							.thenAccept(resources -> ((ProjectTreeItem) item).setResources(resources)))
+					.toArray(CompletableFuture<?>[]::new);
+			try {
+				CompletableFuture.allOf(loads).join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+			setChildren(projectItems);
+		}
+
+		@Override
+		protected ObservableTreeItem createChildItem(Object model) {
+			return new ProjectTreeItem(model, factory);
+		}
+	}
+
+	private static class ProjectTreeItem extends ObservableTreeItem {
+
+		ProjectTreeItem(Object project, ResourceTreeItemsFactory factory) {
+			super(project, factory);
+		}
+
+		void setResources(List<IResource> resources) {
+			List<ObservableTreeItem> resourceItems = createTreeItems(resources);
+			resourceItems.forEach(ObservableTreeItem::load);
+			setChildren(resourceItems);
+		}
+	}
+
 }
@@ -12,7 +12,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -23,6 +31,7 @@ import org.jboss.tools.openshift.common.core.utils.StringUtils;
 import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.internal.common.core.util.KeyValueFilterFactory.KeyValueFilter;
 import org.jboss.tools.openshift.internal.core.job.DeleteResourcesJob;
+import org.jboss.tools.openshift.internal.core.util.ResourceUtils;
 
 import com.openshift.restclient.NotFoundException;
 import com.openshift.restclient.ResourceKind;
@@ -49,6 +58,24 @@ public class DeleteResourcesWizardModel extends ObservablePojo {
 			ResourceKind.SECRET,
 			ResourceKind.CONFIG_MAP };
 
+	/**
+	 * The number of threads that load the resources of the different kinds
+	 */
+	public static final String LOAD_THREADS_KEY = "org.jboss.tools.openshift.ui.deleteResources.loadThreads";
+
+	private static final ThreadPoolExecutor LOAD_EXECUTOR;
+
+	static {
+		int threads = Math.max(1, Integer.getInteger(LOAD_THREADS_KEY, ALL_RESOURCE_KINDS.length));
+		LOAD_EXECUTOR = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "OpenShift resources loading");
+					thread.setDaemon(true);
+					return thread;
+				});
+		LOAD_EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
 	public static final String PROP_LABEL_FILTER = "labelFilter";
 	public static final String PROP_ALL_RESOURCES = "allResources";
 	public static final String PROP_SELECTED_RESOURCES = "selectedResources";
@@ -81,17 +108,31 @@ public class DeleteResourcesWizardModel extends ObservablePojo {
 		setAllResources(loadAllResources(monitor));
 	}
 
+	/**
+	 * Loads the resources of all kinds concurrently. The resources are returned
+	 * in the order of the kinds.
+	 */
 	private List<IResource> loadAllResources(IProgressMonitor monitor) {
-		return Arrays.stream(ALL_RESOURCE_KINDS)
-				.flatMap(resourceKind -> safeLoadResources(resourceKind, namespace, connection, monitor).stream())
+		monitor.subTask(NLS.bind("Loading all resources in project {0}...", namespace));
+		List<CompletableFuture<Collection<IResource>>> loads = Arrays.stream(ALL_RESOURCE_KINDS)
+				.map(resourceKind -> CompletableFuture
+						.supplyAsync(() -> safeLoadResources(resourceKind, namespace, connection), LOAD_EXECUTOR))
+				.collect(Collectors.toList());
+		try {
+			CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[loads.size()])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		return loads.stream()
+				.flatMap(load -> load.join().stream())
 				.collect(Collectors.toList());
 	}
 
-	private Collection<IResource> safeLoadResources(String resourceKind, String namespace, Connection connection,
-			IProgressMonitor monitor) {
+	private Collection<IResource> safeLoadResources(String resourceKind, String namespace, Connection connection) {
 		try {
-			monitor.subTask(NLS.bind("Loading all {0} resources...", resourceKind));
-
 			return connection.getResources(resourceKind, namespace);
 		} catch (NotFoundException | ResourceForbiddenException e) {
 			return Collections.emptyList();
@@ -139,6 +180,28 @@ public class DeleteResourcesWizardModel extends ObservablePojo {
 			return;
 		}
 
-		new DeleteResourcesJob(resources).schedule();
+		new DeleteResourcesJob(resources, getLabelSelector(resources)).schedule();
+	}
+
+	/**
+	 * Returns the label selector of the label filter if the given resources are
+	 * exactly the resources that match the filter. Returns {@code null} if there's
+	 * no filter, it's no plain key=value pair or the user changed the selection.
+	 */
+	private Map<String, String> getLabelSelector(List<IResource> resources) {
+		if (labelFilter == null) {
+			return null;
+		}
+		Map<String, String> selector = labelFilter.getLabelSelector();
+		if (selector == null) {
+			return null;
+		}
+		Set<IResource> matching = allResources.stream()
+				.filter(resource -> ResourceUtils.hasMatchingLabels(labelFilter, resource))
+				.collect(Collectors.toSet());
+		if (!matching.equals(new HashSet<>(resources))) {
+			return null;
+		}
+		return selector;
 	}
 }
@@ -11,6 +11,7 @@
 package org.jboss.tools.openshift.internal.test.common.core.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.util.List;
 
@@ -191,4 +192,34 @@ public class KeyValueFilterFactoryTest {
 		Range range = filter.getMatchingRangeForKey("smurfs=blue");
 		assertThat(range).isNull();
 	}
+
+	@Test
+	public void shouldReturnLabelSelectorIfKeyAndValueAreLiteral() {
+		// given
+		// when
+		List<KeyValueFilter> filters = KeyValueFilterFactory.create("app.kubernetes.io/name=nodejs-1");
+		// then
+		assertThat(filters).isNotEmpty();
+		assertThat(filters.get(0).getLabelSelector()).containsExactly(entry("app.kubernetes.io/name", "nodejs-1"));
+	}
+
+	@Test
+	public void shouldNotReturnLabelSelectorIfFilteringOnValueOnly() {
+		// given
+		// when
+		List<KeyValueFilter> filters = KeyValueFilterFactory.create("nodejs");
+		// then
+		assertThat(filters).isNotEmpty();
+		assertThat(filters.get(0).getLabelSelector()).isNull();
+	}
+
+	@Test
+	public void shouldNotReturnLabelSelectorIfValueIsRegex() {
+		// given
+		// when
+		List<KeyValueFilter> filters = KeyValueFilterFactory.create("app=node.*");
+		// then
+		assertThat(filters).isNotEmpty();
+		assertThat(filters.get(0).getLabelSelector()).isNull();
+	}
 }
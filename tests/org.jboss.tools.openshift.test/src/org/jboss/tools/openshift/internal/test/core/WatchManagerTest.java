@@ -8,24 +8,51 @@
  ******************************************************************************/
 package org.jboss.tools.openshift.internal.test.core;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.same;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.jboss.tools.openshift.common.core.connection.ConnectionChange;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnectionsRegistryListener;
 import org.jboss.tools.openshift.core.connection.IOpenShiftConnection;
+import org.jboss.tools.openshift.internal.core.ResourceStore;
 import org.jboss.tools.openshift.internal.core.WatchManager;
+import org.jboss.tools.openshift.internal.core.WatchManager.WatchListener;
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import com.openshift.restclient.IClient;
+import com.openshift.restclient.IOpenShiftWatchListener;
+import com.openshift.restclient.IOpenShiftWatchListener.ChangeType;
 import com.openshift.restclient.IWatcher;
+import com.openshift.restclient.OpenShiftException;
+import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.capability.CapabilityVisitor;
+import com.openshift.restclient.model.IPod;
 import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
+import com.openshift.restclient.model.IStatus;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
 public class WatchManagerTest {
@@ -33,22 +60,207 @@ public class WatchManagerTest {
 	@Mock
 	IProject project;
 	@Mock
+	IProject otherProject;
+	@Mock
 	IOpenShiftConnection connection;
 	@Mock
 	IClient client;
 
 	@Test
 	@SuppressWarnings("unchecked")
-	public void testStartStopWatch() {
+	public void testStartStopWatch() throws InterruptedException {
 		// given
 		when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
 		IWatcher watchClient = mock(IWatcher.class);
 		when(client.watch(any(), any(), any())).thenReturn(watchClient);
 		// when - then
 		WatchManager.getInstance().startWatch(project, connection);
-		verify(client, timeout(200).times(WatchManager.KINDS.length)).watch(any(), any(), any());
+		joinWatchJobs();
+		verify(client, times(WatchManager.KINDS.length)).watch(any(), any(), any());
 
 		WatchManager.getInstance().stopWatch(project, connection);
-		verify(watchClient, timeout(200).times(WatchManager.KINDS.length)).stop();
+		verify(watchClient, times(WatchManager.KINDS.length)).stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testErrorReconnectsWatchWithoutRefreshingProject() throws InterruptedException {
+		// given
+		IOpenShiftWatchListener listener = startWatchAndCaptureListener();
+		long relists = WatchManager.getInstance().getRelistCount();
+		long resumes = WatchManager.getInstance().getResumeCount();
+		// when
+		listener.error(new RuntimeException("connection reset"));
+		// then
+		joinWatchJobs();
+		verify(client, times(WatchManager.KINDS.length + 1)).watch(any(), any(), any());
+		verify(connection, never()).refresh(project);
+		assertEquals(relists, WatchManager.getInstance().getRelistCount());
+		assertEquals(resumes + 1, WatchManager.getInstance().getResumeCount());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGoneErrorRelistsWatch() throws InterruptedException {
+		// given
+		IOpenShiftWatchListener listener = startWatchAndCaptureListener();
+		long relists = WatchManager.getInstance().getRelistCount();
+		long resumes = WatchManager.getInstance().getResumeCount();
+		IStatus status = mock(IStatus.class);
+		when(status.getCode()).thenReturn(410);
+		OpenShiftException gone = mock(OpenShiftException.class);
+		when(gone.getStatus()).thenReturn(status);
+		// when
+		listener.error(new RuntimeException(gone));
+		// then
+		joinWatchJobs();
+		verify(client, times(WatchManager.KINDS.length + 1)).watch(any(), any(), any());
+		verify(connection).refresh(project);
+		assertEquals(relists + 1, WatchManager.getInstance().getRelistCount());
+		assertEquals(resumes, WatchManager.getInstance().getResumeCount());
+	}
+
+	@Test
+	public void testReceivedEventsAreIndexedInStore() {
+		// given
+		when(project.getName()).thenReturn("myproject");
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection,
+				ResourceKind.POD);
+		listener.setState("CONNECTED");
+		IPod pod = mockPod("mypod", "1");
+		IPod modifiedPod = mockPod("mypod", "2");
+		ResourceStore store = WatchManager.getInstance().getStore(connection);
+		// when
+		listener.received(pod, ChangeType.ADDED);
+		listener.received(mockPod("otherpod", "1"), ChangeType.ADDED);
+		listener.received(modifiedPod, ChangeType.MODIFIED);
+		// then
+		assertSame(modifiedPod, store.get("myproject", ResourceKind.POD, "mypod"));
+		assertEquals(2, store.getResources("myproject", ResourceKind.POD).size());
+		// when
+		listener.received(pod, ChangeType.DELETED);
+		// then
+		assertNull(store.get("myproject", ResourceKind.POD, "mypod"));
+		assertEquals(1, store.getResources("myproject", ResourceKind.POD).size());
+		assertTrue(store.getResources("myproject", ResourceKind.SERVICE).isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testReceivedEventsAreCoalescedPerResource() {
+		// given
+		when(project.getName()).thenReturn("myproject");
+		WatchListenerTestable listener = new WatchListenerTestable(WatchManager.getInstance(), project, connection,
+				ResourceKind.POD);
+		listener.setState("CONNECTED");
+		IPod pod = mockPod("mypod", "1");
+		IPod modifiedPod = mockPod("mypod", "2");
+		IPod transientPod = mockPod("transientpod", "1");
+		IConnectionsRegistryListener registryListener = mock(IConnectionsRegistryListener.class);
+		ConnectionsRegistrySingleton.getInstance().addListener(registryListener);
+		try {
+			// when
+			listener.received(pod, ChangeType.ADDED);
+			listener.received(transientPod, ChangeType.ADDED);
+			listener.received(modifiedPod, ChangeType.MODIFIED);
+			listener.received(transientPod, ChangeType.DELETED);
+			WatchManager.getInstance().flushChanges(connection);
+			// then
+			ArgumentCaptor<List<ConnectionChange>> captor = ArgumentCaptor.forClass(List.class);
+			verify(registryListener).connectionChanged(same(connection), captor.capture());
+			assertEquals(1, captor.getValue().size());
+			ConnectionChange change = captor.getValue().get(0);
+			assertNull(change.getOldValue());
+			assertSame(modifiedPod, change.getNewValue());
+		} finally {
+			ConnectionsRegistrySingleton.getInstance().removeListener(registryListener);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testProjectSubscribingAfterSharedWatchConnectedIsListed() throws InterruptedException {
+		// given
+		WatchManager.getInstance()._setMultiplexWatches(true);
+		when(project.getName()).thenReturn("myproject");
+		when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
+		when(otherProject.getName()).thenReturn("otherproject");
+		when(otherProject.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
+		when(client.watch(any(), any(), any())).thenReturn(mock(IWatcher.class));
+		IPod otherPod = mockPod("otherpod", "1", "otherproject");
+		doReturn(Collections.singletonList(otherPod)).when(client).list(ResourceKind.POD, "otherproject");
+		ResourceStore store = WatchManager.getInstance().getStore(connection);
+
+		WatchManager.getInstance().startWatch(project, connection);
+		ArgumentCaptor<IOpenShiftWatchListener> captor = ArgumentCaptor.forClass(IOpenShiftWatchListener.class);
+		joinWatchJobs();
+		verify(client).watch(eq(""), captor.capture(), eq(ResourceKind.POD));
+		captor.getValue().connected(Collections.<IResource>singletonList(mockPod("mypod", "1")));
+		assertTrue(store.isSynced("myproject", ResourceKind.POD));
+		assertFalse(store.isSynced("otherproject", ResourceKind.POD));
+		// when
+		WatchManager.getInstance().startWatch(otherProject, connection);
+		// then
+		joinWatchJobs();
+		verify(client).list(ResourceKind.POD, "otherproject");
+		assertTrue(store.isSynced("otherproject", ResourceKind.POD));
+		assertSame(otherPod, store.get("otherproject", ResourceKind.POD, "otherpod"));
+		// when
+		WatchManager.getInstance().stopWatch(otherProject, connection);
+		// then
+		assertFalse(store.isSynced("otherproject", ResourceKind.POD));
+		assertTrue(store.isSynced("myproject", ResourceKind.POD));
+	}
+
+	@After
+	public void tearDown() {
+		WatchManager.getInstance().stopWatch(otherProject, connection);
+		WatchManager.getInstance().stopWatch(project, connection);
+		WatchManager.getInstance()._setMultiplexWatches(WatchManager.MULTIPLEX_WATCHES);
+	}
+
+	/**
+	 * Waits until the jobs that start the watches and list the resources are
+	 * done.
+	 */
+	private void joinWatchJobs() throws InterruptedException {
+		Job.getJobManager().join(WatchManager.JOB_FAMILY, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private IOpenShiftWatchListener startWatchAndCaptureListener() throws InterruptedException {
+		when(project.accept(any(CapabilityVisitor.class), isNull())).thenReturn(client);
+		when(client.watch(any(), any(), any())).thenReturn(mock(IWatcher.class));
+		WatchManager.getInstance().startWatch(project, connection);
+		ArgumentCaptor<IOpenShiftWatchListener> captor = ArgumentCaptor.forClass(IOpenShiftWatchListener.class);
+		joinWatchJobs();
+		verify(client, times(WatchManager.KINDS.length)).watch(any(), captor.capture(), any());
+		return captor.getValue();
+	}
+
+	private IPod mockPod(String name, String resourceVersion) {
+		return mockPod(name, resourceVersion, "myproject");
+	}
+
+	private IPod mockPod(String name, String resourceVersion, String namespace) {
+		IPod pod = mock(IPod.class);
+		when(pod.getKind()).thenReturn(ResourceKind.POD);
+		when(pod.getNamespaceName()).thenReturn(namespace);
+		when(pod.getName()).thenReturn(name);
+		when(pod.getResourceVersion()).thenReturn(resourceVersion);
+		return pod;
+	}
+
+	private static class WatchListenerTestable extends WatchListener {
+
+		@Override
+		public void setState(String state) {
+			super.setState(state);
+		}
+
+		protected WatchListenerTestable(WatchManager watchManager, IProject project, IOpenShiftConnection conn,
+				String kind) {
+			watchManager.super(project, conn, kind, 0, 0);
+		}
 	}
 }
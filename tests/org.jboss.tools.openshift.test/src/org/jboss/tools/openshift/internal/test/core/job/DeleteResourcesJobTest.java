@@ -9,21 +9,44 @@
 package org.jboss.tools.openshift.internal.test.core.job;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.jboss.tools.openshift.test.util.ResourceMocks.createConnection;
 import static org.jboss.tools.openshift.test.util.ResourceMocks.createDeploymentConfig;
 import static org.jboss.tools.openshift.test.util.ResourceMocks.createPod;
 import static org.jboss.tools.openshift.test.util.ResourceMocks.createReplicationController;
 import static org.jboss.tools.openshift.test.util.ResourceMocks.createSecret;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.runtime.IStatus;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.common.core.connection.IConnection;
+import org.jboss.tools.openshift.common.core.connection.IConnectionsRegistryListener;
+import org.jboss.tools.openshift.core.connection.Connection;
 import org.jboss.tools.openshift.internal.core.job.DeleteResourcesJob;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IDeploymentConfig;
 import com.openshift.restclient.model.IPod;
 import com.openshift.restclient.model.IReplicationController;
@@ -41,8 +64,31 @@ public class DeleteResourcesJobTest {
 	private IPod pod1 = createPod("pod1", null, null);
 	private ISecret secret1 = createSecret("secret1");
 	
+	private Map<String, String> selector = Collections.singletonMap("app", "nodejs");
+	private IPod pod2 = createPod("pod2", null, selector);
+	private IPod pod3 = createPod("pod3", null, selector);
+
 	private Comparator<IResource> comparator = new DeleteResourcesJob.ResourcesRemovalOrdering();
 
+	private Connection connection;
+	private IConnectionsRegistryListener listener;
+
+	@Before
+	public void setUp() {
+		this.connection = createConnection("https://localhost:8443", "developer");
+		doReturn(true).when(connection).ownsResource(any(IResource.class));
+		doReturn(Arrays.asList(pod2, pod3)).when(connection).getResources(ResourceKind.POD, null, selector);
+		ConnectionsRegistrySingleton.getInstance().add(connection);
+		this.listener = mock(IConnectionsRegistryListener.class);
+		ConnectionsRegistrySingleton.getInstance().addListener(listener);
+	}
+
+	@After
+	public void tearDown() {
+		ConnectionsRegistrySingleton.getInstance().removeListener(listener);
+		ConnectionsRegistrySingleton.getInstance().remove(connection);
+	}
+
 	@Test
 	public void shouldNotNPEWhenNull() {
 		// given
@@ -72,4 +118,103 @@ public class DeleteResourcesJobTest {
 		// then
 		assertThat(resources).containsExactly(dc1, rc1, pod1, secret1);
 	}
+
+	@Test
+	public void shouldDeleteDCThenRCThenPodThenSecret() throws InterruptedException {
+		// given
+		// when
+		IStatus status = runJob(new DeleteResourcesJob(Arrays.asList(pod1, secret1, rc1, dc1)));
+		// then
+		assertThat(status.isOK()).isTrue();
+		InOrder order = inOrder(connection);
+		order.verify(connection).deleteResource(dc1);
+		order.verify(connection).deleteResource(rc1);
+		order.verify(connection).deleteResource(pod1);
+		order.verify(connection).deleteResource(secret1);
+	}
+
+	@Test
+	public void shouldDeleteCollectionGivenResourcesAreExactlyThoseMatchingTheLabelSelector()
+			throws InterruptedException {
+		// given
+		// when
+		IStatus status = runJob(new DeleteResourcesJob(Arrays.asList(pod2, pod3), selector));
+		// then
+		assertThat(status.isOK()).isTrue();
+		verify(connection).deleteResources(ResourceKind.POD, null, selector);
+		verify(connection, never()).deleteResource(any(IResource.class));
+	}
+
+	@Test
+	public void shouldDeleteByNameGivenNoLabelSelector() throws InterruptedException {
+		// given
+		// when
+		IStatus status = runJob(new DeleteResourcesJob(Arrays.asList(pod2, pod3)));
+		// then
+		assertThat(status.isOK()).isTrue();
+		verify(connection, never()).deleteResources(anyString(), any(), anyMapOf(String.class, String.class));
+		verify(connection).deleteResource(pod2);
+		verify(connection).deleteResource(pod3);
+	}
+
+	@Test
+	public void shouldDeleteByNameGivenMoreResourcesMatchTheLabelSelector() throws InterruptedException {
+		// given
+		IPod pod4 = createPod("pod4", null, selector);
+		doReturn(Arrays.asList(pod2, pod3, pod4)).when(connection).getResources(ResourceKind.POD, null, selector);
+		// when
+		IStatus status = runJob(new DeleteResourcesJob(Arrays.asList(pod2, pod3), selector));
+		// then
+		assertThat(status.isOK()).isTrue();
+		verify(connection, never()).deleteResources(anyString(), any(), anyMapOf(String.class, String.class));
+		verify(connection).deleteResource(pod2);
+		verify(connection).deleteResource(pod3);
+		verify(connection, never()).deleteResource(pod4);
+	}
+
+	@Test
+	public void shouldDeleteByNameGivenResourceDoesNotHaveTheSelectorLabel() throws InterruptedException {
+		// given
+		// when
+		IStatus status = runJob(new DeleteResourcesJob(Arrays.asList(pod1, pod2, pod3), selector));
+		// then
+		assertThat(status.isOK()).isTrue();
+		verify(connection, never()).deleteResources(anyString(), any(), anyMapOf(String.class, String.class));
+		verify(connection).deleteResource(pod1);
+		verify(connection).deleteResource(pod2);
+		verify(connection).deleteResource(pod3);
+	}
+
+	@Test
+	public void shouldNotifyDeletedResourcesInSingleBatch() throws InterruptedException {
+		// given
+		// when
+		runJob(new DeleteResourcesJob(Arrays.asList(pod1, rc1, dc1)));
+		// then
+		verify(listener, times(1)).connectionChanged(eq(connection),
+				argThat(changes -> changes != null && changes.size() == 3));
+		verify(listener, never()).connectionChanged(any(IConnection.class), anyString(), any(), any());
+	}
+
+	@Test
+	public void shouldReportErrorAndNotifyOthersGivenUnexpectedErrorInDeletion() throws InterruptedException {
+		// given
+		doThrow(new IllegalStateException("unexpected")).when(connection).deleteResource(pod2);
+		// when
+		IStatus status = runJob(new DeleteResourcesJob(Arrays.asList(pod1, pod2, pod3)));
+		// then
+		assertThat(status.getSeverity()).isEqualTo(IStatus.ERROR);
+		assertThat(status.getChildren()).hasSize(1);
+		assertThat(status.getChildren()[0].getException()).isInstanceOf(IllegalStateException.class);
+		verify(connection).deleteResource(pod1);
+		verify(connection).deleteResource(pod3);
+		verify(listener).connectionChanged(eq(connection),
+				argThat(changes -> changes != null && changes.size() == 2));
+	}
+
+	private IStatus runJob(DeleteResourcesJob job) throws InterruptedException {
+		job.schedule();
+		job.join();
+		return job.getResult();
+	}
 }
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.test.core.odo;
+
+import io.fabric8.kubernetes.api.model.Config;
+import io.fabric8.kubernetes.api.model.ConfigBuilder;
+import io.fabric8.kubernetes.api.model.NamedContextBuilder;
+import io.fabric8.kubernetes.api.model.NamedAuthInfoBuilder;
+
+import org.jboss.tools.openshift.core.odo.utils.ConfigDiff;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class ConfigDiffTest {
+
+  private static Config config(String current, String namespace, String token, String... otherContexts) {
+    ConfigBuilder builder = new ConfigBuilder()
+        .withCurrentContext(current)
+        .addToContexts(new NamedContextBuilder().withName(current)
+            .withNewContext().withCluster("cluster").withUser("user").withNamespace(namespace).endContext()
+            .build())
+        .addToUsers(new NamedAuthInfoBuilder().withName("user").withNewUser().withToken(token).endUser().build());
+    for (String context : otherContexts) {
+      builder.addToContexts(new NamedContextBuilder().withName(context)
+          .withNewContext().withCluster("other").withUser("other").endContext()
+          .build());
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void checkSameConfigIsEmpty() {
+    ConfigDiff diff = ConfigDiff.of(config("ctx", "ns", "token"), config("ctx", "ns", "token"));
+    Assert.assertTrue(diff.isEmpty());
+  }
+
+  @Test
+  public void checkNamespaceChangeChangesCurrentContext() {
+    ConfigDiff diff = ConfigDiff.of(config("ctx", "ns", "token"), config("ctx", "ns2", "token"));
+    Assert.assertTrue(diff.isCurrentContextChanged());
+    Assert.assertEquals(Collections.singleton("ctx"), diff.getChanged());
+  }
+
+  @Test
+  public void checkNewTokenIsReported() {
+    ConfigDiff diff = ConfigDiff.of(config("ctx", "ns", "token"), config("ctx", "ns", "token2"));
+    Assert.assertFalse(diff.isCurrentContextChanged());
+    Assert.assertTrue(diff.isCurrentTokenChanged());
+  }
+
+  @Test
+  public void checkLogoutIsNotReportedAsNewToken() {
+    ConfigDiff diff = ConfigDiff.of(config("ctx", "ns", "token"), config("ctx", "ns", null));
+    Assert.assertFalse(diff.isCurrentTokenChanged());
+    Assert.assertFalse(diff.isEmpty());
+  }
+
+  @Test
+  public void checkOtherContextsDoNotChangeCurrentContext() {
+    ConfigDiff diff = ConfigDiff.of(config("ctx", "ns", "token", "old"), config("ctx", "ns", "token", "new"));
+    Assert.assertFalse(diff.isCurrentContextChanged());
+    Assert.assertFalse(diff.isCurrentTokenChanged());
+    Assert.assertEquals(Collections.singleton("new"), diff.getAdded());
+    Assert.assertEquals(Collections.singleton("old"), diff.getRemoved());
+  }
+}
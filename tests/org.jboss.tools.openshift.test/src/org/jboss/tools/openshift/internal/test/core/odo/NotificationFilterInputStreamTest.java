@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.test.core.odo;
+
+import org.apache.commons.io.IOUtils;
+import org.jboss.tools.openshift.core.odo.NotificationFilterInputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public class NotificationFilterInputStreamTest {
+
+  @Test
+  public void checkOutputWithoutNotificationIsUnchanged() throws IOException {
+    Assert.assertEquals("{\n  \"items\": []\n}\n", filter("{\n  \"items\": []\n}\n"));
+  }
+
+  @Test
+  public void checkNotificationIsRemoved() throws IOException {
+    Assert.assertEquals("{\n  \"items\": []\n}\n",
+        filter("{\n  \"items\": []\n}\n---\nA new version of odo is available\n---\n"));
+  }
+
+  @Test
+  public void checkDashesWithinLineAreKept() throws IOException {
+    Assert.assertEquals("a---b\n  ---\n", filter("a---b\n  ---\n"));
+  }
+
+  @Test
+  public void checkNotificationAtStartGivesEmptyOutput() throws IOException {
+    Assert.assertEquals("", filter("---\nnotification\n"));
+  }
+
+  @Test
+  public void checkShortLastLineIsKept() throws IOException {
+    Assert.assertEquals("{}\n--", filter("{}\n--"));
+  }
+
+  @Test
+  public void checkSingleByteReads() throws IOException {
+    try (InputStream in = new NotificationFilterInputStream(stream("ab\n---\ncd"))) {
+      StringBuilder builder = new StringBuilder();
+      int c;
+      while ((c = in.read()) != -1) {
+        builder.append((char) c);
+      }
+      Assert.assertEquals("ab\n", builder.toString());
+    }
+  }
+
+  private static String filter(String output) throws IOException {
+    try (InputStream in = new NotificationFilterInputStream(stream(output))) {
+      return IOUtils.toString(in, StandardCharsets.UTF_8.name());
+    }
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.test.core.odo;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.jboss.tools.openshift.core.odo.OpenAPISchemaIndex;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+public class OpenAPISchemaIndexTest {
+  private static final URL url = OpenAPISchemaIndexTest.class.getResource("/openapi-test.json");
+
+  private static final String SMURFS_PATH = "/apis/example.com/v1/namespaces/{namespace}/smurfs";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private OpenAPISchemaIndex build(File dir) throws IOException {
+    return build(dir, "cluster");
+  }
+
+  private OpenAPISchemaIndex build(File dir, String key) throws IOException {
+    try (InputStream in = url.openStream()) {
+      return OpenAPISchemaIndex.build(in, dir, key);
+    }
+  }
+
+  @Test
+  public void checkSchemaIsResolved() throws IOException {
+    OpenAPISchemaIndex index = build(folder.getRoot());
+    ObjectNode schema = index.findSchema(SMURFS_PATH);
+    Assert.assertNotNull(schema);
+    Assert.assertEquals("object", schema.get("properties").get("spec").get("type").asText());
+    Assert.assertEquals("string", schema.get("properties").get("metadata").get("properties").get("name").get("type").asText());
+  }
+
+  @Test
+  public void checkOnlyApisPathsAreIndexed() throws IOException {
+    OpenAPISchemaIndex index = build(folder.getRoot());
+    Assert.assertTrue(index.hasPath(SMURFS_PATH));
+    Assert.assertFalse(index.hasPath("/api/v1/namespaces/{namespace}/pods"));
+    Assert.assertNull(index.findSchema("/api/v1/namespaces/{namespace}/pods"));
+  }
+
+  @Test
+  public void checkIndexIsLoadedFromDisk() throws IOException {
+    build(folder.getRoot());
+    OpenAPISchemaIndex index = OpenAPISchemaIndex.load(folder.getRoot(), "cluster");
+    Assert.assertNotNull(index);
+    Assert.assertTrue(index.hasPath(SMURFS_PATH));
+    Assert.assertEquals("object", index.findSchema(SMURFS_PATH).get("properties").get("spec").get("type").asText());
+  }
+
+  @Test
+  public void checkUnknownKeyIsNotLoaded() throws IOException {
+    build(folder.getRoot());
+    Assert.assertNull(OpenAPISchemaIndex.load(folder.getRoot(), "other"));
+  }
+
+  @Test
+  public void checkOtherVersionsAreDeleted() throws IOException {
+    build(folder.getRoot(), "cluster_v1");
+    build(folder.getRoot(), "other_v1");
+    build(folder.getRoot(), "cluster_v2");
+    OpenAPISchemaIndex.deleteOthers(folder.getRoot(), "cluster_", "cluster_v2");
+    Assert.assertNull(OpenAPISchemaIndex.load(folder.getRoot(), "cluster_v1"));
+    Assert.assertNotNull(OpenAPISchemaIndex.load(folder.getRoot(), "cluster_v2"));
+    Assert.assertNotNull(OpenAPISchemaIndex.load(folder.getRoot(), "other_v1"));
+  }
+}
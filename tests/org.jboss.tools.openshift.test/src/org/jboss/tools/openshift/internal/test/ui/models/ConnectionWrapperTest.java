@@ -30,6 +30,7 @@ public class ConnectionWrapperTest {
 	private IResource resource;
 	private IProject project;
 	private ProjectWrapper projectWrapper;
+	private IOpenShiftConnection connection;
 	private WatchListenerTestable watchListener;
 
 	@Before
@@ -38,7 +39,7 @@ public class ConnectionWrapperTest {
         when(project.getName()).thenReturn(NAMESPACE);
         when(project.getNamespaceName()).thenReturn(NAMESPACE);
         
-		IOpenShiftConnection connection = mock(IOpenShiftConnection.class);
+		this.connection = mock(IOpenShiftConnection.class);
 		when(connection.isDefaultHost()).thenReturn(true);
 		when(connection.getUsername()).thenReturn("bdshadow");
 		when(connection.getResources(eq(ResourceKind.PROJECT))).thenReturn(Arrays.asList(new IResource[] { project }));
@@ -67,11 +68,13 @@ public class ConnectionWrapperTest {
 		this.watchListener.received(this.project, ChangeType.ADDED);
 		this.watchListener.received(this.resource, ChangeType.ADDED);		
 		this.watchListener.received(this.resource, ChangeType.MODIFIED);
+		WatchManager.getInstance().flushChanges(connection);
 		
 		assertEquals(1, projectWrapper.getResources().size());
 		
 		this.watchListener.received(this.resource, ChangeType.DELETED);
 		this.watchListener.received(this.project, ChangeType.DELETED);
+		WatchManager.getInstance().flushChanges(connection);
 		
 		assertEquals(0, projectWrapper.getResources().size());
 	}
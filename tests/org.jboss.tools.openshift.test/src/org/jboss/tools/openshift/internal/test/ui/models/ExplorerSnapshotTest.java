@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.test.ui.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.tools.openshift.internal.ui.models.ExplorerSnapshot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.openshift.restclient.IResourceFactory;
+import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
+
+public class ExplorerSnapshotTest {
+
+	private static final String LAST_APPLIED_CONFIGURATION = "kubectl.kubernetes.io/last-applied-configuration";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File file;
+	private IResourceFactory factory;
+
+	@Before
+	public void setUp() throws IOException {
+		this.file = new File(folder.getRoot(), "connection.snapshot");
+		this.factory = mock(IResourceFactory.class);
+		when(factory.create(anyString())).thenAnswer(invocation -> {
+			String json = invocation.getArgument(0);
+			return json.contains("\"Project\"") ? mock(IProject.class) : mock(IResource.class);
+		});
+	}
+
+	@Test
+	public void shouldKeepNamesLabelsAndSelectors() {
+		// given
+		ModelNode dc = createDeploymentConfig();
+		// when
+		ModelNode pruned = ExplorerSnapshot.prune(dc);
+		// then
+		assertThat(pruned.get("metadata", "name").asString()).isEqualTo("nodejs");
+		assertThat(pruned.get("metadata", "labels", "app").asString()).isEqualTo("nodejs");
+		assertThat(pruned.get("spec", "selector", "deploymentconfig").asString()).isEqualTo("nodejs");
+		assertThat(pruned.get("spec", "template", "metadata", "labels", "app").asString()).isEqualTo("nodejs");
+		assertThat(pruned.get("spec", "template", "spec", "containers").get(0).get("image").asString())
+				.isEqualTo("nodejs:latest");
+	}
+
+	@Test
+	public void shouldDropEnvironmentCommandsDataAndLastAppliedConfiguration() {
+		// given
+		ModelNode dc = createDeploymentConfig();
+		// when
+		ModelNode pruned = ExplorerSnapshot.prune(dc);
+		// then
+		ModelNode container = pruned.get("spec", "template", "spec", "containers").get(0);
+		assertThat(container.hasDefined("env")).isFalse();
+		assertThat(container.hasDefined("command")).isFalse();
+		assertThat(pruned.hasDefined("data")).isFalse();
+		assertThat(pruned.get("metadata", "annotations").keys())
+				.containsOnly("openshift.io/generated-by")
+				.doesNotContain(LAST_APPLIED_CONFIGURATION);
+	}
+
+	@Test
+	public void shouldLoadSavedSnapshot() {
+		// given
+		IProject project = mockResource(IProject.class, "{\"kind\":\"Project\",\"metadata\":{\"name\":\"project1\"}}");
+		IProject notLoaded = mockResource(IProject.class, "{\"kind\":\"Project\",\"metadata\":{\"name\":\"project2\"}}");
+		IResource service = mockResource(IResource.class, "{\"kind\":\"Service\",\"metadata\":{\"name\":\"service1\"}}");
+		Map<IProject, Collection<IResource>> projects = new LinkedHashMap<>();
+		projects.put(project, Arrays.asList(service));
+		projects.put(notLoaded, null);
+		ExplorerSnapshot.save(file, projects);
+		// when
+		Map<IProject, Collection<IResource>> loaded = ExplorerSnapshot.load(file, factory);
+		// then
+		assertThat(loaded).hasSize(2);
+		List<Collection<IResource>> resources = new ArrayList<>(loaded.values());
+		assertThat(resources.get(0)).hasSize(1);
+		assertThat(resources.get(1)).isNull();
+	}
+
+	@Test
+	public void shouldIgnoreAndDeleteSnapshotOfOtherVersion() throws IOException {
+		// given
+		try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(file.toPath())))) {
+			out.writeInt(1);
+			out.writeInt(0);
+		}
+		// when
+		Map<IProject, Collection<IResource>> loaded = ExplorerSnapshot.load(file, factory);
+		// then
+		assertThat(loaded).isNull();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	public void shouldIgnoreAndDeleteCorruptSnapshot() throws IOException {
+		// given
+		Files.write(file.toPath(), "not a snapshot".getBytes());
+		// when
+		Map<IProject, Collection<IResource>> loaded = ExplorerSnapshot.load(file, factory);
+		// then
+		assertThat(loaded).isNull();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	public void shouldIgnoreMissingSnapshot() {
+		// given
+		// when
+		Map<IProject, Collection<IResource>> loaded = ExplorerSnapshot.load(file, factory);
+		// then
+		assertThat(loaded).isNull();
+	}
+
+	private static <T extends IResource> T mockResource(Class<T> type, String json) {
+		T resource = mock(type);
+		when(resource.toJson(true)).thenReturn(json);
+		return resource;
+	}
+
+	private static ModelNode createDeploymentConfig() {
+		ModelNode dc = new ModelNode();
+		dc.get("kind").set("DeploymentConfig");
+		dc.get("data", "password").set("secret");
+		ModelNode metadata = dc.get("metadata");
+		metadata.get("name").set("nodejs");
+		metadata.get("labels", "app").set("nodejs");
+		metadata.get("annotations", "openshift.io/generated-by").set("OpenShiftNewApp");
+		metadata.get("annotations", LAST_APPLIED_CONFIGURATION).set("{\"password\":\"secret\"}");
+		ModelNode spec = dc.get("spec");
+		spec.get("selector", "deploymentconfig").set("nodejs");
+		ModelNode template = spec.get("template");
+		template.get("metadata", "labels", "app").set("nodejs");
+		ModelNode container = new ModelNode();
+		container.get("name").set("nodejs");
+		container.get("image").set("nodejs:latest");
+		container.get("command").add("npm").add("start");
+		ModelNode env = new ModelNode();
+		env.get("name").set("PASSWORD");
+		env.get("value").set("secret");
+		container.get("env").add(env);
+		template.get("spec", "containers").add(container);
+		return dc;
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.internal.test.ui.odo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.jboss.tools.openshift.internal.ui.odo.ExecHelper;
+import org.jboss.tools.openshift.internal.ui.odo.ExecHelper.ExecOptions;
+import org.jboss.tools.openshift.internal.ui.odo.ExecHelper.OutputConsumer;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExecHelperTest {
+
+  private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+  @Before
+  public void setUp() {
+    // the processes are unix commands
+    Assume.assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+  }
+
+  @Test
+  public void shouldKillProcessGivenItTimesOut() throws IOException {
+    // given
+    long start = System.currentTimeMillis();
+    try {
+      // when
+      ExecHelper.execute("sleep", new ExecOptions().timeout(500), "30");
+      fail("process should have been killed");
+    } catch (IOException e) {
+      // then
+      assertThat(e.getMessage()).contains("did not complete within 500 ms");
+      assertThat(System.currentTimeMillis() - start).isLessThan(TIMEOUT);
+    }
+  }
+
+  @Test
+  public void shouldKillProcessGivenMonitorIsCanceled() throws IOException {
+    // given
+    IProgressMonitor monitor = new NullProgressMonitor();
+    cancelLater(monitor);
+    long start = System.currentTimeMillis();
+    try {
+      // when
+      ExecHelper.execute("sleep", new ExecOptions().monitor(monitor), "30");
+      fail("process should have been canceled");
+    } catch (OperationCanceledException e) {
+      // then
+      assertThat(System.currentTimeMillis() - start).isLessThan(TIMEOUT);
+    }
+  }
+
+  @Test
+  public void shouldDrainOutputAndRethrowGivenConsumerFails() throws IOException {
+    // given
+    OutputConsumer failingConsumer = output -> {
+      throw new IllegalStateException("consumer failed");
+    };
+    long start = System.currentTimeMillis();
+    try {
+      // when the process writes more than the pipe buffers
+      ExecHelper.execute("head", new ExecOptions().outputConsumer(failingConsumer), "-c", "1000000", "/dev/zero");
+      fail("consumer failure should have been rethrown");
+    } catch (IllegalStateException e) {
+      // then
+      assertThat(e.getMessage()).isEqualTo("consumer failed");
+      assertThat(System.currentTimeMillis() - start).isLessThan(TIMEOUT);
+    }
+  }
+
+  @Test
+  public void shouldNotStartProcessGivenMaximumNumberOfProcessesRun() throws InterruptedException {
+    // given
+    CountDownLatch started = new CountDownLatch(ExecHelper.MAX_PROCESSES);
+    IProgressMonitor runningMonitor = new NullProgressMonitor();
+    List<Thread> running = new ArrayList<>();
+    for (int i = 0; i < ExecHelper.MAX_PROCESSES; i++) {
+      running.add(executeAsync(runningMonitor, output -> {
+        started.countDown();
+        drain(output);
+      }));
+    }
+    try {
+      assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+      IProgressMonitor waitingMonitor = new NullProgressMonitor();
+      cancelLater(waitingMonitor);
+      AtomicBoolean waitingStarted = new AtomicBoolean();
+      try {
+        // when
+        ExecHelper.execute("sleep",
+            new ExecOptions().monitor(waitingMonitor).outputConsumer(output -> waitingStarted.set(true)), "30");
+        fail("waiting process should have been canceled");
+      } catch (OperationCanceledException | IOException e) {
+        // then
+        assertThat(e).isInstanceOf(OperationCanceledException.class);
+        assertThat(waitingStarted.get()).isFalse();
+      }
+    } finally {
+      runningMonitor.setCanceled(true);
+      for (Thread thread : running) {
+        thread.join(TIMEOUT);
+      }
+    }
+  }
+
+  private static Thread executeAsync(IProgressMonitor monitor, OutputConsumer consumer) {
+    Thread thread = new Thread(() -> {
+      try {
+        ExecHelper.execute("sleep", new ExecOptions().monitor(monitor).outputConsumer(consumer), "30");
+      } catch (IOException | OperationCanceledException e) {
+        // killed
+      }
+    });
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private static void cancelLater(IProgressMonitor monitor) {
+    Thread canceler = new Thread(() -> {
+      try {
+        Thread.sleep(500);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      monitor.setCanceled(true);
+    });
+    canceler.setDaemon(true);
+    canceler.start();
+  }
+
+  private static void drain(InputStream output) throws IOException {
+    byte[] buffer = new byte[1024];
+    while (output.read(buffer) != -1) {
+      // discard
+    }
+  }
+}
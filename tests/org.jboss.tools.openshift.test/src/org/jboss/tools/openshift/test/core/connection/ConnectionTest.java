@@ -22,13 +22,16 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static org.jboss.tools.openshift.test.core.connection.ConnectionTestUtils.*;
 
 import java.net.MalformedURLException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.assertj.core.data.MapEntry;
@@ -50,6 +53,7 @@ import org.mockito.stubbing.Answer;
 
 import com.openshift.restclient.ClientBuilder;
 import com.openshift.restclient.IClient;
+import com.openshift.restclient.IResourceFactory;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.authorization.IAuthorizationContext;
 import com.openshift.restclient.authorization.UnauthorizedException;
@@ -129,6 +133,79 @@ public class ConnectionTest {
 		verify(client).list(eq(ResourceKind.PROJECT), anyString());
 	}
 
+	@Test
+	public void getResources_should_list_once_within_time_to_live_when_caching() {
+		// given
+		IResource resource = givenACachedService();
+		// when
+		List<IResource> first = connection.getResources(ResourceKind.SERVICE, "");
+		List<IResource> second = connection.getResources(ResourceKind.SERVICE, "");
+		// then
+		verify(client, times(1)).list(ResourceKind.SERVICE, "");
+		assertThat(first).containsExactly(resource);
+		assertThat(second).hasSize(1).doesNotContain(resource);
+	}
+
+	@Test
+	public void getResources_should_list_when_bypassing_cache() {
+		// given
+		givenACachedService();
+		connection.getResources(ResourceKind.SERVICE, "");
+		// when
+		connection.getResources(ResourceKind.SERVICE, "", true);
+		// then
+		verify(client, times(2)).list(ResourceKind.SERVICE, "");
+	}
+
+	@Test
+	public void getResources_should_list_again_after_resource_was_created() {
+		// given
+		IResource resource = givenACachedService();
+		connection.getResources(ResourceKind.SERVICE, "");
+		// when
+		connection.createResource(resource);
+		connection.getResources(ResourceKind.SERVICE, "");
+		// then
+		verify(client, times(2)).list(ResourceKind.SERVICE, "");
+	}
+
+	@Test
+	public void getResources_should_list_again_after_resource_was_updated() {
+		// given
+		IResource resource = givenACachedService();
+		connection.getResources(ResourceKind.SERVICE, "");
+		// when
+		connection.updateResource(resource);
+		connection.getResources(ResourceKind.SERVICE, "");
+		// then
+		verify(client, times(2)).list(ResourceKind.SERVICE, "");
+	}
+
+	@Test
+	public void getResources_should_list_again_after_resource_was_deleted() {
+		// given
+		IResource resource = givenACachedService();
+		connection.getResources(ResourceKind.SERVICE, "");
+		// when
+		connection.deleteResource(resource);
+		connection.getResources(ResourceKind.SERVICE, "");
+		// then
+		verify(client, times(2)).list(ResourceKind.SERVICE, "");
+	}
+
+	private IResource givenACachedService() {
+		connection.setCacheResources(true);
+		IResource resource = mock(IResource.class);
+		when(resource.getKind()).thenReturn(ResourceKind.SERVICE);
+		when(resource.getNamespaceName()).thenReturn("myproject");
+		when(resource.toJson(true)).thenReturn("{}");
+		doReturn(Collections.singletonList(resource)).when(client).list(ResourceKind.SERVICE, "");
+		IResourceFactory factory = mock(IResourceFactory.class);
+		doReturn(mock(IResource.class)).when(factory).create("{}");
+		doReturn(factory).when(client).getResourceFactory();
+		return resource;
+	}
+
 	@Test
 	public void getHost_should_return_host() {
 		assertEquals("https://localhost:8443", connection.getHost());
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.jboss.tools.openshift.core.connection.ResourcesCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.openshift.restclient.model.IResource;
+
+public class ResourcesCacheTest {
+
+	private static final String KIND = "CachedKind";
+	private static final String UNCACHED_KIND = "UncachedKind";
+	private static final String NAMESPACE = "myproject";
+	private static final long TTL = 200;
+
+	private ResourcesCache cache;
+	private IResource resource;
+	private IResource copy;
+	private AtomicInteger loads;
+	private Supplier<List<IResource>> loader;
+	private Function<String, IResource> factory;
+
+	@Before
+	public void setUp() {
+		System.setProperty(ResourcesCache.TTL_KEY_PREFIX + KIND, String.valueOf(TTL));
+		System.setProperty(ResourcesCache.TTL_KEY_PREFIX + UNCACHED_KIND, "0");
+		this.cache = new ResourcesCache();
+		this.resource = mockResource("{ \"name\" : \"resource1\" }");
+		this.copy = mock(IResource.class);
+		this.loads = new AtomicInteger();
+		this.loader = () -> {
+			loads.incrementAndGet();
+			return Collections.singletonList(resource);
+		};
+		this.factory = json -> json.equals(resource.toJson(true)) ? copy : null;
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(ResourcesCache.TTL_KEY_PREFIX + KIND);
+		System.clearProperty(ResourcesCache.TTL_KEY_PREFIX + UNCACHED_KIND);
+	}
+
+	@Test
+	public void shouldLoadResourcesGivenTheyAreNotCached() {
+		// given
+		// when
+		List<IResource> resources = cache.get(KIND, NAMESPACE, loader, factory);
+		// then
+		assertThat(resources).containsExactly(resource);
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldReturnCopiesOfCachedResourcesWithinTimeToLive() {
+		// given
+		cache.get(KIND, NAMESPACE, loader, factory);
+		// when
+		List<IResource> resources = cache.get(KIND, NAMESPACE, loader, factory);
+		// then
+		assertThat(resources).containsExactly(copy);
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldLoadResourcesAgainGivenTimeToLiveExpired() throws InterruptedException {
+		// given
+		cache.get(KIND, NAMESPACE, loader, factory);
+		Thread.sleep(TTL * 2);
+		// when
+		List<IResource> resources = cache.get(KIND, NAMESPACE, loader, factory);
+		// then
+		assertThat(resources).containsExactly(resource);
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldNotCacheResourcesGivenTimeToLiveIsZero() {
+		// given
+		cache.get(UNCACHED_KIND, NAMESPACE, loader, factory);
+		// when
+		cache.get(UNCACHED_KIND, NAMESPACE, loader, factory);
+		// then
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldLimitTimeToLiveToMaximumStaleness() {
+		// given
+		System.setProperty(ResourcesCache.TTL_KEY_PREFIX + KIND, String.valueOf(ResourcesCache.MAX_STALENESS * 2));
+		// when
+		long ttl = ResourcesCache.getTimeToLive(KIND);
+		// then
+		assertThat(ttl).isEqualTo(ResourcesCache.MAX_STALENESS);
+	}
+
+	@Test
+	public void shouldAlwaysLoadResourcesButCacheThemWhenBypassingCache() {
+		// given
+		cache.get(KIND, NAMESPACE, loader, factory);
+		// when
+		List<IResource> resources = cache.load(KIND, NAMESPACE, loader);
+		// then
+		assertThat(resources).containsExactly(resource);
+		assertThat(loads.get()).isEqualTo(2);
+		assertThat(cache.get(KIND, NAMESPACE, loader, factory)).containsExactly(copy);
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldLoadResourcesAgainGivenTheyWereInvalidated() {
+		// given
+		cache.get(KIND, NAMESPACE, loader, factory);
+		cache.get(KIND, "", loader, factory);
+		// when
+		cache.invalidate(resource);
+		// then
+		cache.get(KIND, NAMESPACE, loader, factory);
+		cache.get(KIND, "", loader, factory);
+		assertThat(loads.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldNotCacheResourcesGivenTheyWereInvalidatedWhileLoading() {
+		// given
+		Supplier<List<IResource>> invalidatingLoader = () -> {
+			List<IResource> resources = loader.get();
+			cache.invalidate(KIND, NAMESPACE);
+			return resources;
+		};
+		cache.get(KIND, NAMESPACE, invalidatingLoader, factory);
+		// when
+		cache.get(KIND, NAMESPACE, loader, factory);
+		// then
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	private static IResource mockResource(String json) {
+		IResource resource = mock(IResource.class);
+		when(resource.getKind()).thenReturn(KIND);
+		when(resource.getNamespaceName()).thenReturn(NAMESPACE);
+		when(resource.toJson(true)).thenReturn(json);
+		return resource;
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.tools.openshift.core.server.DockerImageConfig;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DockerImageConfigCacheTest {
+
+	private static final String DIGEST = "sha256:4bc2b9f8ab9d75b9cfb8feb287f5c29633c2ccf9c39303635161df7ab04c9688";
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private File folder;
+
+	@Before
+	public void setup() throws IOException {
+		this.folder = tmp.newFolder();
+	}
+
+	@Test
+	public void shouldReturnNullGivenDigestIsNotCached() {
+		// given
+		TestableDockerImageConfigCache cache = new TestableDockerImageConfigCache(folder);
+		// when
+		DockerImageConfig config = cache.get(DIGEST);
+		// then
+		assertThat(config).isNull();
+	}
+
+	@Test
+	public void shouldReturnConfigThatWasPersistedByOtherCache() {
+		// given
+		Map<String, String> labels = new HashMap<>();
+		labels.put(DockerImageConfig.LABEL_DEVMODE, "DEV_MODE:false");
+		labels.put(DockerImageConfig.LABEL_DEVMODE_PORT, "DEBUG_PORT:5858");
+		new TestableDockerImageConfigCache(folder).put(new DockerImageConfig(DIGEST, labels, "/opt/app-root/src"));
+		// when
+		DockerImageConfig config = new TestableDockerImageConfigCache(folder).get(DIGEST);
+		// then
+		assertThat(config).isNotNull();
+		assertThat(config.getDigest()).isEqualTo(DIGEST);
+		assertThat(config.getLabels()).isEqualTo(labels);
+		assertThat(config.getWorkingDir()).isEqualTo("/opt/app-root/src");
+	}
+
+	@Test
+	public void shouldNotCacheConfigWithoutDigest() {
+		// given
+		TestableDockerImageConfigCache cache = new TestableDockerImageConfigCache(folder);
+		// when
+		cache.put(new DockerImageConfig(null, new HashMap<>(), "/opt/app-root/src"));
+		// then
+		assertThat(folder.list()).isEmpty();
+	}
+}
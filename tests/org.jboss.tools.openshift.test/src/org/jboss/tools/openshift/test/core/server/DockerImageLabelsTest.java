@@ -24,7 +24,10 @@ import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -32,6 +35,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.jboss.tools.openshift.core.connection.Connection;
+import org.jboss.tools.openshift.core.server.DockerImageConfig;
 import org.jboss.tools.openshift.core.server.DockerImageLabels;
 import org.jboss.tools.openshift.test.util.ResourceMocks;
 import org.junit.Before;
@@ -53,6 +57,11 @@ public class DockerImageLabelsTest {
 	private static final String DOCKER_IMAGE_TAG = "nodejs:latest";
 
 	private static final String NODEJS_IMAGESTREAM_TAG_URI = "/resources/imageStreamTag_nodejs_latest.json";
+	private static final String NODEJS_IMAGE_DIGEST =
+			"sha256:4bc2b9f8ab9d75b9cfb8feb287f5c29633c2ccf9c39303635161df7ab04c9688";
+	private static final String CACHED_IMAGE_DIGEST = "sha256:0123456789abcdef";
+
+	private TestableDockerImageConfigCache cache;
 
 	private TestableDockerImageLabels labels;
 	private TestableDockerImageLabels labelsThatFailsToLoadImageStreamTag;
@@ -60,9 +69,16 @@ public class DockerImageLabelsTest {
 	private TestableDockerImageLabels labelsThatHaveNoImage;
 	private TestableDockerImageLabels labelsThatHaveOnlyTrigger;
 	private TestableDockerImageLabels labelsThatHaveOnlyContainer;
+	private TestableDockerImageLabels labelsThatHaveCachedImage;
+	private TestableDockerImageLabels labelsThatHaveCachedSidecarImage;
 
 	@Before
 	public void setup() throws IOException {
+		this.cache = new TestableDockerImageConfigCache();
+		Map<String, String> cachedLabels = new HashMap<>();
+		cachedLabels.put(DockerImageConfig.LABEL_DEVMODE, "CACHED_DEV_MODE:true");
+		cache.put(new DockerImageConfig(CACHED_IMAGE_DIGEST, cachedLabels, "/cached"));
+
 		Connection connection = ResourceMocks.createConnection("https://localhost:8181", "aUser");
 		this.labelsThatHaveNoDc = new TestableDockerImageLabels(null, connection);
 
@@ -94,6 +110,19 @@ public class DockerImageLabelsTest {
 		this.labelsThatFailsToLoadImageStreamTag = spy(new TestableDockerImageLabels(dc, connection));
 		doReturn(null).when(labelsThatFailsToLoadImageStreamTag).getImageStreamTag(any(DockerImageURI.class),
 				anyString(), any(IProgressMonitor.class));
+
+		connection = ResourceMocks.createConnection("https://localhost:8787", "aUser");
+		dc = mockDeploymentConfig(DOCKER_IMAGE_TAG, "172.30.1.1:5000/aProject/nodejs@" + CACHED_IMAGE_DIGEST);
+		mockImageStreamTag(NODEJS_IMAGESTREAM_TAG_URI, connection);
+		this.labelsThatHaveCachedImage = spy(new TestableDockerImageLabels(dc, connection));
+
+		connection = ResourceMocks.createConnection("https://localhost:8888", "aUser");
+		dc = mockDeploymentConfig(DOCKER_IMAGE_TAG, null);
+		ResourceMocks.mockGetImages(Arrays.asList(
+				"172.30.1.1:5000/aProject/sidecar@" + CACHED_IMAGE_DIGEST, 
+				"172.30.1.1:5000/aProject/nodejs:latest"), dc);
+		mockImageStreamTag(NODEJS_IMAGESTREAM_TAG_URI, connection);
+		this.labelsThatHaveCachedSidecarImage = spy(new TestableDockerImageLabels(dc, connection));
 	}
 
 	private IDeploymentConfig mockDeploymentConfig(String triggerImageUri, String containerImageUri) {
@@ -265,6 +294,56 @@ public class DockerImageLabelsTest {
 		assertThat(podPath).isNull();
 	}
 
+	@Test
+	public void shouldReadLabelsOfImageStreamTag() throws CoreException {
+		// given
+		// when
+		labels.load(new NullProgressMonitor());
+		// then
+		assertThat(labels.getDevmodeKey(new NullProgressMonitor())).isEqualTo("DEV_MODE");
+		assertThat(labels.getDevmodePortKey(new NullProgressMonitor())).isEqualTo("DEBUG_PORT");
+		assertThat(labels.getDevmodePortValue(new NullProgressMonitor())).isEqualTo("5858");
+		assertThat(labels.getPodPath(new NullProgressMonitor())).isEqualTo("/opt/app-root/src");
+	}
+
+	@Test
+	public void shouldCacheLoadedLabelsByImageDigest() throws CoreException {
+		// given
+		// when
+		labels.load(new NullProgressMonitor());
+		// then
+		DockerImageConfig config = cache.get(NODEJS_IMAGE_DIGEST);
+		assertThat(config).isNotNull();
+		assertThat(config.getLabel(DockerImageConfig.LABEL_DEVMODE)).isEqualTo("DEV_MODE:false");
+		assertThat(config.getLabel(DockerImageConfig.LABEL_DEVMODE_PORT)).isEqualTo("DEBUG_PORT:5858");
+		assertThat(config.getWorkingDir()).isEqualTo("/opt/app-root/src");
+		assertThat(config.getLabels()).doesNotContainKey("description");
+	}
+
+	@Test
+	public void shouldNotLoadImageStreamTagGivenImageDigestIsCached() throws CoreException {
+		// given
+		// when
+		String devmodeKey = labelsThatHaveCachedImage.getDevmodeKey(new NullProgressMonitor());
+		// then
+		verify(labelsThatHaveCachedImage, never()).getImageStreamTag(any(DockerImageURI.class), anyString(),
+				any(IProgressMonitor.class));
+		assertThat(devmodeKey).isEqualTo("CACHED_DEV_MODE");
+		assertThat(labelsThatHaveCachedImage.getDevmodePortKey(new NullProgressMonitor())).isEqualTo("DEBUG_PORT");
+		assertThat(labelsThatHaveCachedImage.getPodPath(new NullProgressMonitor())).isEqualTo("/cached");
+	}
+
+	@Test
+	public void shouldNotUseCachedLabelsOfSidecarImage() throws CoreException {
+		// given
+		// when
+		String devmodeKey = labelsThatHaveCachedSidecarImage.getDevmodeKey(new NullProgressMonitor());
+		// then
+		verify(labelsThatHaveCachedSidecarImage).getImageStreamTag(argThat(new DockerImageURIArgumentMatcher()),
+				anyString(), any(IProgressMonitor.class));
+		assertThat(devmodeKey).isEqualTo("DEV_MODE");
+	}
+
 	private final class DockerImageURIArgumentMatcher implements ArgumentMatcher<DockerImageURI> {
 
 		@Override
@@ -276,11 +355,11 @@ public class DockerImageLabelsTest {
 	public class TestableDockerImageLabels extends DockerImageLabels {
 
 		protected TestableDockerImageLabels(IResource resource, Connection connection) {
-			super(resource, connection);
+			super(resource, connection, cache);
 		}
 
 		@Override
-		protected String load(IResource resource, IProgressMonitor monitor) throws CoreException {
+		protected DockerImageConfig load(IResource resource, IProgressMonitor monitor) throws CoreException {
 			return super.load(resource, monitor);
 		}
 
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.jboss.tools.openshift.core.server.PublishDeltaFactory.PublishDelta;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PublishDeltaTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private PublishDelta delta;
+	private File deployments;
+
+	@Before
+	public void before() throws IOException {
+		this.delta = new PublishDelta();
+		this.deployments = folder.newFolder("deployments");
+		write("index.jsp", "smurf");
+		write("WEB-INF/web.xml", "<web-app/>");
+	}
+
+	@Test
+	public void shouldNotReportChangesIfNeverSynced() {
+		assertThat(delta.getChangedFiles(deployments)).isNull();
+		assertThat(delta.isSyncedTo(Arrays.asList("pod1@1"))).isFalse();
+	}
+
+	@Test
+	public void shouldReportAddedAndChangedFiles() throws IOException {
+		// given
+		delta.synced(deployments, Arrays.asList("pod1@1"));
+		// when
+		write("index.jsp", "papa smurf");
+		write("css/smurf.css", "body {}");
+		// then
+		assertThat(delta.getChangedFiles(deployments)).containsOnly("index.jsp", "css/smurf.css");
+	}
+
+	@Test
+	public void shouldNotReportChangesIfFilesWereRemoved() throws IOException {
+		// given
+		delta.synced(deployments, Arrays.asList("pod1@1"));
+		// when
+		Files.delete(new File(deployments, "index.jsp").toPath());
+		// then
+		assertThat(delta.getChangedFiles(deployments)).isNull();
+	}
+
+	@Test
+	public void shouldOnlyBeSyncedToTheSamePods() {
+		// given
+		delta.synced(deployments, Arrays.asList("pod1@1", "pod2@1"));
+		// when
+		// then
+		assertThat(delta.isSyncedTo(Arrays.asList("pod2@1", "pod1@1"))).isTrue();
+		assertThat(delta.isSyncedTo(Arrays.asList("pod1@1", "pod3@1"))).isFalse();
+		assertThat(delta.isSyncedTo(Arrays.asList("pod1@2", "pod2@1"))).isFalse();
+	}
+
+	@Test
+	public void resetShouldForgetLastSync() {
+		// given
+		delta.synced(deployments, Arrays.asList("pod1@1"));
+		// when
+		delta.reset();
+		// then
+		assertThat(delta.isSyncedTo(Arrays.asList("pod1@1"))).isFalse();
+		assertThat(delta.getChangedFiles(deployments)).isNull();
+	}
+
+	private void write(String path, String content) throws IOException {
+		File file = new File(deployments, path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes());
+	}
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.server;
+
+import java.io.File;
+
+import org.jboss.tools.openshift.core.server.DockerImageConfigCache;
+
+public class TestableDockerImageConfigCache extends DockerImageConfigCache {
+
+	/**
+	 * Creates a cache that keeps the configs in memory only.
+	 */
+	public TestableDockerImageConfigCache() {
+		this(null);
+	}
+
+	public TestableDockerImageConfigCache(File folder) {
+		super(folder);
+	}
+}
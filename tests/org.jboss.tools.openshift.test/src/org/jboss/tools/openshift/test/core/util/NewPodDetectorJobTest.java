@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jboss.tools.openshift.test.util.ResourceMocks.createConnection;
+import static org.jboss.tools.openshift.test.util.ResourceMocks.createDeploymentConfig;
+import static org.jboss.tools.openshift.test.util.ResourceMocks.createPod;
+import static org.jboss.tools.openshift.test.util.ResourceMocks.createProject;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
+import org.jboss.tools.openshift.core.OpenShiftAPIAnnotations;
+import org.jboss.tools.openshift.core.connection.Connection;
+import org.jboss.tools.openshift.core.connection.ConnectionProperties;
+import org.jboss.tools.openshift.internal.core.util.NewPodDetectorJob;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.model.IDeploymentConfig;
+import com.openshift.restclient.model.IPod;
+import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class NewPodDetectorJobTest {
+
+	private static final String POD_STATE_RUNNING = "Running";
+	private static final String POD_STATE_PENDING = "Pending";
+
+	private Map<String, String> selector = Collections.singletonMap("deploymentconfig", "someDc");
+	private Connection connection;
+	private IProject project;
+	private IDeploymentConfig dc;
+	private IPod existingPod;
+	private NewPodDetectorJob detector;
+
+	@Before
+	public void setUp() throws InterruptedException {
+		this.connection = createConnection("https://localhost:8443", "developer");
+		doReturn(true).when(connection).ownsResource(any(IResource.class));
+		ConnectionsRegistrySingleton.getInstance().add(connection);
+		this.project = createProject("someProject");
+		this.dc = createDeploymentConfig("someDc", project, null, null);
+		doReturn(selector).when(dc).getReplicaSelector();
+		this.existingPod = mockPod("someDc-1-abcde", POD_STATE_RUNNING, selector);
+		doReturn(Arrays.asList(existingPod)).when(connection).getResources(ResourceKind.POD, project.getName(), true);
+		this.detector = new NewPodDetectorJob(dc);
+		detector.schedule();
+		detector.join();
+	}
+
+	@After
+	public void tearDown() {
+		detector.cancel();
+		ConnectionsRegistrySingleton.getInstance().remove(connection);
+	}
+
+	@Test
+	public void shouldListPodsFromServerGivenProjectIsNotWatched() {
+		// given
+		// when
+		// then
+		verify(connection).getResources(ResourceKind.POD, project.getName(), true);
+	}
+
+	@Test
+	public void shouldDetectNewRunningPod() throws Exception {
+		// given
+		IPod newPod = mockPod("someDc-2-fghij", POD_STATE_RUNNING, selector);
+		// when
+		fireChanged(null, newPod);
+		// then
+		assertThat(detector.await(new NullProgressMonitor())).isSameAs(newPod);
+	}
+
+	@Test
+	public void shouldNotDetectExistingPodThatChanged() {
+		// given
+		IPod changedPod = mockPod(existingPod.getName(), POD_STATE_RUNNING, selector);
+		// when
+		fireChanged(existingPod, changedPod);
+		// then
+		assertThat(detector.getPod()).isNull();
+	}
+
+	@Test
+	public void shouldNotDetectNewPodThatIsNotRunning() {
+		// given
+		IPod newPod = mockPod("someDc-2-fghij", POD_STATE_PENDING, selector);
+		// when
+		fireChanged(null, newPod);
+		// then
+		assertThat(detector.getPod()).isNull();
+	}
+
+	@Test
+	public void shouldNotDetectNewPodOfOtherDeploymentConfig() {
+		// given
+		IPod newPod = mockPod("otherDc-1-fghij", POD_STATE_RUNNING,
+				Collections.singletonMap("deploymentconfig", "otherDc"));
+		// when
+		fireChanged(null, newPod);
+		// then
+		assertThat(detector.getPod()).isNull();
+	}
+
+	@Test(expected = OperationCanceledException.class)
+	public void shouldStopWaitingGivenMonitorIsCanceled() throws Exception {
+		// given
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		// when
+		detector.await(monitor);
+		// then
+	}
+
+	private IPod mockPod(String name, String status, Map<String, String> labels) {
+		IPod pod = createPod(name, project, labels,
+				Collections.singletonMap(OpenShiftAPIAnnotations.DEPLOYMENT_CONFIG_NAME, labels.get("deploymentconfig")));
+		doReturn(status).when(pod).getStatus();
+		return pod;
+	}
+
+	private void fireChanged(IPod oldPod, IPod newPod) {
+		ConnectionsRegistrySingleton.getInstance().fireConnectionChanged(connection,
+				ConnectionProperties.PROPERTY_RESOURCE, oldPod, newPod);
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.tools.openshift.internal.core.util.ResourceRelationIndex;
+import org.jboss.tools.openshift.test.util.ResourceMocks;
+import org.junit.Test;
+
+import com.openshift.restclient.model.IPod;
+import com.openshift.restclient.model.IReplicationController;
+import com.openshift.restclient.model.IRoute;
+import com.openshift.restclient.model.IService;
+
+public class ResourceRelationIndexTest {
+
+	private static final Map<String, String> SELECTOR = Collections.singletonMap("name", "42");
+
+	@Test
+	public void shouldFindPodsMatchingServiceSelector() {
+		// given
+		IService service = ResourceMocks.createService("srv", ResourceMocks.PROJECT1, SELECTOR);
+		IPod matching = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, labels("name", "42", "foo", "bar"));
+		IPod notMatching = ResourceMocks.createPod("pod2", ResourceMocks.PROJECT1, labels("name", "84"));
+		// when
+		ResourceRelationIndex index = new ResourceRelationIndex(Arrays.asList(service, matching, notMatching));
+		// then
+		assertThat(index.getPodsFor(service)).containsExactly(matching);
+	}
+
+	@Test
+	public void emptySelectorShouldNotMatchPodsWithLabels() {
+		// given
+		IService service = ResourceMocks.createService("srv", ResourceMocks.PROJECT1);
+		IPod pod = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, SELECTOR);
+		// when
+		ResourceRelationIndex index = new ResourceRelationIndex(Arrays.asList(service, pod));
+		// then
+		assertThat(index.getPodsFor(service)).isEmpty();
+	}
+
+	@Test
+	public void shouldFindServicesAndRoutes() {
+		// given
+		IService service = ResourceMocks.createService("srv", ResourceMocks.PROJECT1, SELECTOR);
+		IRoute route = ResourceMocks.createRoute("route", ResourceMocks.PROJECT1, "srv");
+		IReplicationController rc = ResourceMocks.createReplicationController("rc", ResourceMocks.PROJECT1,
+				labels("name", "42", "deployment", "rc-1"));
+		// when
+		ResourceRelationIndex index = new ResourceRelationIndex(Arrays.asList(service, route, rc));
+		// then
+		assertThat(index.getRoutesFor(service)).containsExactly(route);
+		assertThat(index.getServicesFor(rc)).containsExactly(service);
+		assertThat(index.getReplicationControllersFor(service)).containsExactly(rc);
+	}
+
+	@Test
+	public void updateShouldOnlyReportChangedResources() {
+		// given
+		IPod pod = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, SELECTOR);
+		when(pod.getResourceVersion()).thenReturn("1");
+		ResourceRelationIndex index = new ResourceRelationIndex(Arrays.asList(pod));
+		IPod sameVersion = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, SELECTOR);
+		when(sameVersion.getResourceVersion()).thenReturn("1");
+		// when
+		boolean changed = index.update(Arrays.asList(sameVersion));
+		// then
+		assertThat(changed).isFalse();
+		assertThat(index.getPodsMatching(SELECTOR)).containsExactly(pod);
+	}
+
+	@Test
+	public void upsertShouldReindexResourceWithOtherVersion() {
+		// given
+		IPod pod = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, SELECTOR);
+		when(pod.getResourceVersion()).thenReturn("1");
+		ResourceRelationIndex index = new ResourceRelationIndex(Arrays.asList(pod));
+		Map<String, String> otherLabels = labels("app", "other");
+		IPod newVersion = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, otherLabels);
+		when(newVersion.getResourceVersion()).thenReturn("2");
+		// when
+		boolean changed = index.upsert(newVersion);
+		// then
+		assertThat(changed).isTrue();
+		assertThat(index.getPodsMatching(SELECTOR)).isEmpty();
+		assertThat(index.getPodsMatching(otherLabels)).containsExactly(newVersion);
+	}
+
+	@Test
+	public void deleteShouldOnlyRemoveGivenResource() {
+		// given
+		IPod pod1 = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, SELECTOR);
+		IPod pod2 = ResourceMocks.createPod("pod2", ResourceMocks.PROJECT1, SELECTOR);
+		ResourceRelationIndex index = new ResourceRelationIndex(Arrays.asList(pod1, pod2));
+		// when
+		boolean deleted = index.delete(pod1);
+		// then
+		assertThat(deleted).isTrue();
+		assertThat(index.getPodsMatching(SELECTOR)).containsExactly(pod2);
+	}
+
+	@Test
+	public void updateShouldRemoveResourcesThatAreGone() {
+		// given
+		IPod pod = ResourceMocks.createPod("pod1", ResourceMocks.PROJECT1, SELECTOR);
+		ResourceRelationIndex index = new ResourceRelationIndex(Arrays.asList(pod));
+		// when
+		boolean changed = index.update(Collections.emptyList());
+		// then
+		assertThat(changed).isTrue();
+		assertThat(index.getPodsMatching(SELECTOR)).isEmpty();
+		assertThat(index.getResources()).isEmpty();
+	}
+
+	private static Map<String, String> labels(String... keysAndValues) {
+		Map<String, String> labels = new HashMap<>();
+		for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+			labels.put(keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return labels;
+	}
+}
@@ -770,4 +770,25 @@ public class ResourceUtilsTest {
 		assertEquals("quickstart", ResourceUtils.getProjectNameForURI("https://github.com/akram/quickstart.git/"));
 		assertEquals("quickstart", ResourceUtils.getProjectNameForURI("https://github.com/akram/quickstart.git///"));
 	}
+
+	@Test
+	public void isOlderComparesResourceVersionsNumerically() {
+		assertTrue(ResourceUtils.isOlder(resourceWithVersion("9"), resourceWithVersion("10")));
+		assertFalse(ResourceUtils.isOlder(resourceWithVersion("10"), resourceWithVersion("9")));
+		assertFalse(ResourceUtils.isOlder(resourceWithVersion("42"), resourceWithVersion("42")));
+		assertTrue(ResourceUtils.isOlder(resourceWithVersion("2147483647"), resourceWithVersion("2147483648")));
+		assertTrue(ResourceUtils.isOlder(resourceWithVersion("007"), resourceWithVersion("8")));
+	}
+
+	@Test
+	public void isOlderReturnsTrueForNonNumericResourceVersions() {
+		assertTrue(ResourceUtils.isOlder(resourceWithVersion(null), resourceWithVersion("1")));
+		assertTrue(ResourceUtils.isOlder(resourceWithVersion("2"), resourceWithVersion("abc")));
+	}
+
+	private IPod resourceWithVersion(String version) {
+		IPod pod = mock(IPod.class);
+		when(pod.getResourceVersion()).thenReturn(version);
+		return pod;
+	}
 }
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.ui.applicationexplorer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.jboss.tools.openshift.internal.ui.models.applicationexplorer.OdoCatalogCache;
+import org.jboss.tools.openshift.internal.ui.models.applicationexplorer.OdoCatalogCache.Loader;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OdoCatalogCacheTest {
+
+  private static final long TIMEOUT = 10;
+  private static final long TTL = 100;
+
+  private AtomicInteger loads;
+  /** the load that blocks until {@link #released} */
+  private volatile int blockingLoad;
+  private CountDownLatch blocking;
+  private CountDownLatch released;
+  private Loader<String> loader;
+
+  @Before
+  public void setUp() {
+    this.loads = new AtomicInteger();
+    this.blocking = new CountDownLatch(1);
+    this.released = new CountDownLatch(1);
+    this.loader = () -> {
+      int load = loads.incrementAndGet();
+      if (load == blockingLoad) {
+        blocking.countDown();
+        await(released);
+      }
+      return Collections.singletonList("load" + load);
+    };
+  }
+
+  @Test
+  public void shouldLoadOnceWithinTimeToLive() throws IOException {
+    // given
+    OdoCatalogCache cache = new OdoCatalogCache(TimeUnit.MINUTES.toMillis(1));
+    cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+    // when
+    List<String> values = cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+    // then
+    assertThat(values).containsExactly("load1");
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldAlwaysLoadGivenTimeToLiveIsZero() throws IOException {
+    // given
+    OdoCatalogCache cache = new OdoCatalogCache(0);
+    cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+    // when
+    List<String> values = cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+    // then
+    assertThat(values).containsExactly("load2");
+  }
+
+  @Test
+  public void shouldReturnExpiredValuesWhileReloadingThem() throws Exception {
+    // given
+    OdoCatalogCache cache = new OdoCatalogCache(TTL);
+    cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+    Thread.sleep(TTL * 2);
+    // when
+    List<String> stale = cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+    Job.getJobManager().join(cache, null);
+    // then
+    assertThat(stale).containsExactly("load1");
+    assertThat(cache.get(OdoCatalogCache.COMPONENT_TYPES, loader)).containsExactly("load2");
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldLoadOnceGivenConcurrentRequests() throws Exception {
+    // given
+    OdoCatalogCache cache = new OdoCatalogCache(TimeUnit.MINUTES.toMillis(1));
+    this.blockingLoad = 1;
+    CompletableFuture<List<String>> first = getAsync(cache);
+    assertThat(blocking.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+    // when
+    CompletableFuture<List<String>> second = getAsync(cache);
+    Thread.sleep(100);
+    released.countDown();
+    // then
+    assertThat(first.get(TIMEOUT, TimeUnit.SECONDS)).containsExactly("load1");
+    assertThat(second.get(TIMEOUT, TimeUnit.SECONDS)).containsExactly("load1");
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldLoadAgainGivenLoadFailed() throws IOException {
+    // given
+    OdoCatalogCache cache = new OdoCatalogCache(TimeUnit.MINUTES.toMillis(1));
+    try {
+      cache.get(OdoCatalogCache.COMPONENT_TYPES, () -> {
+        loads.incrementAndGet();
+        throw new IOException("cluster unreachable");
+      });
+      fail("failure should have been thrown");
+    } catch (IOException e) {
+      assertThat(e.getMessage()).isEqualTo("cluster unreachable");
+    }
+    // when
+    List<String> values = cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+    // then
+    assertThat(values).containsExactly("load2");
+  }
+
+  @Test
+  public void shouldNotKeepRefreshedValuesGivenTheyWereInvalidatedWhileRefreshing() throws Exception {
+    // given
+    OdoCatalogCache cache = new OdoCatalogCache(TTL);
+    cache.get(OdoCatalogCache.REGISTRIES, loader);
+    Thread.sleep(TTL * 2);
+    this.blockingLoad = 2;
+    cache.get(OdoCatalogCache.REGISTRIES, loader);
+    assertThat(blocking.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+    // when
+    cache.invalidate(OdoCatalogCache.REGISTRIES);
+    released.countDown();
+    Job.getJobManager().join(cache, null);
+    // then
+    assertThat(cache.get(OdoCatalogCache.REGISTRIES, loader)).containsExactly("load3");
+  }
+
+  private CompletableFuture<List<String>> getAsync(OdoCatalogCache cache) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return cache.get(OdoCatalogCache.COMPONENT_TYPES, loader);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  private static void await(CountDownLatch latch) throws IOException {
+    try {
+      if (!latch.await(TIMEOUT, TimeUnit.SECONDS)) {
+        throw new IOException("load was not released");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+}
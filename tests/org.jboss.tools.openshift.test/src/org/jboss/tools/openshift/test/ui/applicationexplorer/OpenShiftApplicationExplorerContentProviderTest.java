@@ -9,17 +9,25 @@
 package org.jboss.tools.openshift.test.ui.applicationexplorer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.eclipse.jface.viewers.StructuredViewer;
 import org.jboss.tools.openshift.core.odo.Application;
 import org.jboss.tools.openshift.core.odo.Odo;
+import org.jboss.tools.openshift.internal.common.ui.explorer.BaseExplorerContentProvider.LoadingStub;
 import org.jboss.tools.openshift.internal.ui.applicationexplorer.OpenShiftApplicationExplorerContentProvider;
 import org.jboss.tools.openshift.internal.ui.models.applicationexplorer.ApplicationElement;
 import org.jboss.tools.openshift.internal.ui.models.applicationexplorer.ApplicationExplorerUIModel;
@@ -33,6 +41,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import io.fabric8.kubernetes.client.KubernetesClientException;
+
 /**
  * @author jeff.cantrill
  */
@@ -42,6 +52,8 @@ public class OpenShiftApplicationExplorerContentProviderTest {
 	private OpenShiftApplicationExplorerContentProvider provider;
 	private ApplicationExplorerUIModel model;
 	private Odo odo;
+	/** element -> refreshed once its children were loaded in the background */
+	private final Map<Object, CompletableFuture<Void>> refreshed = new ConcurrentHashMap<>();
 
 	@Before
 	public void setup() throws Exception {
@@ -58,9 +70,25 @@ public class OpenShiftApplicationExplorerContentProviderTest {
 			}
 		};
 		this.provider = new OpenShiftApplicationExplorerContentProvider(model) {
+
+			@Override
+			protected void refreshViewerAsync(Object element) {
+				getRefreshed(element).complete(null);
+			}
 		};
 	}
 
+  private CompletableFuture<Void> getRefreshed(Object element) {
+    return refreshed.computeIfAbsent(element, e -> new CompletableFuture<>());
+  }
+
+  private Object[] getChildrenLoadedInBackground(Object element)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    getRefreshed(element).get(10, TimeUnit.SECONDS);
+    refreshed.remove(element);
+    return provider.getChildren(element);
+  }
+
   protected void mockProject(String name) throws IOException {
     doReturn(name).when(odo).getNamespace();
   }
@@ -107,4 +135,41 @@ public class OpenShiftApplicationExplorerContentProviderTest {
      assertTrue(element instanceof CreateComponentMessageElement<?>);
    }
 
- }
+  @Test
+  public void shouldReturnLoadingStubUntilChildrenAreLoadedGivenViewer() throws Exception {
+    mockProject("myproject");
+    provider.inputChanged(mock(StructuredViewer.class), null, model);
+    Object[] childs = provider.getChildren(model);
+    assertEquals(1, childs.length);
+    assertTrue(childs[0] instanceof LoadingStub);
+    childs = getChildrenLoadedInBackground(model);
+    assertEquals(1, childs.length);
+    assertTrue(childs[0] instanceof ProjectElement);
+  }
+
+  @Test
+  public void shouldShowFormerChildrenWhileReloadingGivenViewer() throws Exception {
+    mockProject("myproject");
+    provider.inputChanged(mock(StructuredViewer.class), null, model);
+    provider.getChildren(model);
+    Object[] loaded = getChildrenLoadedInBackground(model);
+    provider.elementChanged(model);
+    Object[] childs = provider.getChildren(model);
+    assertEquals(1, childs.length);
+    assertSame(loaded[0], childs[0]);
+  }
+
+  @Test
+  public void shouldShowErrorGivenLoadingFailsWithRuntimeException() throws Exception {
+    mockProject("myproject");
+    doThrow(new KubernetesClientException("cluster unreachable")).when(odo).getApplications(eq("myproject"));
+    provider.inputChanged(mock(StructuredViewer.class), null, model);
+    provider.getChildren(model);
+    Object project = getChildrenLoadedInBackground(model)[0];
+    provider.getChildren(project);
+    Object[] childs = getChildrenLoadedInBackground(project);
+    assertEquals(1, childs.length);
+    assertTrue(childs[0] instanceof String);
+    assertTrue(((String) childs[0]).contains("cluster unreachable"));
+  }
+}
@@ -13,17 +13,25 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.net.MalformedURLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
 
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Control;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistry;
 import org.jboss.tools.openshift.common.core.connection.ConnectionsRegistrySingleton;
 import org.jboss.tools.openshift.core.connection.Connection;
@@ -33,6 +41,8 @@ import org.jboss.tools.openshift.internal.ui.models.IElementListener;
 import org.jboss.tools.openshift.internal.ui.models.IExceptionHandler;
 import org.jboss.tools.openshift.internal.ui.models.IOpenshiftUIElement;
 import org.jboss.tools.openshift.internal.ui.models.IProjectWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IResourceWrapper;
+import org.jboss.tools.openshift.internal.ui.models.IServiceWrapper;
 import org.jboss.tools.openshift.internal.ui.models.LoadingState;
 import org.jboss.tools.openshift.internal.ui.models.OpenshiftUIModel;
 import org.jboss.tools.openshift.test.core.connection.ConnectionTestUtils;
@@ -40,9 +50,11 @@ import org.jboss.tools.openshift.test.util.UITestUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IProject;
 import com.openshift.restclient.model.IResource;
 
@@ -61,6 +73,9 @@ public class OpenShiftExplorerContentProviderTest {
 	private ConnectionsRegistry registry;
 	@Mock
 	private IProject project;
+	private TreeViewer viewer;
+	private IElementListener viewerListener;
+	private List<Runnable> scheduled;
 
 	@Before
 	public void setup() throws Exception {
@@ -75,6 +90,22 @@ public class OpenShiftExplorerContentProviderTest {
 		this.connectionWrapper = model.getConnections().iterator().next();
 		this.provider = new OpenShiftExplorerContentProvider(model) {
 		};
+
+		this.viewer = mock(TreeViewer.class);
+		doReturn(mock(Control.class)).when(viewer).getControl();
+		this.scheduled = new ArrayList<>();
+		OpenshiftUIModel viewerModel = mock(OpenshiftUIModel.class);
+		OpenShiftExplorerContentProvider viewerProvider = new OpenShiftExplorerContentProvider(viewerModel) {
+
+			@Override
+			protected void asyncExec(Runnable r) {
+				scheduled.add(r);
+			}
+		};
+		viewerProvider.inputChanged(viewer, null, viewerModel);
+		ArgumentCaptor<IElementListener> listenerCaptor = ArgumentCaptor.forClass(IElementListener.class);
+		verify(viewerModel).addListener(listenerCaptor.capture());
+		this.viewerListener = listenerCaptor.getValue();
 	}
 
 	@Test
@@ -155,6 +186,179 @@ public class OpenShiftExplorerContentProviderTest {
 		verify(listener, timeout(10 * 1000)).elementChanged(any());
 	}
 
+	@Test
+	public void shouldRemoveAndAddChildrenOfLoadedProject() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		IServiceWrapper removed = mockService(projectWrapper);
+		IServiceWrapper added = mockService(projectWrapper);
+		showServices(projectWrapper, added);
+		// when
+		viewerListener.childrenChanged(projectWrapper, Arrays.asList(added), Arrays.asList(removed));
+		flush();
+		// then
+		verify(viewer).remove(projectWrapper, new Object[] { removed });
+		verify(viewer).add(projectWrapper, new Object[] { added });
+		verify(viewer, never()).refresh(projectWrapper);
+	}
+
+	@Test
+	public void shouldNotAddChildThatIsAddedAndRemovedInSameBatch() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		IServiceWrapper service = mockService(projectWrapper);
+		showServices(projectWrapper);
+		// when
+		viewerListener.childrenChanged(projectWrapper, Arrays.asList(service), Collections.emptyList());
+		viewerListener.childrenChanged(projectWrapper, Collections.emptyList(), Arrays.asList(service));
+		flush();
+		// then
+		verify(viewer, never()).add(eq(projectWrapper), (Object[]) any());
+		verify(viewer, never()).remove(eq(projectWrapper), (Object[]) any());
+		verify(viewer, never()).refresh(projectWrapper);
+	}
+
+	@Test
+	public void shouldRefreshProjectThatIsNotLoaded() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADING);
+		IServiceWrapper service = mockService(projectWrapper);
+		// when
+		viewerListener.childrenChanged(projectWrapper, Arrays.asList(service), Collections.emptyList());
+		flush();
+		// then
+		verify(viewer).refresh(projectWrapper);
+		verify(viewer, never()).add(eq(projectWrapper), (Object[]) any());
+	}
+
+	@Test
+	public void shouldUpdateChangedResource() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		IServiceWrapper service = mockService(projectWrapper);
+		showServices(projectWrapper, service);
+		// when
+		viewerListener.elementChanged(service);
+		flush();
+		// then
+		verify(viewer).update(service, null);
+		verify(viewer, never()).remove(eq(projectWrapper), (Object[]) any());
+		verify(viewer, never()).refresh(service);
+	}
+
+	@Test
+	public void shouldRemoveChangedResourceThatParentDoesNotShowAnyMore() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		IServiceWrapper service = mockService(projectWrapper);
+		IResourceWrapper<?, ?> build = mock(IResourceWrapper.class);
+		doReturn(service).when(build).getParent();
+		// when
+		viewerListener.elementChanged(build);
+		flush();
+		// then
+		verify(viewer).remove(service, new Object[] { build });
+		verify(viewer, never()).update(build, null);
+	}
+
+	@Test
+	public void shouldFlushOnceForNotificationsOfSameBatch() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		IServiceWrapper service = mockService(projectWrapper);
+		IServiceWrapper added = mockService(projectWrapper);
+		showServices(projectWrapper, service, added);
+		// when
+		viewerListener.elementChanged(service);
+		viewerListener.elementChanged(service);
+		viewerListener.childrenChanged(projectWrapper, Arrays.asList(added), Collections.emptyList());
+		viewerListener.elementChanged(service);
+		// then
+		assertThat(scheduled).hasSize(1);
+		flush();
+		verify(viewer, times(1)).update(service, null);
+		verify(viewer, times(1)).add(projectWrapper, new Object[] { added });
+		// next batch is flushed again
+		viewerListener.elementChanged(service);
+		assertThat(scheduled).hasSize(1);
+		flush();
+		verify(viewer, times(2)).update(service, null);
+	}
+
+	@Test
+	public void shouldOnlyRefreshProjectGivenItsChildrenChangedInSameBatch() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		IServiceWrapper service = mockService(projectWrapper);
+		IServiceWrapper added = mockService(projectWrapper);
+		showServices(projectWrapper, service, added);
+		// when
+		viewerListener.elementChanged(service);
+		viewerListener.childrenChanged(projectWrapper, Arrays.asList(added), Collections.emptyList());
+		viewerListener.elementChanged(projectWrapper);
+		flush();
+		// then
+		verify(viewer, times(1)).refresh(projectWrapper);
+		verify(viewer, never()).update(service, null);
+		verify(viewer, never()).add(eq(projectWrapper), (Object[]) any());
+	}
+
+	@Test
+	public void shouldOnlyRefreshTopmostChangedElement() {
+		// given
+		IConnectionWrapper changedConnection = mock(IConnectionWrapper.class);
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		doReturn(changedConnection).when(projectWrapper).getParent();
+		// when
+		viewerListener.elementChanged(projectWrapper);
+		viewerListener.elementChanged(changedConnection);
+		flush();
+		// then
+		verify(viewer, times(1)).refresh(changedConnection);
+		verify(viewer, never()).refresh(projectWrapper);
+	}
+
+	@Test
+	public void shouldDropChangesGivenControlIsDisposed() {
+		// given
+		IProjectWrapper projectWrapper = mockProject(LoadingState.LOADED);
+		Control control = mock(Control.class);
+		doReturn(true).when(control).isDisposed();
+		doReturn(control).when(viewer).getControl();
+		// when
+		viewerListener.elementChanged(projectWrapper);
+		// then
+		assertThat(scheduled).isEmpty();
+		verify(viewer, never()).refresh(projectWrapper);
+	}
+
+	private IProjectWrapper mockProject(LoadingState state) {
+		IProjectWrapper projectWrapper = mock(IProjectWrapper.class);
+		doReturn(state).when(projectWrapper).getState();
+		return projectWrapper;
+	}
+
+	private IServiceWrapper mockService(IProjectWrapper projectWrapper) {
+		IServiceWrapper service = mock(IServiceWrapper.class);
+		doReturn(projectWrapper).when(service).getParent();
+		return service;
+	}
+
+	private void showServices(IProjectWrapper projectWrapper, IServiceWrapper... services) {
+		// the content provider adds to the returned collection
+		doAnswer(invocation -> new ArrayList<>(Arrays.asList(services)))
+			.when(projectWrapper).getResourcesOfKind(ResourceKind.SERVICE);
+	}
+
+	/**
+	 * Runs the flushes that the content provider scheduled, as the display would.
+	 */
+	private void flush() {
+		List<Runnable> runnables = new ArrayList<>(scheduled);
+		scheduled.clear();
+		runnables.forEach(Runnable::run);
+	}
+
 	public class VoidElementListener implements IElementListener {
 
 		@Override
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.ui.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.tools.openshift.internal.ui.job.ConsoleLogSink;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsoleLogSinkTest {
+
+	private static final int CAPACITY = 4;
+	private static final long TIMEOUT = 5;
+
+	private BlockingStream stream;
+	private ConsoleLogSink sink;
+
+	@Before
+	public void setUp() {
+		this.stream = new BlockingStream();
+		this.sink = new ConsoleLogSink(stream, CAPACITY);
+	}
+
+	@After
+	public void tearDown() {
+		stream.release();
+		sink.close();
+	}
+
+	@Test
+	public void shouldWriteBufferedBytesOnFlush() throws Exception {
+		// given
+		stream.release();
+		write("abcd");
+		write("efgh");
+		// when
+		sink.flush();
+		// then
+		assertThat(stream.toString()).isEqualTo("abcdefgh");
+		assertThat(sink.isClosed()).isTrue();
+	}
+
+	@Test
+	public void shouldBlockWriterWhileBufferIsFull() throws Exception {
+		// given
+		write("abcd");
+		// the buffer was handed to the stream, which blocks
+		assertThat(stream.writing.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+		write("efgh");
+		// when
+		Thread writer = writeAsync("ijkl", new AtomicReference<>());
+		// then
+		writer.join(200);
+		assertThat(writer.isAlive()).isTrue();
+		stream.release();
+		writer.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+		assertThat(writer.isAlive()).isFalse();
+		sink.flush();
+		assertThat(stream.toString()).isEqualTo("abcdefghijkl");
+	}
+
+	@Test
+	public void shouldReleaseBlockedWriterOnClose() throws Exception {
+		// given
+		write("abcd");
+		assertThat(stream.writing.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+		write("efgh");
+		AtomicReference<Exception> error = new AtomicReference<>();
+		Thread writer = writeAsync("ijkl", error);
+		writer.join(200);
+		assertThat(writer.isAlive()).isTrue();
+		// when
+		sink.close();
+		// then
+		writer.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+		assertThat(writer.isAlive()).isFalse();
+		assertThat(error.get()).isInstanceOf(IOException.class);
+	}
+
+	@Test(expected = IOException.class)
+	public void shouldThrowOnWriteGivenSinkIsClosed() throws Exception {
+		// given
+		sink.close();
+		// when
+		write("abcd");
+		// then
+	}
+
+	private void write(String data) throws IOException, InterruptedException {
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+		sink.write(bytes, 0, bytes.length);
+	}
+
+	private Thread writeAsync(String data, AtomicReference<Exception> error) {
+		Thread writer = new Thread(() -> {
+			try {
+				write(data);
+			} catch (IOException | InterruptedException e) {
+				error.set(e);
+			}
+		});
+		writer.setDaemon(true);
+		writer.start();
+		return writer;
+	}
+
+	/**
+	 * A stream that blocks the writes until it is released.
+	 */
+	private static class BlockingStream extends OutputStream {
+
+		private final CountDownLatch writing = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+		private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+		void release() {
+			released.countDown();
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			writing.countDown();
+			try {
+				released.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			}
+			synchronized (written) {
+				written.write(b, off, len);
+			}
+		}
+
+		@Override
+		public String toString() {
+			synchronized (written) {
+				return new String(written.toByteArray(), StandardCharsets.UTF_8);
+			}
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.openshift.test.ui.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.jboss.tools.openshift.internal.ui.job.MultiPodLogsJob;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MultiPodLogsJobTest {
+
+	private static final byte[] PREFIX = "[pod1] ".getBytes(StandardCharsets.UTF_8);
+
+	private ByteArrayOutputStream line;
+	private ByteArrayOutputStream lines;
+
+	@Before
+	public void setUp() {
+		this.line = new ByteArrayOutputStream();
+		this.lines = new ByteArrayOutputStream();
+	}
+
+	@Test
+	public void shouldPrefixEachCompleteLine() {
+		// given
+		// when
+		append("first\nsecond\n");
+		// then
+		assertThat(toString(lines)).isEqualTo("[pod1] first\n[pod1] second\n");
+		assertThat(line.size()).isZero();
+	}
+
+	@Test
+	public void shouldKeepIncompleteLineUntilItIsTerminated() {
+		// given
+		append("first\nsec");
+		assertThat(toString(lines)).isEqualTo("[pod1] first\n");
+		assertThat(toString(line)).isEqualTo("sec");
+		lines.reset();
+		// when
+		append("ond\nthi");
+		// then
+		assertThat(toString(lines)).isEqualTo("[pod1] second\n");
+		assertThat(toString(line)).isEqualTo("thi");
+	}
+
+	@Test
+	public void shouldOnlyAppendPartOfGivenData() {
+		// given
+		byte[] data = "first\nsecond\n".getBytes(StandardCharsets.UTF_8);
+		// when
+		MultiPodLogsJob.appendLines(data, 6, PREFIX, line, lines);
+		// then
+		assertThat(toString(lines)).isEqualTo("[pod1] first\n");
+		assertThat(line.size()).isZero();
+	}
+
+	@Test
+	public void shouldWriteLineThatExceedsMaximumLength() {
+		// given
+		byte[] data = new byte[MultiPodLogsJob.MAX_LINE_LENGTH];
+		Arrays.fill(data, (byte) 'a');
+		// when
+		MultiPodLogsJob.appendLines(data, data.length, PREFIX, line, lines);
+		// then
+		assertThat(lines.size()).isEqualTo(PREFIX.length + data.length + 1);
+		assertThat(toString(lines)).startsWith("[pod1] aaa").endsWith("a\n");
+		assertThat(line.size()).isZero();
+	}
+
+	@Test
+	public void shouldAppendUnterminatedLine() {
+		// given
+		append("last");
+		// when
+		MultiPodLogsJob.appendLine(PREFIX, line, lines);
+		// then
+		assertThat(toString(lines)).isEqualTo("[pod1] last\n");
+		assertThat(line.size()).isZero();
+	}
+
+	private void append(String data) {
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+		MultiPodLogsJob.appendLines(bytes, bytes.length, PREFIX, line, lines);
+	}
+
+	private static String toString(ByteArrayOutputStream out) {
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+}